@@ -0,0 +1,216 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process;
+
+import dev.openfeature.contrib.providers.flagd.Config;
+import dev.openfeature.contrib.providers.flagd.FlagdOptions;
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.MutableContext;
+import dev.openfeature.sdk.ProviderEvaluation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation rate of in-process evaluations, by kind of targeting rule. Flags are loaded from a
+ * generated offline flag configuration, through the same path as in production.
+ * Run with {@code mvn -P benchmark test-compile exec:exec}, which measures each benchmark with 1, 8 and 64 threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InProcessResolverBenchmark {
+    private static final int[] THREADS = {1, 8, 64};
+
+    /**
+     * Resolver loaded with {@code flagCount} flags of each benchmarked kind.
+     */
+    @State(Scope.Benchmark)
+    public static class Flags {
+        @Param({"100", "1000"})
+        int flagCount;
+
+        InProcessResolver resolver;
+        private Path source;
+
+        /**
+         * Write the flag configuration and wait for the resolver to load it.
+         */
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            source = Files.createTempFile("flagd-benchmark", ".json");
+            Files.write(source, flagConfiguration(flagCount).getBytes(StandardCharsets.UTF_8));
+
+            resolver = new InProcessResolver(FlagdOptions.builder()
+                    .resolverType(Config.Resolver.IN_PROCESS)
+                    .offlineFlagSourcePath(source.toString())
+                    .deadline(10_000)
+                    .build(), (state, changedFlagsKeys) -> {
+            });
+            resolver.init();
+        }
+
+        /**
+         * Stop the resolver and delete the flag configuration.
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException, IOException {
+            resolver.shutdown();
+            Files.deleteIfExists(source);
+        }
+    }
+
+    /**
+     * Evaluation context of a thread, which cycles through the flags and users to avoid measuring a single hot path.
+     */
+    @State(Scope.Thread)
+    public static class Evaluation {
+        private static final int USERS = 1024;
+
+        private final EvaluationContext[] contexts = new EvaluationContext[USERS];
+        private int flagCount;
+        private int next;
+
+        /**
+         * Prepare the contexts of the evaluated users.
+         */
+        @Setup(Level.Trial)
+        public void setup(final Flags flags) {
+            flagCount = flags.flagCount;
+            for (int i = 0; i < USERS; i++) {
+                contexts[i] = new MutableContext("user-" + i)
+                        .add("email", (i % 4 == 0 ? "admin-" : "user-") + i
+                                + (i % 3 == 0 ? "@openfeature.dev" : "@example.com"))
+                        .add("version", String.format("%d.%d.%d", i % 3, i % 10, i % 7));
+            }
+        }
+
+        int nextFlag() {
+            return next++ % flagCount;
+        }
+
+        EvaluationContext nextContext() {
+            return contexts[next % USERS];
+        }
+    }
+
+    @Benchmark
+    public ProviderEvaluation<Boolean> staticFlag(final Flags flags, final Evaluation evaluation) {
+        return flags.resolver.booleanEvaluation("static-" + evaluation.nextFlag(), false,
+                evaluation.nextContext());
+    }
+
+    @Benchmark
+    public ProviderEvaluation<String> fractional(final Flags flags, final Evaluation evaluation) {
+        return flags.resolver.stringEvaluation("fractional-" + evaluation.nextFlag(), "",
+                evaluation.nextContext());
+    }
+
+    @Benchmark
+    public ProviderEvaluation<Boolean> semVer(final Flags flags, final Evaluation evaluation) {
+        return flags.resolver.booleanEvaluation("semver-" + evaluation.nextFlag(), false,
+                evaluation.nextContext());
+    }
+
+    @Benchmark
+    public ProviderEvaluation<Boolean> startsWithEndsWith(final Flags flags, final Evaluation evaluation) {
+        return flags.resolver.booleanEvaluation("string-" + evaluation.nextFlag(), false,
+                evaluation.nextContext());
+    }
+
+    @Benchmark
+    public ProviderEvaluation<Boolean> nestedEvaluators(final Flags flags, final Evaluation evaluation) {
+        return flags.resolver.booleanEvaluation("nested-" + evaluation.nextFlag(), false,
+                evaluation.nextContext());
+    }
+
+    /**
+     * Run all benchmarks with 1, 8 and 64 threads, along with the allocation rate.
+     *
+     * @param args optional regular expression of the benchmarks to run
+     */
+    public static void main(final String[] args) throws RunnerException {
+        final String include = args.length > 0 ? args[0] : InProcessResolverBenchmark.class.getSimpleName();
+
+        for (int threads : THREADS) {
+            final Options options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .build();
+
+            new Runner(options).run();
+        }
+    }
+
+    // flags of each benchmarked kind, suffixed with their index
+    static String flagConfiguration(final int flagCount) {
+        final StringBuilder flags = new StringBuilder();
+        for (int i = 0; i < flagCount; i++) {
+            if (i > 0) {
+                flags.append(',');
+            }
+
+            flags.append(flag("static-" + i, true, null));
+            flags.append(',');
+            flags.append(String.format("\"fractional-%d\": {"
+                    + "\"state\": \"ENABLED\","
+                    + "\"variants\": {\"red\": \"red\", \"blue\": \"blue\", \"green\": \"green\"},"
+                    + "\"defaultVariant\": \"red\","
+                    + "\"targeting\": {\"fractional\": [[\"red\", 50], [\"blue\", 30], [\"green\", 20]]}"
+                    + "}", i));
+            flags.append(',');
+            flags.append(flag("semver-" + i, false,
+                    "{\"if\": [{\"sem_ver\": [{\"var\": \"version\"}, \">=\", \"1.5.0\"]}, \"on\", \"off\"]}"));
+            flags.append(',');
+            flags.append(flag("string-" + i, false,
+                    "{\"if\": [{\"or\": ["
+                            + "{\"starts_with\": [{\"var\": \"email\"}, \"admin\"]},"
+                            + "{\"ends_with\": [{\"var\": \"email\"}, \"@openfeature.dev\"]}"
+                            + "]}, \"on\", \"off\"]}"));
+            flags.append(',');
+            flags.append(flag("nested-" + i, false,
+                    "{\"if\": [{\"$ref\": \"betaTester\"}, \"on\", \"off\"]}"));
+        }
+
+        return "{\"flags\": {" + flags + "},"
+                + "\"$evaluators\": {"
+                + "\"employee\": {\"ends_with\": [{\"var\": \"email\"}, \"@openfeature.dev\"]},"
+                + "\"betaTester\": {\"and\": ["
+                + "{\"$ref\": \"employee\"},"
+                + "{\"sem_ver\": [{\"var\": \"version\"}, \"^\", \"2.0.0\"]}"
+                + "]}"
+                + "}}";
+    }
+
+    // boolean flag with "on" and "off" variants, optionally targeted
+    private static String flag(final String key, final boolean defaultOn, final String targeting) {
+        return String.format("\"%s\": {"
+                        + "\"state\": \"ENABLED\","
+                        + "\"variants\": {\"on\": true, \"off\": false},"
+                        + "\"defaultVariant\": \"%s\"%s"
+                        + "}", key, defaultOn ? "on" : "off",
+                targeting == null ? "" : ", \"targeting\": " + targeting);
+    }
+}
@@ -14,10 +14,18 @@ public final class Config {
     static final String DEFAULT_RPC_PORT = "8013";
     static final String DEFAULT_IN_PROCESS_PORT = "8015";
     static final String DEFAULT_TLS = "false";
+    static final String DEFAULT_OFFLINE_WATCH = "false";
     static final String DEFAULT_HOST = "localhost";
 
     static final int DEFAULT_DEADLINE = 500;
     static final int DEFAULT_MAX_CACHE_SIZE = 1000;
+    static final int DEFAULT_CONTEXT_CACHE_TTL_MS = 0;
+    static final int DEFAULT_MAX_CONTEXT_CACHE_SIZE = 1000;
+    static final int DEFAULT_EVALUATION_MEMO_SIZE = 0;
+    static final int DEFAULT_KEEP_ALIVE_TIME_MS = 0;
+    static final int DEFAULT_FLOW_CONTROL_WINDOW = 0;
+    static final int DEFAULT_MAX_INBOUND_MESSAGE_SIZE = 0;
+    static final int DEFAULT_CHANNEL_POOL_SIZE = 1;
 
     static final String RESOLVER_ENV_VAR = "FLAGD_RESOLVER";
     static final String HOST_ENV_VAR_NAME = "FLAGD_HOST";
@@ -27,11 +35,20 @@ public final class Config {
     static final String SERVER_CERT_PATH_ENV_VAR_NAME = "FLAGD_SERVER_CERT_PATH";
     static final String CACHE_ENV_VAR_NAME = "FLAGD_CACHE";
     static final String MAX_CACHE_SIZE_ENV_VAR_NAME = "FLAGD_MAX_CACHE_SIZE";
+    static final String CONTEXT_CACHE_TTL_MS_ENV_VAR_NAME = "FLAGD_CONTEXT_CACHE_TTL_MS";
+    static final String MAX_CONTEXT_CACHE_SIZE_ENV_VAR_NAME = "FLAGD_MAX_CONTEXT_CACHE_SIZE";
     static final String MAX_EVENT_STREAM_RETRIES_ENV_VAR_NAME = "FLAGD_MAX_EVENT_STREAM_RETRIES";
     static final String BASE_EVENT_STREAM_RETRY_BACKOFF_MS_ENV_VAR_NAME = "FLAGD_RETRY_BACKOFF_MS";
     static final String DEADLINE_MS_ENV_VAR_NAME = "FLAGD_DEADLINE_MS";
     static final String SOURCE_SELECTOR_ENV_VAR_NAME = "FLAGD_SOURCE_SELECTOR";
     static final String OFFLINE_SOURCE_PATH = "FLAGD_OFFLINE_FLAG_SOURCE_PATH";
+    static final String OFFLINE_SOURCE_WATCH = "FLAGD_OFFLINE_FLAG_SOURCE_WATCH";
+    static final String SNAPSHOT_PATH_ENV_VAR_NAME = "FLAGD_SNAPSHOT_PATH";
+    static final String EVALUATION_MEMO_SIZE_ENV_VAR_NAME = "FLAGD_EVALUATION_MEMO_SIZE";
+    static final String KEEP_ALIVE_TIME_MS_ENV_VAR_NAME = "FLAGD_KEEP_ALIVE_TIME_MS";
+    static final String FLOW_CONTROL_WINDOW_ENV_VAR_NAME = "FLAGD_FLOW_CONTROL_WINDOW";
+    static final String MAX_INBOUND_MESSAGE_SIZE_ENV_VAR_NAME = "FLAGD_MAX_INBOUND_MESSAGE_SIZE";
+    static final String CHANNEL_POOL_SIZE_ENV_VAR_NAME = "FLAGD_CHANNEL_POOL_SIZE";
 
     static final String RESOLVER_RPC = "rpc";
     static final String RESOLVER_IN_PROCESS = "in-process";
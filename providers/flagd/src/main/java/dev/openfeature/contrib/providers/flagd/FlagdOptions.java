@@ -1,26 +1,49 @@
 package dev.openfeature.contrib.providers.flagd;
 
+import dev.openfeature.contrib.providers.flagd.resolver.common.SharedScheduler;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.Connector;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.composite.CompositeConnector;
 import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.netty.channel.EventLoopGroup;
 import io.opentelemetry.api.OpenTelemetry;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.util.concurrent.ScheduledExecutorService;
+
 import static dev.openfeature.contrib.providers.flagd.Config.BASE_EVENT_STREAM_RETRY_BACKOFF_MS;
 import static dev.openfeature.contrib.providers.flagd.Config.BASE_EVENT_STREAM_RETRY_BACKOFF_MS_ENV_VAR_NAME;
 import static dev.openfeature.contrib.providers.flagd.Config.CACHE_ENV_VAR_NAME;
+import static dev.openfeature.contrib.providers.flagd.Config.CHANNEL_POOL_SIZE_ENV_VAR_NAME;
+import static dev.openfeature.contrib.providers.flagd.Config.CONTEXT_CACHE_TTL_MS_ENV_VAR_NAME;
 import static dev.openfeature.contrib.providers.flagd.Config.DEADLINE_MS_ENV_VAR_NAME;
 import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_CACHE;
+import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_CHANNEL_POOL_SIZE;
+import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_CONTEXT_CACHE_TTL_MS;
 import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_DEADLINE;
+import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_EVALUATION_MEMO_SIZE;
+import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_FLOW_CONTROL_WINDOW;
 import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_HOST;
+import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_KEEP_ALIVE_TIME_MS;
 import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_MAX_CACHE_SIZE;
+import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_MAX_CONTEXT_CACHE_SIZE;
 import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_MAX_EVENT_STREAM_RETRIES;
+import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_MAX_INBOUND_MESSAGE_SIZE;
+import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_OFFLINE_WATCH;
 import static dev.openfeature.contrib.providers.flagd.Config.DEFAULT_TLS;
+import static dev.openfeature.contrib.providers.flagd.Config.EVALUATION_MEMO_SIZE_ENV_VAR_NAME;
+import static dev.openfeature.contrib.providers.flagd.Config.FLOW_CONTROL_WINDOW_ENV_VAR_NAME;
 import static dev.openfeature.contrib.providers.flagd.Config.HOST_ENV_VAR_NAME;
+import static dev.openfeature.contrib.providers.flagd.Config.KEEP_ALIVE_TIME_MS_ENV_VAR_NAME;
 import static dev.openfeature.contrib.providers.flagd.Config.MAX_CACHE_SIZE_ENV_VAR_NAME;
+import static dev.openfeature.contrib.providers.flagd.Config.MAX_CONTEXT_CACHE_SIZE_ENV_VAR_NAME;
 import static dev.openfeature.contrib.providers.flagd.Config.MAX_EVENT_STREAM_RETRIES_ENV_VAR_NAME;
+import static dev.openfeature.contrib.providers.flagd.Config.MAX_INBOUND_MESSAGE_SIZE_ENV_VAR_NAME;
 import static dev.openfeature.contrib.providers.flagd.Config.OFFLINE_SOURCE_PATH;
+import static dev.openfeature.contrib.providers.flagd.Config.OFFLINE_SOURCE_WATCH;
 import static dev.openfeature.contrib.providers.flagd.Config.PORT_ENV_VAR_NAME;
 import static dev.openfeature.contrib.providers.flagd.Config.SERVER_CERT_PATH_ENV_VAR_NAME;
+import static dev.openfeature.contrib.providers.flagd.Config.SNAPSHOT_PATH_ENV_VAR_NAME;
 import static dev.openfeature.contrib.providers.flagd.Config.SOCKET_PATH_ENV_VAR_NAME;
 import static dev.openfeature.contrib.providers.flagd.Config.SOURCE_SELECTOR_ENV_VAR_NAME;
 import static dev.openfeature.contrib.providers.flagd.Config.TLS_ENV_VAR_NAME;
@@ -70,7 +93,8 @@ public class FlagdOptions {
     private String socketPath = fallBackToEnvOrDefault(SOCKET_PATH_ENV_VAR_NAME, null);
 
     /**
-     * Cache type to use. Supports - lru, disabled.
+     * Cache type to use. Supports - lru, concurrent, disabled.
+     * The concurrent cache suits highly concurrent evaluations and records statistics.
      */
     @Builder.Default
     private String cacheType = fallBackToEnvOrDefault(CACHE_ENV_VAR_NAME, DEFAULT_CACHE);
@@ -81,6 +105,21 @@ public class FlagdOptions {
     @Builder.Default
     private int maxCacheSize = fallBackToEnvOrDefault(MAX_CACHE_SIZE_ENV_VAR_NAME, DEFAULT_MAX_CACHE_SIZE);
 
+    /**
+     * Time to live in milliseconds of targeted evaluations, cached by flag key and evaluation context.
+     * 0 disables caching of targeted evaluations. Requires the cache to be enabled.
+     */
+    @Builder.Default
+    private int contextCacheTtlMs =
+            fallBackToEnvOrDefault(CONTEXT_CACHE_TTL_MS_ENV_VAR_NAME, DEFAULT_CONTEXT_CACHE_TTL_MS);
+
+    /**
+     * Max amount of cached targeted evaluations.
+     */
+    @Builder.Default
+    private int maxContextCacheSize =
+            fallBackToEnvOrDefault(MAX_CONTEXT_CACHE_SIZE_ENV_VAR_NAME, DEFAULT_MAX_CONTEXT_CACHE_SIZE);
+
     /**
      * Max event stream connection retries.
      */
@@ -104,6 +143,41 @@ public class FlagdOptions {
     @Builder.Default
     private int deadline = fallBackToEnvOrDefault(DEADLINE_MS_ENV_VAR_NAME, DEFAULT_DEADLINE);
 
+    /**
+     * Interval in milliseconds of HTTP/2 keepalive pings on the gRPC connections, detecting broken connections while
+     * no data is received. 0 disables keepalive.
+     */
+    @Builder.Default
+    private int keepAliveTimeMs = fallBackToEnvOrDefault(KEEP_ALIVE_TIME_MS_ENV_VAR_NAME, DEFAULT_KEEP_ALIVE_TIME_MS);
+
+    /**
+     * Initial HTTP/2 flow control window in bytes of the gRPC connections. 0 keeps the gRPC default.
+     */
+    @Builder.Default
+    private int flowControlWindow =
+            fallBackToEnvOrDefault(FLOW_CONTROL_WINDOW_ENV_VAR_NAME, DEFAULT_FLOW_CONTROL_WINDOW);
+
+    /**
+     * Max size in bytes of received gRPC messages, such as large flag configurations. 0 keeps the gRPC default of 4MiB.
+     */
+    @Builder.Default
+    private int maxInboundMessageSize =
+            fallBackToEnvOrDefault(MAX_INBOUND_MESSAGE_SIZE_ENV_VAR_NAME, DEFAULT_MAX_INBOUND_MESSAGE_SIZE);
+
+    /**
+     * Amount of connections to flagd for RPC evaluations, with calls spread round-robin across them. A single
+     * connection multiplexes all evaluations, several lift the throughput bound of its streams and flow control.
+     */
+    @Builder.Default
+    private int channelPoolSize = fallBackToEnvOrDefault(CHANNEL_POOL_SIZE_ENV_VAR_NAME, DEFAULT_CHANNEL_POOL_SIZE);
+
+    /**
+     * Netty event loop of the gRPC connections, such as a group shared with the application. TCP connections support
+     * epoll and nio event loops. Unix socket connections require an epoll event loop, and default to one shared by all
+     * providers.
+     */
+    private EventLoopGroup eventLoopGroup;
+
     /**
      * Selector to be used with flag sync gRPC contract.
      **/
@@ -117,6 +191,50 @@ public class FlagdOptions {
     @Builder.Default
     private String offlineFlagSourcePath = fallBackToEnvOrDefault(OFFLINE_SOURCE_PATH, null);
 
+    /**
+     * Watch the offline flag source for changes through file system events, instead of polling it.
+     * Changes are then applied within milliseconds.
+     */
+    @Builder.Default
+    private boolean offlineFlagSourceWatch =
+            Boolean.parseBoolean(fallBackToEnvOrDefault(OFFLINE_SOURCE_WATCH, DEFAULT_OFFLINE_WATCH));
+
+    /**
+     * File persisting the last valid flag configurations of the in-process resolver. On initialization, flags are
+     * loaded from this snapshot, and the provider is ready without waiting for the flag source.
+     */
+    @Builder.Default
+    private String snapshotPath = fallBackToEnvOrDefault(SNAPSHOT_PATH_ENV_VAR_NAME, null);
+
+    /**
+     * Max amount of targeted evaluations memoized per flag by the in-process resolver, keyed by the values of the
+     * context attributes read by the flag's rule. Rules reading the evaluation timestamp are never memoized.
+     * 0 disables memoization.
+     */
+    @Builder.Default
+    private int evaluationMemoSize =
+            fallBackToEnvOrDefault(EVALUATION_MEMO_SIZE_ENV_VAR_NAME, DEFAULT_EVALUATION_MEMO_SIZE);
+
+    /**
+     * Connector providing flag configurations to the in-process resolver, such as a {@link CompositeConnector} merging
+     * several sources. Setting this takes precedence over the offline flag source and the gRPC sync.
+     */
+    private Connector customConnector;
+
+    /**
+     * Scheduler running the short background tasks of the provider, such as state changes and reconnections.
+     * Defaults to a scheduler shared by all providers of the process.
+     */
+    @Builder.Default
+    private ScheduledExecutorService scheduler = SharedScheduler.get();
+
+    /**
+     * Scheduler running the blocking background work of the in-process resolver, parsing of flag configurations, which
+     * can be large, and reading of flag files. Defaults to a pool shared by all providers of the process.
+     */
+    @Builder.Default
+    private ScheduledExecutorService blockingScheduler = SharedScheduler.blocking();
+
     /**
      * Inject OpenTelemetry for the library runtime. Providing sdk will initiate distributed tracing for flagd grpc
      * connectivity.
@@ -1,8 +1,10 @@
 package dev.openfeature.contrib.providers.flagd;
 
 import dev.openfeature.contrib.providers.flagd.resolver.Resolver;
+import dev.openfeature.contrib.providers.flagd.resolver.common.FlagdMetrics;
 import dev.openfeature.contrib.providers.flagd.resolver.grpc.GrpcResolver;
 import dev.openfeature.contrib.providers.flagd.resolver.grpc.cache.Cache;
+import dev.openfeature.contrib.providers.flagd.resolver.grpc.cache.CacheStats;
 import dev.openfeature.contrib.providers.flagd.resolver.process.InProcessResolver;
 import dev.openfeature.sdk.EvaluationContext;
 import dev.openfeature.sdk.EventProvider;
@@ -14,6 +16,11 @@ import dev.openfeature.sdk.ProviderState;
 import dev.openfeature.sdk.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -28,6 +35,8 @@ public class FlagdProvider extends EventProvider implements FeatureProvider {
 
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
     private final Resolver flagResolver;
+    private final FlagdMetrics metrics;
+    private Cache cache;
     private ProviderState state = ProviderState.NOT_READY;
     private boolean initialized = false;
 
@@ -50,16 +59,16 @@ public class FlagdProvider extends EventProvider implements FeatureProvider {
      * @param options {@link FlagdOptions} with
      */
     public FlagdProvider(final FlagdOptions options) {
+        this.metrics = FlagdMetrics.of(options.getOpenTelemetry());
+
         switch (options.getResolverType().asString()) {
             case Config.RESOLVER_IN_PROCESS:
                 this.flagResolver = new InProcessResolver(options, this::setState);
                 break;
             case Config.RESOLVER_RPC:
-                this.flagResolver =
-                        new GrpcResolver(options,
-                                new Cache(options.getCacheType(), options.getMaxCacheSize()),
-                                this::getState,
-                                this::setState);
+                this.cache = new Cache(options.getCacheType(), options.getMaxCacheSize(),
+                        options.getContextCacheTtlMs(), options.getMaxContextCacheSize());
+                this.flagResolver = new GrpcResolver(options, this.cache, this::getState, this::setState);
                 break;
             default:
                 throw new IllegalStateException(
@@ -78,6 +87,24 @@ public class FlagdProvider extends EventProvider implements FeatureProvider {
         this.initialized = true;
     }
 
+    /**
+     * Initialize the provider without waiting for flagd. The returned future completes once the provider is ready.
+     * Until then, evaluations resolve to their default values.
+     *
+     * @param evaluationContext evaluation context
+     * @return future completed once the provider is ready, or exceptionally if it can not become ready
+     */
+    public synchronized CompletableFuture<Void> initializeAsync(EvaluationContext evaluationContext) throws Exception {
+        if (this.initialized) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        this.evaluationContext = evaluationContext;
+        final CompletableFuture<Void> ready = this.flagResolver.initAsync();
+        this.initialized = true;
+        return ready;
+    }
+
     @Override
     public synchronized void shutdown() {
         if (!initialized) {
@@ -111,27 +138,134 @@ public class FlagdProvider extends EventProvider implements FeatureProvider {
 
     @Override
     public ProviderEvaluation<Boolean> getBooleanEvaluation(String key, Boolean defaultValue, EvaluationContext ctx) {
-        return this.flagResolver.booleanEvaluation(key, defaultValue, mergeContext(ctx));
+        final long start = metrics.start();
+        try {
+            return this.flagResolver.booleanEvaluation(key, defaultValue, mergeContext(ctx));
+        } finally {
+            metrics.recordEvaluation(key, start);
+        }
     }
 
     @Override
     public ProviderEvaluation<String> getStringEvaluation(String key, String defaultValue, EvaluationContext ctx) {
-        return this.flagResolver.stringEvaluation(key, defaultValue, mergeContext(ctx));
+        final long start = metrics.start();
+        try {
+            return this.flagResolver.stringEvaluation(key, defaultValue, mergeContext(ctx));
+        } finally {
+            metrics.recordEvaluation(key, start);
+        }
     }
 
     @Override
     public ProviderEvaluation<Double> getDoubleEvaluation(String key, Double defaultValue, EvaluationContext ctx) {
-        return this.flagResolver.doubleEvaluation(key, defaultValue, mergeContext(ctx));
+        final long start = metrics.start();
+        try {
+            return this.flagResolver.doubleEvaluation(key, defaultValue, mergeContext(ctx));
+        } finally {
+            metrics.recordEvaluation(key, start);
+        }
     }
 
     @Override
     public ProviderEvaluation<Integer> getIntegerEvaluation(String key, Integer defaultValue, EvaluationContext ctx) {
-        return this.flagResolver.integerEvaluation(key, defaultValue, mergeContext(ctx));
+        final long start = metrics.start();
+        try {
+            return this.flagResolver.integerEvaluation(key, defaultValue, mergeContext(ctx));
+        } finally {
+            metrics.recordEvaluation(key, start);
+        }
     }
 
     @Override
     public ProviderEvaluation<Value> getObjectEvaluation(String key, Value defaultValue, EvaluationContext ctx) {
-        return this.flagResolver.objectEvaluation(key, defaultValue, mergeContext(ctx));
+        final long start = metrics.start();
+        try {
+            return this.flagResolver.objectEvaluation(key, defaultValue, mergeContext(ctx));
+        } finally {
+            metrics.recordEvaluation(key, start);
+        }
+    }
+
+    /**
+     * Evaluate a boolean flag without blocking the caller. Failures complete the future exceptionally with an
+     * {@link dev.openfeature.sdk.exceptions.OpenFeatureError}.
+     */
+    public CompletableFuture<ProviderEvaluation<Boolean>> getBooleanEvaluationAsync(String key, Boolean defaultValue,
+            EvaluationContext ctx) {
+        final long start = metrics.start();
+        return measured(key, start, this.flagResolver.booleanEvaluationAsync(key, defaultValue, mergeContext(ctx)));
+    }
+
+    /**
+     * Evaluate a string flag without blocking the caller.
+     */
+    public CompletableFuture<ProviderEvaluation<String>> getStringEvaluationAsync(String key, String defaultValue,
+            EvaluationContext ctx) {
+        final long start = metrics.start();
+        return measured(key, start, this.flagResolver.stringEvaluationAsync(key, defaultValue, mergeContext(ctx)));
+    }
+
+    /**
+     * Evaluate a double flag without blocking the caller.
+     */
+    public CompletableFuture<ProviderEvaluation<Double>> getDoubleEvaluationAsync(String key, Double defaultValue,
+            EvaluationContext ctx) {
+        final long start = metrics.start();
+        return measured(key, start, this.flagResolver.doubleEvaluationAsync(key, defaultValue, mergeContext(ctx)));
+    }
+
+    /**
+     * Evaluate an integer flag without blocking the caller.
+     */
+    public CompletableFuture<ProviderEvaluation<Integer>> getIntegerEvaluationAsync(String key,
+            Integer defaultValue, EvaluationContext ctx) {
+        final long start = metrics.start();
+        return measured(key, start, this.flagResolver.integerEvaluationAsync(key, defaultValue, mergeContext(ctx)));
+    }
+
+    /**
+     * Evaluate an object flag without blocking the caller.
+     */
+    public CompletableFuture<ProviderEvaluation<Value>> getObjectEvaluationAsync(String key, Value defaultValue,
+            EvaluationContext ctx) {
+        final long start = metrics.start();
+        return measured(key, start, this.flagResolver.objectEvaluationAsync(key, defaultValue, mergeContext(ctx)));
+    }
+
+    /**
+     * Evaluate several flags against the same context. In-process, the context is prepared once for all flags. Over
+     * RPC, flags are resolved with a single call to flagd. Flags failing to evaluate are reported with their error
+     * code. The evaluation of all flags is measured as a single evaluation, without flag key.
+     *
+     * @param keys keys of the flags to evaluate
+     * @param ctx  evaluation context
+     * @return evaluations by flag key
+     */
+    public Map<String, ProviderEvaluation<Value>> evaluateAll(Collection<String> keys, EvaluationContext ctx) {
+        final long start = metrics.start();
+        try {
+            return this.flagResolver.evaluateAll(keys, mergeContext(ctx));
+        } finally {
+            metrics.recordBulkEvaluation(start);
+        }
+    }
+
+    /**
+     * Statistics of the RPC evaluation cache. Statistics are recorded by the concurrent cache only.
+     *
+     * @return cache statistics, zero counts if not recorded
+     */
+    public CacheStats getCacheStats() {
+        return this.cache != null ? this.cache.getStats() : CacheStats.EMPTY;
+    }
+
+    // asynchronous evaluations are measured till their completion
+    private <T> CompletableFuture<T> measured(final String key, final long start,
+                                              final CompletableFuture<T> evaluation) {
+        if (metrics.isEnabled()) {
+            evaluation.whenComplete((result, throwable) -> metrics.recordEvaluation(key, start));
+        }
+        return evaluation;
     }
 
     private EvaluationContext mergeContext(final EvaluationContext clientCallCtx) {
@@ -143,6 +277,10 @@ public class FlagdProvider extends EventProvider implements FeatureProvider {
     }
 
     private void setState(ProviderState newState) {
+        setState(newState, Collections.emptyList());
+    }
+
+    private void setState(ProviderState newState, List<String> changedFlagsKeys) {
         ProviderState oldState;
         Lock l = this.lock.writeLock();
         try {
@@ -152,10 +290,11 @@ public class FlagdProvider extends EventProvider implements FeatureProvider {
         } finally {
             l.unlock();
         }
-        this.handleStateTransition(oldState, newState);
+        this.handleStateTransition(oldState, newState, changedFlagsKeys);
     }
 
-    private void handleStateTransition(ProviderState oldState, ProviderState newState) {
+    private void handleStateTransition(ProviderState oldState, ProviderState newState,
+                                       List<String> changedFlagsKeys) {
         // we got initialized
         if (ProviderState.NOT_READY.equals(oldState) && ProviderState.READY.equals(newState)) {
             // nothing to do, the SDK emits the events
@@ -165,7 +304,10 @@ public class FlagdProvider extends EventProvider implements FeatureProvider {
         // configuration changed
         if (ProviderState.READY.equals(oldState) && ProviderState.READY.equals(newState)) {
             log.debug("Configuration changed");
-            ProviderEventDetails details = ProviderEventDetails.builder().message("configuration changed").build();
+            ProviderEventDetails details = ProviderEventDetails.builder()
+                    .flagsChanged(changedFlagsKeys)
+                    .message("configuration changed")
+                    .build();
             this.emitProviderConfigurationChanged(details);
             return;
         }
@@ -179,7 +321,10 @@ public class FlagdProvider extends EventProvider implements FeatureProvider {
         // we recover from an error
         if (ProviderState.ERROR.equals(oldState) && ProviderState.READY.equals(newState)) {
             log.debug("Recovered from error");
-            ProviderEventDetails details = ProviderEventDetails.builder().message("recovered from error").build();
+            ProviderEventDetails details = ProviderEventDetails.builder()
+                    .flagsChanged(changedFlagsKeys)
+                    .message("recovered from error")
+                    .build();
             this.emitProviderReady(details);
             this.emitProviderConfigurationChanged(details);
         }
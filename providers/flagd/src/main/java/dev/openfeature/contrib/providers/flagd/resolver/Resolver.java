@@ -4,12 +4,22 @@ import dev.openfeature.sdk.EvaluationContext;
 import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.Value;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * A generic flag resolving contract for flagd.
  */
 public interface Resolver {
     void init() throws Exception;
 
+    /**
+     * Initialize the resolver without blocking. The returned future completes once the resolver is ready, or
+     * completes exceptionally if it can not become ready.
+     */
+    CompletableFuture<Void> initAsync() throws Exception;
+
     void shutdown() throws Exception;
 
     ProviderEvaluation<Boolean> booleanEvaluation(String key, Boolean defaultValue, EvaluationContext ctx);
@@ -21,4 +31,25 @@ public interface Resolver {
     ProviderEvaluation<Integer> integerEvaluation(String key, Integer defaultValue, EvaluationContext ctx);
 
     ProviderEvaluation<Value> objectEvaluation(String key, Value defaultValue, EvaluationContext ctx);
+
+    CompletableFuture<ProviderEvaluation<Boolean>> booleanEvaluationAsync(String key, Boolean defaultValue,
+            EvaluationContext ctx);
+
+    CompletableFuture<ProviderEvaluation<String>> stringEvaluationAsync(String key, String defaultValue,
+            EvaluationContext ctx);
+
+    CompletableFuture<ProviderEvaluation<Double>> doubleEvaluationAsync(String key, Double defaultValue,
+            EvaluationContext ctx);
+
+    CompletableFuture<ProviderEvaluation<Integer>> integerEvaluationAsync(String key, Integer defaultValue,
+            EvaluationContext ctx);
+
+    CompletableFuture<ProviderEvaluation<Value>> objectEvaluationAsync(String key, Value defaultValue,
+            EvaluationContext ctx);
+
+    /**
+     * Evaluate several flags against the same context. Flags failing to evaluate are reported with their error code,
+     * instead of failing the whole evaluation.
+     */
+    Map<String, ProviderEvaluation<Value>> evaluateAll(Collection<String> keys, EvaluationContext ctx);
 }
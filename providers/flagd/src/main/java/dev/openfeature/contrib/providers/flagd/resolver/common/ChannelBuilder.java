@@ -5,14 +5,23 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.grpc.ManagedChannel;
 import io.grpc.netty.GrpcSslContexts;
 import io.grpc.netty.NettyChannelBuilder;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.util.concurrent.DefaultThreadFactory;
 
 import javax.net.ssl.SSLException;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * gRPC channel builder helper.
@@ -22,6 +31,22 @@ public class ChannelBuilder {
     private ChannelBuilder() {
     }
 
+    /**
+     * Build a pool of {@link FlagdOptions#getChannelPoolSize()} channels, spreading calls round-robin across them.
+     * Without pooling, this is the single channel of {@link #nettyChannel(FlagdOptions)}.
+     */
+    public static ManagedChannel pooledChannel(final FlagdOptions options) {
+        if (options.getChannelPoolSize() <= 1) {
+            return nettyChannel(options);
+        }
+
+        final List<ManagedChannel> channels = new ArrayList<>(options.getChannelPoolSize());
+        for (int i = 0; i < options.getChannelPoolSize(); i++) {
+            channels.add(nettyChannel(options));
+        }
+        return new ChannelPool(channels);
+    }
+
     /**
      * This method is a helper to build a {@link ManagedChannel} from provided {@link FlagdOptions}.
      */
@@ -34,12 +59,19 @@ public class ChannelBuilder {
                 throw new IllegalStateException("unix socket cannot be used", Epoll.unavailabilityCause());
             }
 
-            return NettyChannelBuilder
+            final EventLoopGroup group = options.getEventLoopGroup() != null
+                    ? options.getEventLoopGroup() : SharedEpollGroup.INSTANCE;
+            if (!(group instanceof EpollEventLoopGroup)) {
+                throw new IllegalArgumentException(String.format(
+                        "unix socket requires an epoll event loop group, got %s", group.getClass().getName()));
+            }
+
+            final NettyChannelBuilder builder = NettyChannelBuilder
                     .forAddress(new DomainSocketAddress(options.getSocketPath()))
-                    .eventLoopGroup(new EpollEventLoopGroup())
+                    .eventLoopGroup(group)
                     .channelType(EpollDomainSocketChannel.class)
-                    .usePlaintext()
-                    .build();
+                    .usePlaintext();
+            return tune(builder, options).build();
         }
 
         // build a TCP socket
@@ -60,16 +92,60 @@ public class ChannelBuilder {
                 builder.usePlaintext();
             }
 
+            if (options.getEventLoopGroup() != null) {
+                builder.eventLoopGroup(options.getEventLoopGroup())
+                        .channelType(socketChannelType(options.getEventLoopGroup()));
+            }
+
             // telemetry interceptor if option is provided
             if (options.getOpenTelemetry() != null) {
                 builder.intercept(new FlagdGrpcInterceptor(options.getOpenTelemetry()));
             }
 
-            return builder.build();
+            return tune(builder, options).build();
         } catch (SSLException ssle) {
             SslConfigException sslConfigException = new SslConfigException("Error with SSL configuration.");
             sslConfigException.initCause(ssle);
             throw sslConfigException;
         }
     }
+
+    // the channel type must match the transport of the event loop group
+    private static Class<? extends SocketChannel> socketChannelType(final EventLoopGroup group) {
+        if (group instanceof EpollEventLoopGroup) {
+            return EpollSocketChannel.class;
+        }
+
+        if (group instanceof NioEventLoopGroup) {
+            return NioSocketChannel.class;
+        }
+
+        throw new IllegalArgumentException(String.format(
+                "unsupported event loop group %s, use an epoll or nio event loop group", group.getClass().getName()));
+    }
+
+    // settings left to 0 keep the gRPC defaults
+    private static NettyChannelBuilder tune(final NettyChannelBuilder builder, final FlagdOptions options) {
+        if (options.getKeepAliveTimeMs() > 0) {
+            builder.keepAliveTime(options.getKeepAliveTimeMs(), TimeUnit.MILLISECONDS);
+        }
+
+        if (options.getFlowControlWindow() > 0) {
+            builder.flowControlWindow(options.getFlowControlWindow());
+        }
+
+        if (options.getMaxInboundMessageSize() > 0) {
+            builder.maxInboundMessageSize(options.getMaxInboundMessageSize());
+        }
+        return builder;
+    }
+
+    /**
+     * Event loop of the unix socket channels of all providers, with daemon threads. Providers do not create, hence
+     * do not leak, event loop threads of their own.
+     */
+    private static final class SharedEpollGroup {
+        private static final EventLoopGroup INSTANCE =
+                new EpollEventLoopGroup(0, new DefaultThreadFactory("flagd-epoll", true));
+    }
 }
@@ -0,0 +1,172 @@
+package dev.openfeature.contrib.providers.flagd.resolver.common;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of channels to the same target, each with its own HTTP/2 connection. Calls are spread round-robin across the
+ * channels, hence concurrent evaluations are not bound to the streams and the flow control of a single connection.
+ * The connectivity state of the pool is the most available state of its channels, a pool is ready while any of its
+ * channels is.
+ */
+final class ChannelPool extends ManagedChannel {
+    private final ManagedChannel[] channels;
+    private final AtomicInteger next = new AtomicInteger();
+    // the pool is shut down once requested, as channels are, even while some of its channels still terminate
+    private volatile boolean shutdown;
+
+    ChannelPool(final List<ManagedChannel> channels) {
+        if (channels.isEmpty()) {
+            throw new IllegalArgumentException("channel pool requires at least one channel");
+        }
+        this.channels = channels.toArray(new ManagedChannel[0]);
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(final MethodDescriptor<ReqT, RespT> methodDescriptor,
+                                                         final CallOptions callOptions) {
+        return channels[Math.floorMod(next.getAndIncrement(), channels.length)].newCall(methodDescriptor, callOptions);
+    }
+
+    @Override
+    public String authority() {
+        return channels[0].authority();
+    }
+
+    @Override
+    public ManagedChannel shutdown() {
+        shutdown = true;
+        for (ManagedChannel channel : channels) {
+            channel.shutdown();
+        }
+        return this;
+    }
+
+    @Override
+    public ManagedChannel shutdownNow() {
+        shutdown = true;
+        for (ManagedChannel channel : channels) {
+            channel.shutdownNow();
+        }
+        return this;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        if (shutdown) {
+            return true;
+        }
+
+        for (ManagedChannel channel : channels) {
+            if (!channel.isShutdown()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        for (ManagedChannel channel : channels) {
+            if (!channel.isTerminated()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ManagedChannel channel : channels) {
+            if (!channel.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public ConnectivityState getState(final boolean requestConnection) {
+        ConnectivityState state = ConnectivityState.SHUTDOWN;
+        for (ManagedChannel channel : channels) {
+            final ConnectivityState channelState = channel.getState(requestConnection);
+            if (availability(channelState) > availability(state)) {
+                state = channelState;
+            }
+        }
+        return state;
+    }
+
+    @Override
+    public void notifyWhenStateChanged(final ConnectivityState source, final Runnable callback) {
+        if (getState(false) != source) {
+            callback.run();
+            return;
+        }
+
+        final AtomicBoolean notified = new AtomicBoolean();
+        for (ManagedChannel channel : channels) {
+            watch(channel, channel.getState(false), source, callback, notified);
+        }
+    }
+
+    // changes of a channel may leave the state of the pool unchanged, the channel is then watched again
+    private void watch(final ManagedChannel channel, final ConnectivityState channelState,
+                       final ConnectivityState source, final Runnable callback, final AtomicBoolean notified) {
+        channel.notifyWhenStateChanged(channelState, () -> {
+            if (notified.get()) {
+                return;
+            }
+
+            if (getState(false) != source) {
+                if (notified.compareAndSet(false, true)) {
+                    callback.run();
+                }
+            } else {
+                watch(channel, channel.getState(false), source, callback, notified);
+            }
+        });
+    }
+
+    @Override
+    public void resetConnectBackoff() {
+        for (ManagedChannel channel : channels) {
+            channel.resetConnectBackoff();
+        }
+    }
+
+    @Override
+    public void enterIdle() {
+        for (ManagedChannel channel : channels) {
+            channel.enterIdle();
+        }
+    }
+
+    private static int availability(final ConnectivityState state) {
+        switch (state) {
+            case READY:
+                return 4;
+            case CONNECTING:
+                return 3;
+            case IDLE:
+                return 2;
+            case TRANSIENT_FAILURE:
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    int size() {
+        return channels.length;
+    }
+}
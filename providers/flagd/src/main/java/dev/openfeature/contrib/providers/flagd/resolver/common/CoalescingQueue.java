@@ -0,0 +1,113 @@
+package dev.openfeature.contrib.providers.flagd.resolver.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+
+/**
+ * Latest-wins mailbox. An element offered while the last queued element is of the same kind replaces it, coalesced
+ * with it, hence bursts collapse into a single element. When full, the oldest element gives way to the offered one,
+ * coalesced into the next element of the same kind if any, hence a mailbox at least as large as the number of kinds
+ * never loses what its elements carry. Offers never block, and never lose the newest element.
+ *
+ * @param <E> type of the elements
+ */
+public class CoalescingQueue<E> extends SignallingQueue<E> {
+    private static final long serialVersionUID = 1L;
+
+    private final int capacity;
+    private final transient BinaryOperator<E> coalescer;
+    private transient volatile Runnable dropListener;
+
+    /**
+     * Construct a mailbox.
+     *
+     * @param capacity  max amount of elements which can not be coalesced
+     * @param coalescer coalesce the last queued element with the offered one, returns null if they are not of the
+     *                  same kind
+     */
+    public CoalescingQueue(final int capacity, final BinaryOperator<E> coalescer) {
+        super(capacity);
+        this.capacity = capacity;
+        this.coalescer = coalescer;
+    }
+
+    /**
+     * Set the listener signalled when an element gives way to a newer one in a full mailbox, null removes the
+     * listener.
+     */
+    public void setDropListener(final Runnable dropListener) {
+        this.dropListener = dropListener;
+    }
+
+    @Override
+    public boolean offerLast(final E e) {
+        // offers are serialized, the queue locks only guard its own operations
+        synchronized (this) {
+            E element = e;
+
+            final E last = peekLast();
+            if (last != null) {
+                final E coalesced = coalescer.apply(last, e);
+                // the last element may have been taken meanwhile, the offered element is then queued as is
+                if (coalesced != null && removeLastOccurrence(last)) {
+                    element = coalesced;
+                }
+            }
+
+            if (!super.offerLast(element)) {
+                makeRoom(element);
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public boolean offerLast(final E e, final long timeout, final TimeUnit unit) {
+        return offerLast(e);
+    }
+
+    @Override
+    public void putLast(final E e) {
+        offerLast(e);
+    }
+
+    // full, the oldest element which can be coalesced into a later one gives way, otherwise the oldest one is dropped
+    private void makeRoom(final E offered) {
+        final List<E> elements = new ArrayList<>(capacity + 1);
+        drainTo(elements);
+        elements.add(offered);
+
+        // elements taken meanwhile may have made room
+        if (elements.size() > capacity) {
+            evict(elements);
+            dropped();
+        }
+
+        for (E element : elements) {
+            super.offerLast(element);
+        }
+    }
+
+    private void evict(final List<E> elements) {
+        for (int i = 0; i < elements.size() - 1; i++) {
+            for (int j = i + 1; j < elements.size(); j++) {
+                final E coalesced = coalescer.apply(elements.get(i), elements.get(j));
+                if (coalesced != null) {
+                    elements.set(j, coalesced);
+                    elements.remove(i);
+                    return;
+                }
+            }
+        }
+        elements.remove(0);
+    }
+
+    private void dropped() {
+        final Runnable current = this.dropListener;
+        if (current != null) {
+            current.run();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package dev.openfeature.contrib.providers.flagd.resolver.common;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics of the provider internals, such as evaluation latencies, cache lookups and sync payload handling. Metrics
+ * are recorded with the OpenTelemetry instance of the options, and are not recorded at all without one. Durations are
+ * measured from a {@link #start()}, which does not read the clock when metrics are disabled.
+ */
+public final class FlagdMetrics {
+    /**
+     * Metrics which are not recorded.
+     */
+    public static final FlagdMetrics NOOP = new FlagdMetrics(null);
+
+    static final String SCOPE = "dev.openfeature.contrib.providers.flagd";
+
+    private static final AttributeKey<String> FLAG_KEY = AttributeKey.stringKey("feature_flag.key");
+    private static final AttributeKey<String> CACHE = AttributeKey.stringKey("flagd.cache");
+    private static final AttributeKey<Boolean> CACHE_HIT = AttributeKey.booleanKey("flagd.cache.hit");
+    private static final AttributeKey<String> STREAM = AttributeKey.stringKey("flagd.stream");
+    private static final AttributeKey<String> QUEUE = AttributeKey.stringKey("flagd.queue");
+
+    // attributes are kept for the usual amount of flags, unknown keys beyond do not grow the map
+    private static final int MAX_FLAG_ATTRIBUTES = 1000;
+
+    private final boolean enabled;
+    private final Map<String, Attributes> flagAttributes = new ConcurrentHashMap<>();
+
+    private DoubleHistogram evaluationDuration;
+    private DoubleHistogram bulkEvaluationDuration;
+    private DoubleHistogram ruleDuration;
+    private LongCounter cacheLookups;
+    private LongHistogram syncPayloadSize;
+    private DoubleHistogram syncParseDuration;
+    private DoubleHistogram storeSwapDuration;
+    private LongCounter reconnects;
+    private LongCounter queueDrops;
+
+    FlagdMetrics(final Meter meter) {
+        this.enabled = meter != null;
+        if (!enabled) {
+            return;
+        }
+
+        evaluationDuration = duration(meter, "flagd.evaluation.duration", "Duration of flag evaluations");
+        bulkEvaluationDuration = duration(meter, "flagd.evaluation.bulk.duration",
+                "Duration of bulk evaluations of several flags");
+        ruleDuration = duration(meter, "flagd.rule.duration", "Duration of targeting rule evaluations");
+        cacheLookups = meter.counterBuilder("flagd.cache.lookups")
+                .setDescription("Lookups of cached evaluations, by cache and outcome")
+                .build();
+        syncPayloadSize = meter.histogramBuilder("flagd.sync.payload.size")
+                .setDescription("Size in characters of the flag configurations received")
+                .setUnit("{char}")
+                .ofLongs()
+                .build();
+        syncParseDuration = duration(meter, "flagd.sync.parse.duration", "Duration of flag configurations parsing");
+        storeSwapDuration = duration(meter, "flagd.store.swap.duration",
+                "Duration of the publication of parsed flags, including the detection of changed flags");
+        reconnects = meter.counterBuilder("flagd.stream.reconnects")
+                .setDescription("Reconnections of the gRPC streams, by stream")
+                .build();
+        queueDrops = meter.counterBuilder("flagd.queue.drops")
+                .setDescription("Elements dropped by full queues, in favour of newer ones")
+                .build();
+    }
+
+    /**
+     * Metrics recorded with the given OpenTelemetry instance.
+     *
+     * @param openTelemetry OpenTelemetry instance, null disables metrics
+     */
+    public static FlagdMetrics of(final OpenTelemetry openTelemetry) {
+        return openTelemetry == null ? NOOP : new FlagdMetrics(openTelemetry.getMeter(SCOPE));
+    }
+
+    /**
+     * Whether metrics are recorded.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start of a measured duration.
+     *
+     * @return the current time in nanoseconds, or 0 when metrics are disabled
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record the duration of a flag evaluation.
+     */
+    public void recordEvaluation(final String flagKey, final long start) {
+        if (enabled) {
+            evaluationDuration.record(secondsSince(start), flagAttributes(flagKey));
+        }
+    }
+
+    /**
+     * Record the duration of a bulk evaluation. Bulk evaluations cover many flags, hence are kept apart from the
+     * durations of single flag evaluations.
+     */
+    public void recordBulkEvaluation(final long start) {
+        if (enabled) {
+            bulkEvaluationDuration.record(secondsSince(start));
+        }
+    }
+
+    /**
+     * Record the duration of a targeting rule evaluation.
+     */
+    public void recordRuleEvaluation(final String flagKey, final long start) {
+        if (enabled) {
+            ruleDuration.record(secondsSince(start), flagAttributes(flagKey));
+        }
+    }
+
+    /**
+     * Record a lookup of a cached evaluation.
+     *
+     * @param cache name of the cache
+     * @param hit   whether an evaluation was found
+     */
+    public void recordCacheLookup(final String cache, final boolean hit) {
+        if (enabled) {
+            cacheLookups.add(1, Attributes.of(CACHE, cache, CACHE_HIT, hit));
+        }
+    }
+
+    /**
+     * Record the size of a sync payload, along with the duration of its parsing.
+     */
+    public void recordSyncPayload(final int size, final long parseStart) {
+        if (enabled) {
+            syncParseDuration.record(secondsSince(parseStart));
+            syncPayloadSize.record(size);
+        }
+    }
+
+    /**
+     * Record the duration of the publication of parsed flags.
+     */
+    public void recordStoreSwap(final long start) {
+        if (enabled) {
+            storeSwapDuration.record(secondsSince(start));
+        }
+    }
+
+    /**
+     * Record a reconnection of a gRPC stream.
+     */
+    public void recordReconnect(final String stream) {
+        if (enabled) {
+            reconnects.add(1, Attributes.of(STREAM, stream));
+        }
+    }
+
+    /**
+     * Record an element dropped by a full queue.
+     */
+    public void recordQueueDrop(final String queue) {
+        if (enabled) {
+            queueDrops.add(1, Attributes.of(QUEUE, queue));
+        }
+    }
+
+    private Attributes flagAttributes(final String flagKey) {
+        if (flagKey == null) {
+            return Attributes.empty();
+        }
+
+        final Attributes attributes = flagAttributes.get(flagKey);
+        if (attributes != null) {
+            return attributes;
+        }
+
+        final Attributes created = Attributes.of(FLAG_KEY, flagKey);
+        if (flagAttributes.size() < MAX_FLAG_ATTRIBUTES) {
+            flagAttributes.put(flagKey, created);
+        }
+        return created;
+    }
+
+    private static DoubleHistogram duration(final Meter meter, final String name, final String description) {
+        return meter.histogramBuilder(name).setDescription(description).setUnit("s").build();
+    }
+
+    private static double secondsSince(final long start) {
+        return (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,153 @@
+package dev.openfeature.contrib.providers.flagd.resolver.common;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Delivers the elements of a queue to a consumer, one at a time and in order. Elements of a {@link SignallingQueue}
+ * are drained by a task of the executor once signalled, hence no thread is held while the queue is empty. Other queues,
+ * such as the ones of custom connectors, are drained by a dedicated thread blocked on the queue.
+ *
+ * @param <E> type of the elements
+ */
+@Slf4j
+public final class QueueDispatcher<E> {
+    private final BlockingQueue<E> queue;
+    private final Executor executor;
+    private final Consumer<E> consumer;
+    // signals not yet handled by the drain task, the drain task runs while positive
+    private final AtomicInteger pendingSignals = new AtomicInteger();
+    // held while delivering, elements are never delivered concurrently
+    private final Object lock = new Object();
+
+    private volatile boolean stopped = false;
+    private Thread thread;
+
+    private QueueDispatcher(final BlockingQueue<E> queue, final Executor executor, final Consumer<E> consumer) {
+        this.queue = queue;
+        this.executor = executor;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Start delivering the elements of the queue, including the ones already queued.
+     *
+     * @param queue    queue to drain
+     * @param executor executor running the drain tasks
+     * @param consumer consumer of the elements
+     * @param name     name of the thread draining queues which do not signal their elements
+     * @return the dispatcher, to be stopped once done
+     */
+    public static <E> QueueDispatcher<E> start(final BlockingQueue<E> queue, final Executor executor,
+                                               final Consumer<E> consumer, final String name) {
+        final QueueDispatcher<E> dispatcher = new QueueDispatcher<>(queue, executor, consumer);
+
+        if (queue instanceof SignallingQueue) {
+            ((SignallingQueue<E>) queue).setListener(dispatcher::signal);
+            // elements queued before the listener
+            dispatcher.signal();
+        } else {
+            dispatcher.thread = new Thread(dispatcher::takeLoop, name);
+            dispatcher.thread.setDaemon(true);
+            dispatcher.thread.start();
+        }
+
+        return dispatcher;
+    }
+
+    /**
+     * Stop delivering elements. Elements still queued are left in the queue.
+     */
+    public void stop() {
+        synchronized (lock) {
+            stopped = true;
+        }
+        release();
+    }
+
+    /**
+     * Deliver the elements still queued in the calling thread, such as the last ones of a closed source, and stop
+     * delivering elements.
+     */
+    public void drainAndStop() {
+        synchronized (lock) {
+            stopped = true;
+
+            E element;
+            while ((element = queue.poll()) != null) {
+                deliver(element);
+            }
+        }
+        release();
+    }
+
+    private void release() {
+        if (queue instanceof SignallingQueue) {
+            ((SignallingQueue<E>) queue).setListener(null);
+        }
+
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void signal() {
+        if (stopped || pendingSignals.getAndIncrement() != 0) {
+            return;
+        }
+
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            log.warn("Unable to schedule queue draining, executor rejected the task", e);
+            pendingSignals.set(0);
+        }
+    }
+
+    private void drain() {
+        int signals = pendingSignals.get();
+
+        while (signals != 0) {
+            while (true) {
+                synchronized (lock) {
+                    final E element = stopped ? null : queue.poll();
+                    if (element == null) {
+                        break;
+                    }
+                    deliver(element);
+                }
+            }
+
+            // signals received meanwhile may relate to elements taken above, draining again is cheap
+            signals = pendingSignals.addAndGet(-signals);
+        }
+    }
+
+    private void takeLoop() {
+        try {
+            while (!stopped) {
+                final E element = queue.take();
+                synchronized (lock) {
+                    deliver(element);
+                }
+            }
+        } catch (InterruptedException e) {
+            log.debug("Queue dispatcher interrupted");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliver(final E element) {
+        try {
+            consumer.accept(element);
+        } catch (RuntimeException e) {
+            // keep delivering the following elements
+            log.warn("Queue consumer failed", e);
+        }
+    }
+}
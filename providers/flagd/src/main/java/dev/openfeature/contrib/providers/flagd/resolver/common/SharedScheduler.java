@@ -0,0 +1,63 @@
+package dev.openfeature.contrib.providers.flagd.resolver.common;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Schedulers shared by all providers of the process. Providers react to gRPC callbacks and to queue signals with short
+ * tasks of the shared scheduler, instead of blocking dedicated threads. Blocking work, such as parsing flag
+ * configurations and reading flag files, runs on a separate pool, hence it does not compete with the short tasks,
+ * such as reconnections. Both pools are bounded by the number of processors, blocking work of a provider may still
+ * wait for the blocking work of other providers once all threads are busy. Work of a single store is serialized by the
+ * store itself. Threads are daemons, which time out when idle, hence idle providers do not hold any thread.
+ */
+public final class SharedScheduler {
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private SharedScheduler() {
+    }
+
+    /**
+     * Get the scheduler shared by all providers.
+     */
+    public static ScheduledExecutorService get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Get the scheduler of blocking work shared by all providers.
+     */
+    public static ScheduledExecutorService blocking() {
+        return BlockingHolder.INSTANCE;
+    }
+
+    private static ScheduledExecutorService create(final String name, final int size) {
+        final AtomicInteger count = new AtomicInteger();
+        final ThreadFactory factory = runnable -> {
+            final Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(size, factory);
+        executor.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    private static int poolSize() {
+        return Math.max(2, Runtime.getRuntime().availableProcessors());
+    }
+
+    private static final class Holder {
+        private static final ScheduledExecutorService INSTANCE = create("flagd-scheduler", poolSize());
+    }
+
+    private static final class BlockingHolder {
+        private static final ScheduledExecutorService INSTANCE = create("flagd-blocking", poolSize());
+    }
+}
@@ -0,0 +1,80 @@
+package dev.openfeature.contrib.providers.flagd.resolver.common;
+
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocking queue signalling a listener whenever an element is added. Consumers can then drain the queue with a task of
+ * a scheduler, instead of a thread blocked on the queue. See {@link QueueDispatcher}.
+ * Elements are queued at the tail, which subclasses can inspect in constant time. All insertions go through
+ * {@link #offerLast(Object)}, {@link #offerLast(Object, long, TimeUnit)} and {@link #putLast(Object)}.
+ *
+ * @param <E> type of the elements
+ */
+public class SignallingQueue<E> extends LinkedBlockingDeque<E> {
+    private static final long serialVersionUID = 1L;
+
+    private transient volatile Runnable listener;
+
+    public SignallingQueue() {
+        super();
+    }
+
+    public SignallingQueue(final int capacity) {
+        super(capacity);
+    }
+
+    /**
+     * Set the listener signalled when an element is added, null removes the listener.
+     */
+    public void setListener(final Runnable listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public boolean offerLast(final E e) {
+        final boolean added = super.offerLast(e);
+        if (added) {
+            signal();
+        }
+        return added;
+    }
+
+    @Override
+    public boolean offerLast(final E e, final long timeout, final TimeUnit unit) throws InterruptedException {
+        final boolean added = super.offerLast(e, timeout, unit);
+        if (added) {
+            signal();
+        }
+        return added;
+    }
+
+    @Override
+    public void putLast(final E e) throws InterruptedException {
+        super.putLast(e);
+        signal();
+    }
+
+    // elements are only queued at the tail, which keeps the order of the queue
+    @Override
+    public boolean offerFirst(final E e) {
+        return offerLast(e);
+    }
+
+    @Override
+    public boolean offerFirst(final E e, final long timeout, final TimeUnit unit) throws InterruptedException {
+        return offerLast(e, timeout, unit);
+    }
+
+    @Override
+    public void putFirst(final E e) throws InterruptedException {
+        putLast(e);
+    }
+
+    private void signal() {
+        final Runnable current = this.listener;
+        if (current != null) {
+            current.run();
+        }
+    }
+}
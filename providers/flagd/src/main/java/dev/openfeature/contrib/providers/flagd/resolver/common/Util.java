@@ -1,6 +1,18 @@
 package dev.openfeature.contrib.providers.flagd.resolver.common;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 
 import dev.openfeature.sdk.exceptions.GeneralError;
 
@@ -9,6 +21,8 @@ import dev.openfeature.sdk.exceptions.GeneralError;
  */
 public class Util {
 
+    private static final long CHECK_INTERVAL_MS = 50L;
+
     private Util() {
     }
 
@@ -17,17 +31,89 @@ public class Util {
      *
      * @param deadline number of milliseconds to block
      * @param check    {@link AtomicBoolean} to check for status true
+     * @deprecated conditions should complete a future instead of being checked, use {@link #await(long, Future)}
      */
+    @Deprecated
     public static void busyWaitAndCheck(final Long deadline, final AtomicBoolean check) throws InterruptedException {
-        long start = System.currentTimeMillis();
+        final CompletableFuture<Void> condition = new CompletableFuture<>();
+        final ScheduledFuture<?> checkTask = SharedScheduler.get().scheduleWithFixedDelay(() -> {
+            if (check.get()) {
+                condition.complete(null);
+            }
+        }, 0, CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
 
-        do {
-            if (deadline <= System.currentTimeMillis() - start) {
-                throw new GeneralError(
+        try {
+            await(deadline, condition);
+        } finally {
+            checkTask.cancel(false);
+        }
+    }
+
+    /**
+     * A helper to block the caller until the condition is signalled. The caller is released as soon as the condition
+     * completes.
+     *
+     * @param deadline  number of milliseconds to block
+     * @param condition future completed once the condition is met
+     */
+    public static void await(final long deadline, final Future<?> condition) throws InterruptedException {
+        try {
+            condition.get(deadline, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new GeneralError(
                     String.format("Deadline exceeded. Condition did not complete within the %d deadline", deadline));
+        } catch (ExecutionException e) {
+            final GeneralError error = new GeneralError(String.format("Condition failed: %s", e.getCause()));
+            error.initCause(e.getCause());
+            throw error;
+        }
+    }
+
+    /**
+     * Bridge a gRPC {@link ListenableFuture} to a {@link CompletableFuture}. Cancelling the returned future cancels
+     * the underlying call.
+     *
+     * @param listenableFuture future to bridge
+     * @return future completed with the outcome of the listenable future
+     */
+    public static <T> CompletableFuture<T> toCompletableFuture(final ListenableFuture<T> listenableFuture) {
+        final CompletableFuture<T> future = new CompletableFuture<T>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                listenableFuture.cancel(mayInterruptIfRunning);
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+
+        Futures.addCallback(listenableFuture, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                future.complete(result);
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                future.completeExceptionally(throwable);
             }
+        }, MoreExecutors.directExecutor());
 
-            Thread.sleep(50L);
-        } while (!check.get());
+        return future;
+    }
+
+    /**
+     * Run the supplier in the caller thread and capture its outcome, including a thrown exception, in a completed
+     * future.
+     *
+     * @param supplier value supplier
+     * @return completed future
+     */
+    public static <T> CompletableFuture<T> completedFuture(final Supplier<T> supplier) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            future.complete(supplier.get());
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
     }
 }
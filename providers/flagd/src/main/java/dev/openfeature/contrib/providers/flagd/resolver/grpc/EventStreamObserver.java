@@ -18,7 +18,7 @@ import java.util.function.Consumer;
 @SuppressFBWarnings(justification = "cache needs to be read and write by multiple objects")
 class EventStreamObserver implements StreamObserver<EventStreamResponse> {
     private final Consumer<ProviderState> stateConsumer;
-    private final Object sync;
+    private final Runnable onEndOfStream;
     private final Cache cache;
 
     private static final String CONFIGURATION_CHANGE = "configuration_change";
@@ -28,12 +28,12 @@ class EventStreamObserver implements StreamObserver<EventStreamResponse> {
     /**
      * Create a gRPC stream that get notified about flag changes.
      *
-     * @param sync                 synchronization object from caller
+     * @param onEndOfStream        callback invoked once the stream ended
      * @param cache                cache to update
      * @param stateConsumer        lambda to call for setting the state
      */
-    EventStreamObserver(Object sync, Cache cache, Consumer<ProviderState> stateConsumer) {
-        this.sync = sync;
+    EventStreamObserver(Runnable onEndOfStream, Cache cache, Consumer<ProviderState> stateConsumer) {
+        this.onEndOfStream = onEndOfStream;
         this.cache = cache;
         this.stateConsumer = stateConsumer;
     }
@@ -61,7 +61,7 @@ class EventStreamObserver implements StreamObserver<EventStreamResponse> {
         this.stateConsumer.accept(ProviderState.ERROR);
 
         // handle last call of this stream
-        handleEndOfStream();
+        this.onEndOfStream.run();
     }
 
     @Override
@@ -72,7 +72,7 @@ class EventStreamObserver implements StreamObserver<EventStreamResponse> {
         this.stateConsumer.accept(ProviderState.ERROR);
 
         // handle last call of this stream
-        handleEndOfStream();
+        this.onEndOfStream.run();
     }
 
     private void handleConfigurationChangeEvent(EventStreamResponse value) {
@@ -99,10 +99,4 @@ class EventStreamObserver implements StreamObserver<EventStreamResponse> {
             this.cache.clear();
         }
     }
-
-    private void handleEndOfStream() {
-        synchronized (this.sync) {
-            this.sync.notifyAll();
-        }
-    }
 }
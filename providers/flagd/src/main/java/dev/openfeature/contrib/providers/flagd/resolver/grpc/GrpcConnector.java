@@ -1,18 +1,23 @@
 package dev.openfeature.contrib.providers.flagd.resolver.grpc;
 
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 import dev.openfeature.contrib.providers.flagd.FlagdOptions;
 import dev.openfeature.contrib.providers.flagd.resolver.common.ChannelBuilder;
+import dev.openfeature.contrib.providers.flagd.resolver.common.FlagdMetrics;
 import dev.openfeature.contrib.providers.flagd.resolver.common.Util;
 import dev.openfeature.contrib.providers.flagd.resolver.grpc.cache.Cache;
 import dev.openfeature.flagd.grpc.evaluation.Evaluation.EventStreamRequest;
 import dev.openfeature.flagd.grpc.evaluation.Evaluation.EventStreamResponse;
 import dev.openfeature.flagd.grpc.evaluation.ServiceGrpc;
 import dev.openfeature.sdk.ProviderState;
+import dev.openfeature.sdk.exceptions.GeneralError;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.grpc.ManagedChannel;
 import io.grpc.stub.StreamObserver;
@@ -20,16 +25,18 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * Class that abstracts the gRPC communication with flagd.
+ * The event stream is observed through gRPC callbacks, and reconnections with a backoff are tasks of the scheduler.
  */
 @Slf4j
 @SuppressFBWarnings(justification = "cache needs to be read and write by multiple objects")
 public class GrpcConnector {
-    private final Object sync = new Object();
-    private final AtomicBoolean connected = new AtomicBoolean(false);
+    // completed once connected to the event stream
+    private volatile CompletableFuture<Void> ready = new CompletableFuture<>();
     private final Random random = new Random();
 
     private final ServiceGrpc.ServiceBlockingStub serviceBlockingStub;
     private final ServiceGrpc.ServiceStub serviceStub;
+    private final ServiceGrpc.ServiceFutureStub serviceFutureStub;
     private final ManagedChannel channel;
     private final int maxEventStreamRetries;
 
@@ -38,12 +45,16 @@ public class GrpcConnector {
 
     private final Cache cache;
     private final Consumer<ProviderState> stateConsumer;
+    private final ScheduledExecutorService scheduler;
+    private final FlagdMetrics metrics;
 
-    private int eventStreamAttempt = 1;
-    private int eventStreamRetryBackoff;
+    // updated by the callbacks of the current event stream
+    private volatile int eventStreamAttempt = 1;
+    private volatile int eventStreamRetryBackoff;
 
-    // Thread responsible for event observation
-    private Thread eventObserverThread;
+    private volatile boolean shutdown = false;
+    // pending reconnection of the event stream
+    private volatile ScheduledFuture<?> reconnection;
 
     /**
      * GrpcConnector creates an abstraction over gRPC communication.
@@ -53,9 +64,10 @@ public class GrpcConnector {
      * @param stateConsumer lambda to call for setting the state.
      */
     public GrpcConnector(final FlagdOptions options, final Cache cache, Consumer<ProviderState> stateConsumer) {
-        this.channel = ChannelBuilder.nettyChannel(options);
+        this.channel = ChannelBuilder.pooledChannel(options);
         this.serviceStub = ServiceGrpc.newStub(channel);
         this.serviceBlockingStub = ServiceGrpc.newBlockingStub(channel);
+        this.serviceFutureStub = ServiceGrpc.newFutureStub(channel);
 
         this.maxEventStreamRetries = options.getMaxEventStreamRetries();
         this.startEventStreamRetryBackoff = options.getRetryBackoffMs();
@@ -63,18 +75,30 @@ public class GrpcConnector {
         this.deadline = options.getDeadline();
         this.cache = cache;
         this.stateConsumer = stateConsumer;
+        this.scheduler = options.getScheduler();
+        this.metrics = FlagdMetrics.of(options.getOpenTelemetry());
     }
 
     /**
-     * Initialize the gRPC stream.
+     * Initialize the gRPC stream, and block until connected.
      */
     public void initialize() throws Exception {
-        eventObserverThread = new Thread(this::observeEventStream);
-        eventObserverThread.setDaemon(true);
-        eventObserverThread.start();
+        Util.await(this.deadline, initializeAsync());
+    }
+
+    /**
+     * Initialize the gRPC stream without waiting for it.
+     *
+     * @return future completed once connected to the event stream
+     */
+    public CompletableFuture<Void> initializeAsync() {
+        final CompletableFuture<Void> connected = this.ready;
+
+        this.shutdown = false;
+        observeEventStream();
 
-        // block till ready
-        Util.busyWaitAndCheck(this.deadline, this.connected);
+        // a dependent future, callers can not complete the readiness signal
+        return connected.thenApply(ignored -> null);
     }
 
     /**
@@ -84,9 +108,12 @@ public class GrpcConnector {
      */
     public void shutdown() throws Exception {
         // first shutdown the event listener
-        if (this.eventObserverThread != null) {
-            this.eventObserverThread.interrupt();
+        this.shutdown = true;
+        final ScheduledFuture<?> pending = this.reconnection;
+        if (pending != null) {
+            pending.cancel(false);
         }
+        this.ready = new CompletableFuture<>();
 
         try {
             if (this.channel != null && !this.channel.isShutdown()) {
@@ -113,40 +140,54 @@ public class GrpcConnector {
     }
 
     /**
-     * Event stream observer logic. This contains blocking mechanisms, hence must be run in a dedicated thread.
+     * Provide the object that can be used to resolve Feature Flag values without blocking the caller.
+     *
+     * @return a {@link ServiceGrpc.ServiceFutureStub} for running FF resolution.
+     */
+    public ServiceGrpc.ServiceFutureStub getAsyncResolver() {
+        return serviceFutureStub.withDeadlineAfter(this.deadline, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open the event stream, its end is handled by {@link #onEndOfStream()}.
      */
     private void observeEventStream() {
-        while (this.eventStreamAttempt <= this.maxEventStreamRetries) {
-            final StreamObserver<EventStreamResponse> responseObserver =
-                    new EventStreamObserver(sync, this.cache, this::grpcStateConsumer);
-            this.serviceStub.eventStream(EventStreamRequest.getDefaultInstance(), responseObserver);
-
-            try {
-                synchronized (sync) {
-                    sync.wait();
-                }
-            } catch (InterruptedException e) {
-                // Interruptions are considered end calls for this observer, hence log and return
-                // Note - this is the most common interruption when shutdown, hence the log level debug
-                log.debug("interruption while waiting for condition", e);
-                Thread.currentThread().interrupt();
-            }
+        if (this.shutdown) {
+            return;
+        }
 
-            this.eventStreamAttempt++;
-            // backoff with a jitter
-            this.eventStreamRetryBackoff = 2 * this.eventStreamRetryBackoff + random.nextInt(100);
+        final StreamObserver<EventStreamResponse> responseObserver =
+                new EventStreamObserver(this::onEndOfStream, this.cache, this::grpcStateConsumer);
+        this.serviceStub.eventStream(EventStreamRequest.getDefaultInstance(), responseObserver);
+    }
 
-            try {
-                Thread.sleep(this.eventStreamRetryBackoff);
-            } catch (InterruptedException e) {
-                // Interruptions are considered end calls for this observer, hence log and return
-                log.warn("interrupted while restarting gRPC Event Stream");
-                Thread.currentThread().interrupt();
-            }
+    private void onEndOfStream() {
+        if (this.shutdown) {
+            // Note - this is the most common end of stream when shutdown, hence the log level debug
+            log.debug("event stream ended on shutdown");
+            return;
+        }
+
+        this.eventStreamAttempt++;
+        if (this.eventStreamAttempt > this.maxEventStreamRetries) {
+            log.error("failed to connect to event stream, exhausted retries");
+            this.ready.completeExceptionally(
+                    new GeneralError("failed to connect to event stream, exhausted retries"));
+            this.grpcStateConsumer(ProviderState.ERROR);
+            return;
         }
 
-        log.error("failed to connect to event stream, exhausted retries");
-        this.grpcStateConsumer(ProviderState.ERROR);
+        this.metrics.recordReconnect("event");
+
+        // backoff with a jitter
+        this.eventStreamRetryBackoff = 2 * this.eventStreamRetryBackoff + random.nextInt(100);
+
+        try {
+            this.reconnection = this.scheduler.schedule(this::observeEventStream, this.eventStreamRetryBackoff,
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.warn("unable to schedule the restart of the gRPC Event Stream", e);
+        }
     }
 
     private void grpcStateConsumer(final ProviderState state) {
@@ -154,10 +195,7 @@ public class GrpcConnector {
         if (ProviderState.READY.equals(state)) {
             this.eventStreamAttempt = 1;
             this.eventStreamRetryBackoff = this.startEventStreamRetryBackoff;
-            this.connected.set(true);
-        } else if (ProviderState.ERROR.equals(state)) {
-            // reset connection status
-            this.connected.set(false);
+            this.ready.complete(null);
         }
 
         // chain to initiator
@@ -1,23 +1,21 @@
 package dev.openfeature.contrib.providers.flagd.resolver.grpc;
 
 import static dev.openfeature.contrib.providers.flagd.Config.CACHED_REASON;
-import static dev.openfeature.contrib.providers.flagd.Config.CONTEXT_FIELD;
-import static dev.openfeature.contrib.providers.flagd.Config.FLAG_KEY_FIELD;
-import static dev.openfeature.contrib.providers.flagd.Config.METADATA_FIELD;
-import static dev.openfeature.contrib.providers.flagd.Config.REASON_FIELD;
 import static dev.openfeature.contrib.providers.flagd.Config.STATIC_REASON;
-import static dev.openfeature.contrib.providers.flagd.Config.VALUE_FIELD;
-import static dev.openfeature.contrib.providers.flagd.Config.VARIANT_FIELD;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
-import com.google.protobuf.Descriptors;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.protobuf.ListValue;
 import com.google.protobuf.Message;
 import com.google.protobuf.NullValue;
@@ -25,20 +23,32 @@ import com.google.protobuf.Struct;
 
 import dev.openfeature.contrib.providers.flagd.FlagdOptions;
 import dev.openfeature.contrib.providers.flagd.resolver.Resolver;
+import dev.openfeature.contrib.providers.flagd.resolver.common.FlagdMetrics;
 import dev.openfeature.contrib.providers.flagd.resolver.grpc.cache.Cache;
 import dev.openfeature.contrib.providers.flagd.resolver.grpc.strategy.ResolveFactory;
 import dev.openfeature.contrib.providers.flagd.resolver.grpc.strategy.ResolveStrategy;
+import dev.openfeature.flagd.grpc.evaluation.Evaluation.AnyFlag;
+import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveAllRequest;
+import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveAllResponse;
 import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveBooleanRequest;
+import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveBooleanResponse;
 import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveFloatRequest;
+import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveFloatResponse;
 import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveIntRequest;
+import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveIntResponse;
 import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveObjectRequest;
+import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveObjectResponse;
 import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveStringRequest;
+import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveStringResponse;
 import dev.openfeature.sdk.EvaluationContext;
 import dev.openfeature.sdk.ImmutableMetadata;
 import dev.openfeature.sdk.MutableStructure;
 import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.ProviderState;
+import dev.openfeature.sdk.Reason;
+import dev.openfeature.sdk.Structure;
 import dev.openfeature.sdk.Value;
+import dev.openfeature.sdk.ErrorCode;
 import dev.openfeature.sdk.exceptions.FlagNotFoundError;
 import dev.openfeature.sdk.exceptions.GeneralError;
 import dev.openfeature.sdk.exceptions.OpenFeatureError;
@@ -54,11 +64,34 @@ import io.grpc.StatusRuntimeException;
 @SuppressWarnings("PMD.TooManyStaticImports")
 @SuppressFBWarnings(justification = "cache needs to be read and write by multiple objects")
 public final class GrpcResolver implements Resolver {
+    private static final String TARGETING_KEY = "targetingKey";
+
+    private static final Rpc<ResolveBooleanRequest, ResolveBooleanResponse> BOOLEAN_RPC = new Rpc<>(
+            (key, context) -> ResolveBooleanRequest.newBuilder().setFlagKey(key).setContext(context).build(),
+            ResolveBooleanResponse::getValue, ResolveBooleanResponse::getVariant,
+            ResolveBooleanResponse::getReason, ResolveBooleanResponse::getMetadata);
+    private static final Rpc<ResolveStringRequest, ResolveStringResponse> STRING_RPC = new Rpc<>(
+            (key, context) -> ResolveStringRequest.newBuilder().setFlagKey(key).setContext(context).build(),
+            ResolveStringResponse::getValue, ResolveStringResponse::getVariant,
+            ResolveStringResponse::getReason, ResolveStringResponse::getMetadata);
+    private static final Rpc<ResolveFloatRequest, ResolveFloatResponse> FLOAT_RPC = new Rpc<>(
+            (key, context) -> ResolveFloatRequest.newBuilder().setFlagKey(key).setContext(context).build(),
+            ResolveFloatResponse::getValue, ResolveFloatResponse::getVariant,
+            ResolveFloatResponse::getReason, ResolveFloatResponse::getMetadata);
+    private static final Rpc<ResolveIntRequest, ResolveIntResponse> INT_RPC = new Rpc<>(
+            (key, context) -> ResolveIntRequest.newBuilder().setFlagKey(key).setContext(context).build(),
+            ResolveIntResponse::getValue, ResolveIntResponse::getVariant,
+            ResolveIntResponse::getReason, ResolveIntResponse::getMetadata);
+    private static final Rpc<ResolveObjectRequest, ResolveObjectResponse> OBJECT_RPC = new Rpc<>(
+            (key, context) -> ResolveObjectRequest.newBuilder().setFlagKey(key).setContext(context).build(),
+            ResolveObjectResponse::getValue, ResolveObjectResponse::getVariant,
+            ResolveObjectResponse::getReason, ResolveObjectResponse::getMetadata);
 
     private final GrpcConnector connector;
     private final Cache cache;
     private final ResolveStrategy strategy;
     private final Supplier<ProviderState> stateSupplier;
+    private final FlagdMetrics metrics;
 
     /**
      * Initialize Grpc resolver.
@@ -74,6 +107,7 @@ public final class GrpcResolver implements Resolver {
         this.stateSupplier = stateSupplier;
 
         this.strategy = ResolveFactory.getStrategy(options);
+        this.metrics = FlagdMetrics.of(options.getOpenTelemetry());
         this.connector = new GrpcConnector(options, cache, stateConsumer);
     }
 
@@ -84,6 +118,13 @@ public final class GrpcResolver implements Resolver {
         this.connector.initialize();
     }
 
+    /**
+     * Initialize Grpc resolver without waiting for the connection.
+     */
+    public CompletableFuture<Void> initAsync() throws Exception {
+        return this.connector.initializeAsync();
+    }
+
     /**
      * Shutdown Grpc resolver.
      */
@@ -96,9 +137,7 @@ public final class GrpcResolver implements Resolver {
      */
     public ProviderEvaluation<Boolean> booleanEvaluation(String key, Boolean defaultValue,
             EvaluationContext ctx) {
-        ResolveBooleanRequest request = ResolveBooleanRequest.newBuilder().buildPartial();
-
-        return resolve(key, ctx, request, this.connector.getResolver()::resolveBoolean, null);
+        return resolve(key, ctx, BOOLEAN_RPC, this.connector.getResolver()::resolveBoolean, null);
     }
 
     /**
@@ -106,9 +145,7 @@ public final class GrpcResolver implements Resolver {
      */
     public ProviderEvaluation<String> stringEvaluation(String key, String defaultValue,
             EvaluationContext ctx) {
-        ResolveStringRequest request = ResolveStringRequest.newBuilder().buildPartial();
-
-        return resolve(key, ctx, request, this.connector.getResolver()::resolveString, null);
+        return resolve(key, ctx, STRING_RPC, this.connector.getResolver()::resolveString, null);
     }
 
     /**
@@ -116,9 +153,7 @@ public final class GrpcResolver implements Resolver {
      */
     public ProviderEvaluation<Double> doubleEvaluation(String key, Double defaultValue,
             EvaluationContext ctx) {
-        ResolveFloatRequest request = ResolveFloatRequest.newBuilder().buildPartial();
-
-        return resolve(key, ctx, request, this.connector.getResolver()::resolveFloat, null);
+        return resolve(key, ctx, FLOAT_RPC, this.connector.getResolver()::resolveFloat, null);
     }
 
     /**
@@ -126,10 +161,7 @@ public final class GrpcResolver implements Resolver {
      */
     public ProviderEvaluation<Integer> integerEvaluation(String key, Integer defaultValue,
             EvaluationContext ctx) {
-
-        ResolveIntRequest request = ResolveIntRequest.newBuilder().buildPartial();
-
-        return resolve(key, ctx, request, this.connector.getResolver()::resolveInt,
+        return resolve(key, ctx, INT_RPC, this.connector.getResolver()::resolveInt,
                 (Object value) -> ((Long) value).intValue());
     }
 
@@ -138,62 +170,228 @@ public final class GrpcResolver implements Resolver {
      */
     public ProviderEvaluation<Value> objectEvaluation(String key, Value defaultValue,
             EvaluationContext ctx) {
+        return resolve(key, ctx, OBJECT_RPC, this.connector.getResolver()::resolveObject,
+                (Object value) -> convertObjectResponse((Struct) value));
+    }
+
+    /**
+     * Non-blocking boolean evaluation from grpc resolver.
+     */
+    public CompletableFuture<ProviderEvaluation<Boolean>> booleanEvaluationAsync(String key, Boolean defaultValue,
+            EvaluationContext ctx) {
+        return resolveAsync(key, ctx, BOOLEAN_RPC, this.connector.getAsyncResolver()::resolveBoolean, null);
+    }
 
-        ResolveObjectRequest request = ResolveObjectRequest.newBuilder().buildPartial();
+    /**
+     * Non-blocking string evaluation from grpc resolver.
+     */
+    public CompletableFuture<ProviderEvaluation<String>> stringEvaluationAsync(String key, String defaultValue,
+            EvaluationContext ctx) {
+        return resolveAsync(key, ctx, STRING_RPC, this.connector.getAsyncResolver()::resolveString, null);
+    }
+
+    /**
+     * Non-blocking double evaluation from grpc resolver.
+     */
+    public CompletableFuture<ProviderEvaluation<Double>> doubleEvaluationAsync(String key, Double defaultValue,
+            EvaluationContext ctx) {
+        return resolveAsync(key, ctx, FLOAT_RPC, this.connector.getAsyncResolver()::resolveFloat, null);
+    }
+
+    /**
+     * Non-blocking integer evaluation from grpc resolver.
+     */
+    public CompletableFuture<ProviderEvaluation<Integer>> integerEvaluationAsync(String key, Integer defaultValue,
+            EvaluationContext ctx) {
+        return resolveAsync(key, ctx, INT_RPC, this.connector.getAsyncResolver()::resolveInt,
+                (Object value) -> ((Long) value).intValue());
+    }
 
-        return resolve(key, ctx, request, this.connector.getResolver()::resolveObject,
+    /**
+     * Non-blocking object evaluation from grpc resolver.
+     */
+    public CompletableFuture<ProviderEvaluation<Value>> objectEvaluationAsync(String key, Value defaultValue,
+            EvaluationContext ctx) {
+        return resolveAsync(key, ctx, OBJECT_RPC, this.connector.getAsyncResolver()::resolveObject,
                 (Object value) -> convertObjectResponse((Struct) value));
     }
 
+    /**
+     * Evaluate several flags with a single ResolveAll call. Flags missing from the response are reported as not found.
+     */
+    public Map<String, ProviderEvaluation<Value>> evaluateAll(Collection<String> keys, EvaluationContext ctx) {
+        final ResolveAllRequest request = ResolveAllRequest.newBuilder()
+                .setContext(convertContext(ctx))
+                .build();
+
+        final ResolveAllResponse response;
+        try {
+            response = strategy.resolve(this.connector.getResolver()::resolveAll, request, String.join(",", keys));
+        } catch (Exception e) {
+            throw mapError(e);
+        }
+
+        final Map<String, AnyFlag> flags = response.getFlagsMap();
+        final Map<String, ProviderEvaluation<Value>> evaluations = new HashMap<>();
+
+        for (String key : keys) {
+            final AnyFlag flag = flags.get(key);
+
+            if (flag == null) {
+                evaluations.put(key, ProviderEvaluation.<Value>builder()
+                        .reason(Reason.ERROR.toString())
+                        .errorCode(ErrorCode.FLAG_NOT_FOUND)
+                        .errorMessage("flag: " + key + " not found")
+                        .build());
+                continue;
+            }
+
+            evaluations.put(key, ProviderEvaluation.<Value>builder()
+                    .value(convertAnyFlagValue(flag))
+                    .variant(flag.getVariant())
+                    .reason(flag.getReason())
+                    .flagMetadata(convertMetadata(flag.getMetadata()))
+                    .build());
+        }
+
+        return evaluations;
+    }
+
     /**
      * A generic resolve method that takes a resolverRef and an optional converter
      * lambda to transform the result.
      */
     private <ValT, ReqT extends Message, ResT extends Message> ProviderEvaluation<ValT> resolve(
-            String key, EvaluationContext ctx, ReqT request, Function<ReqT, ResT> resolverRef,
+            String key, EvaluationContext ctx, Rpc<ReqT, ResT> rpc, Function<ReqT, ResT> resolverRef,
             Convert<ValT, Object> converter) {
 
         // return from cache if available and item is present
-        if (this.cacheAvailable()) {
-            ProviderEvaluation<? extends Object> fromCache = this.cache.get(key);
-            if (fromCache != null) {
-                fromCache.setReason(CACHED_REASON);
-                return (ProviderEvaluation<ValT>) fromCache;
-            }
+        final ProviderEvaluation<ValT> fromCache = this.fromCache(key);
+        if (fromCache != null) {
+            return fromCache;
         }
 
-        // build the gRPC request
-        Message req = request.newBuilderForType()
-                .setField(getFieldDescriptor(request, FLAG_KEY_FIELD), key)
-                .setField(getFieldDescriptor(request, CONTEXT_FIELD), convertContext(ctx))
-                .build();
+        // the context is only converted once static evaluations missed
+        final Struct context = convertContext(ctx);
+        final ProviderEvaluation<ValT> fromContextCache = this.fromContextCache(key, context);
+        if (fromContextCache != null) {
+            return fromContextCache;
+        }
 
-        final Message response;
+        // responses to requests issued before a change of the flag are not cached
+        final long generation = this.cache.generation(key);
+        final ResT response;
         try {
             // run the referenced resolver method
-            response = strategy.resolve(resolverRef, req, key);
+            response = strategy.resolve(resolverRef, rpc.request.apply(key, context), key);
         } catch (Exception e) {
             OpenFeatureError openFeatureError = mapError(e);
             throw openFeatureError;
         }
 
-        // parse the response
-        ValT value = converter == null ? getField(response, VALUE_FIELD)
-                : converter.convert(getField(response, VALUE_FIELD));
+        return toEvaluation(key, context, generation, rpc, response, converter);
+    }
 
-        // Extract metadata from response
-        ImmutableMetadata immutableMetadata = metadataFromResponse(response);
+    /**
+     * A generic non-blocking resolve method that takes a resolverRef and an optional converter
+     * lambda to transform the result. Failures complete the future with an {@link OpenFeatureError}.
+     */
+    private <ValT, ReqT extends Message, ResT extends Message> CompletableFuture<ProviderEvaluation<ValT>> resolveAsync(
+            String key, EvaluationContext ctx, Rpc<ReqT, ResT> rpc, Function<ReqT, ListenableFuture<ResT>> resolverRef,
+            Convert<ValT, Object> converter) {
+
+        // return from cache if available and item is present
+        final ProviderEvaluation<ValT> fromCache = this.fromCache(key);
+        if (fromCache != null) {
+            return CompletableFuture.completedFuture(fromCache);
+        }
+
+        // the context is only converted once static evaluations missed
+        final Struct context = convertContext(ctx);
+        final ProviderEvaluation<ValT> fromContextCache = this.fromContextCache(key, context);
+        if (fromContextCache != null) {
+            return CompletableFuture.completedFuture(fromContextCache);
+        }
+
+        // responses to requests issued before a change of the flag are not cached
+        final long generation = this.cache.generation(key);
+        final CompletableFuture<ResT> response;
+        try {
+            // run the referenced resolver method
+            response = strategy.resolveAsync(resolverRef, rpc.request.apply(key, context), key);
+        } catch (Exception e) {
+            final CompletableFuture<ProviderEvaluation<ValT>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(mapError(e));
+            return failed;
+        }
+
+        return response.handle((ResT message, Throwable throwable) -> {
+            if (throwable != null) {
+                throw mapError(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+            }
+            return toEvaluation(key, context, generation, rpc, message, converter);
+        });
+    }
+
+    private <ValT> ProviderEvaluation<ValT> fromCache(String key) {
+        if (!this.cacheAvailable()) {
+            return null;
+        }
+
+        final ProviderEvaluation<? extends Object> fromCache = this.cache.get(key);
+        // misses are recorded by the lookup of targeted evaluations, when enabled
+        if (fromCache != null || !this.cache.isContextEnabled()) {
+            this.metrics.recordCacheLookup("rpc", fromCache != null);
+        }
+        return cached(fromCache);
+    }
+
+    private <ValT> ProviderEvaluation<ValT> fromContextCache(String key, Struct context) {
+        if (!this.cache.isContextEnabled() || !this.cacheAvailable()) {
+            return null;
+        }
+
+        final ProviderEvaluation<? extends Object> fromCache = this.cache.get(key, context);
+        this.metrics.recordCacheLookup("rpc", fromCache != null);
+        return cached(fromCache);
+    }
+
+    /**
+     * Copy of the cached evaluation with the cached reason, the cached evaluation itself is shared and never modified.
+     */
+    private static <ValT> ProviderEvaluation<ValT> cached(ProviderEvaluation<? extends Object> fromCache) {
+        if (fromCache == null) {
+            return null;
+        }
+
+        return ProviderEvaluation.<ValT>builder()
+                .value((ValT) fromCache.getValue())
+                .variant(fromCache.getVariant())
+                .reason(CACHED_REASON)
+                .errorCode(fromCache.getErrorCode())
+                .errorMessage(fromCache.getErrorMessage())
+                .flagMetadata(fromCache.getFlagMetadata())
+                .build();
+    }
+
+    private <ValT, ResT extends Message> ProviderEvaluation<ValT> toEvaluation(String key, Struct context,
+            long generation, Rpc<?, ResT> rpc, ResT response, Convert<ValT, Object> converter) {
+        // parse the response
+        ValT value = converter == null ? (ValT) rpc.value.apply(response)
+                : converter.convert(rpc.value.apply(response));
 
         ProviderEvaluation<ValT> result = ProviderEvaluation.<ValT>builder()
                 .value(value)
-                .variant(getField(response, VARIANT_FIELD))
-                .reason(getField(response, REASON_FIELD))
-                .flagMetadata(immutableMetadata)
+                .variant(rpc.variant.apply(response))
+                .reason(rpc.reason.apply(response))
+                .flagMetadata(convertMetadata(rpc.metadata.apply(response)))
                 .build();
 
-        // cache if cache enabled
+        // cache if cache enabled, targeted evaluations are cached along with their context
         if (this.isEvaluationCacheable(result)) {
-            this.cache.put(key, result);
+            this.cache.put(key, generation, result);
+        } else if (this.cache.isContextEnabled() && this.cacheAvailable()) {
+            this.cache.put(key, context, generation, result);
         }
 
         return result;
@@ -217,15 +415,34 @@ public final class GrpcResolver implements Resolver {
     }
 
     /**
-     * Recursively convert the Evaluation context to a protobuf structure.
+     * Convert the value of a ResolveAll flag to openfeature value.
+     */
+    private static Value convertAnyFlagValue(AnyFlag flag) {
+        switch (flag.getValueCase()) {
+            case BOOL_VALUE:
+                return new Value(flag.getBoolValue());
+            case STRING_VALUE:
+                return new Value(flag.getStringValue());
+            case DOUBLE_VALUE:
+                return new Value(flag.getDoubleValue());
+            case OBJECT_VALUE:
+                return convertObjectResponse(flag.getObjectValue());
+            default:
+                return new Value();
+        }
+    }
+
+    /**
+     * Recursively convert the Evaluation context to a protobuf structure. Values are read by key and written directly
+     * into the protobuf builders, without copying the attributes of the context into intermediate maps and lists.
      */
     private static Struct convertContext(EvaluationContext ctx) {
-        Map<String, Value> ctxMap = ctx.asMap();
-        // asMap() does not provide explicitly set targeting key (ex:- new ImmutableContext("TargetingKey") ).
+        final Struct.Builder builder = writeStructure(Struct.newBuilder(), ctx);
+        // attributes do not provide explicitly set targeting key (ex:- new ImmutableContext("TargetingKey") ).
         // Hence, we add this explicitly here for targeting rule processing.
-        ctxMap.put("targetingKey", new Value(ctx.getTargetingKey()));
+        builder.putFields(TARGETING_KEY, convertPrimitive(new Value(ctx.getTargetingKey())));
 
-        return convertMap(ctxMap).getStructValue();
+        return builder.build();
     }
 
     /**
@@ -233,9 +450,13 @@ public final class GrpcResolver implements Resolver {
      */
     private static com.google.protobuf.Value convertAny(Value value) {
         if (value.isList()) {
-            return convertList(value.asList());
+            return com.google.protobuf.Value.newBuilder()
+                    .setListValue(writeList(ListValue.newBuilder(), value.asList()))
+                    .build();
         } else if (value.isStructure()) {
-            return convertMap(value.asStructure().asMap());
+            return com.google.protobuf.Value.newBuilder()
+                    .setStructValue(writeStructure(Struct.newBuilder(), value.asStructure()))
+                    .build();
         } else {
             return convertPrimitive(value);
         }
@@ -245,28 +466,24 @@ public final class GrpcResolver implements Resolver {
      * Convert any protobuf value to {@link Value}.
      */
     private static Value convertAny(com.google.protobuf.Value protobuf) {
-        if (protobuf.hasListValue()) {
-            return convertList(protobuf.getListValue());
-        } else if (protobuf.hasStructValue()) {
-            return convertProtobufMap(protobuf.getStructValue().getFieldsMap());
-        } else {
-            return convertPrimitive(protobuf);
+        switch (protobuf.getKindCase()) {
+            case LIST_VALUE:
+                return convertList(protobuf.getListValue());
+            case STRUCT_VALUE:
+                return convertProtobufMap(protobuf.getStructValue().getFieldsMap());
+            default:
+                return convertPrimitive(protobuf);
         }
     }
 
     /**
-     * Convert OpenFeature map to protobuf {@link com.google.protobuf.Value}.
+     * Write OpenFeature structure attributes to a protobuf {@link Struct} builder.
      */
-    private static com.google.protobuf.Value convertMap(Map<String, Value> map) {
-        Map<String, com.google.protobuf.Value> values = new HashMap<>();
-
-        map.keySet().forEach((String key) -> {
-            Value value = map.get(key);
-            values.put(key, convertAny(value));
-        });
-        Struct struct = Struct.newBuilder()
-                .putAllFields(values).build();
-        return com.google.protobuf.Value.newBuilder().setStructValue(struct).build();
+    private static Struct.Builder writeStructure(Struct.Builder builder, Structure structure) {
+        for (String key : structure.keySet()) {
+            builder.putFields(key, convertAny(structure.getValue(key)));
+        }
+        return builder;
     }
 
     /**
@@ -276,29 +493,31 @@ public final class GrpcResolver implements Resolver {
     private static Value convertProtobufMap(Map<String, com.google.protobuf.Value> map) {
         Map<String, Value> values = new HashMap<>();
 
-        map.keySet().forEach((String key) -> {
-            com.google.protobuf.Value value = map.get(key);
-            values.put(key, convertAny(value));
-        });
+        for (Map.Entry<String, com.google.protobuf.Value> entry : map.entrySet()) {
+            values.put(entry.getKey(), convertAny(entry.getValue()));
+        }
         return new Value(new MutableStructure(values));
     }
 
     /**
-     * Convert OpenFeature list to protobuf {@link com.google.protobuf.Value}.
+     * Write OpenFeature list elements to a protobuf {@link ListValue} builder.
      */
-    private static com.google.protobuf.Value convertList(List<Value> values) {
-        ListValue list = ListValue.newBuilder()
-                .addAllValues(values.stream()
-                        .map(v -> convertAny(v)).collect(Collectors.toList()))
-                .build();
-        return com.google.protobuf.Value.newBuilder().setListValue(list).build();
+    private static ListValue.Builder writeList(ListValue.Builder builder, List<Value> values) {
+        for (Value value : values) {
+            builder.addValues(convertAny(value));
+        }
+        return builder;
     }
 
     /**
      * Convert protobuf list to OpenFeature {@link com.google.protobuf.Value}.
      */
     private static Value convertList(ListValue protobuf) {
-        return new Value(protobuf.getValuesList().stream().map(p -> convertAny(p)).collect(Collectors.toList()));
+        final List<Value> values = new ArrayList<>(protobuf.getValuesCount());
+        for (com.google.protobuf.Value value : protobuf.getValuesList()) {
+            values.add(convertAny(value));
+        }
+        return new Value(values);
     }
 
     /**
@@ -325,53 +544,41 @@ public final class GrpcResolver implements Resolver {
      * {@link Value}.
      */
     private static Value convertPrimitive(com.google.protobuf.Value protobuf) {
-        final Value value;
-        if (protobuf.hasBoolValue()) {
-            value = new Value(protobuf.getBoolValue());
-        } else if (protobuf.hasStringValue()) {
-            value = new Value(protobuf.getStringValue());
-        } else if (protobuf.hasNumberValue()) {
-            value = new Value(protobuf.getNumberValue());
-        } else {
-            value = new Value();
+        switch (protobuf.getKindCase()) {
+            case BOOL_VALUE:
+                return new Value(protobuf.getBoolValue());
+            case STRING_VALUE:
+                return new Value(protobuf.getStringValue());
+            case NUMBER_VALUE:
+                return new Value(protobuf.getNumberValue());
+            default:
+                return new Value();
         }
-
-        return value;
-    }
-
-    private static <T> T getField(Message message, String name) {
-        return (T) message.getField(getFieldDescriptor(message, name));
-    }
-
-    private static Descriptors.FieldDescriptor getFieldDescriptor(Message message, String name) {
-        return message.getDescriptorForType().findFieldByName(name);
     }
 
-    private static ImmutableMetadata metadataFromResponse(Message response) {
-        final Object metadata = response.getField(getFieldDescriptor(response, METADATA_FIELD));
-
-        if (!(metadata instanceof Struct)) {
-            return ImmutableMetadata.builder().build();
-        }
-
-        final Struct struct = (Struct) metadata;
-
+    private static ImmutableMetadata convertMetadata(Struct metadata) {
         ImmutableMetadata.ImmutableMetadataBuilder builder = ImmutableMetadata.builder();
 
-        for (Map.Entry<String, com.google.protobuf.Value> entry : struct.getFieldsMap().entrySet()) {
-            if (entry.getValue().hasStringValue()) {
-                builder.addString(entry.getKey(), entry.getValue().getStringValue());
-            } else if (entry.getValue().hasBoolValue()) {
-                builder.addBoolean(entry.getKey(), entry.getValue().getBoolValue());
-            } else if (entry.getValue().hasNumberValue()) {
-                builder.addDouble(entry.getKey(), entry.getValue().getNumberValue());
+        for (Map.Entry<String, com.google.protobuf.Value> entry : metadata.getFieldsMap().entrySet()) {
+            switch (entry.getValue().getKindCase()) {
+                case STRING_VALUE:
+                    builder.addString(entry.getKey(), entry.getValue().getStringValue());
+                    break;
+                case BOOL_VALUE:
+                    builder.addBoolean(entry.getKey(), entry.getValue().getBoolValue());
+                    break;
+                case NUMBER_VALUE:
+                    builder.addDouble(entry.getKey(), entry.getValue().getNumberValue());
+                    break;
+                default:
+                    break;
             }
         }
 
         return builder.build();
     }
 
-    private OpenFeatureError mapError(Exception e) {
+    private OpenFeatureError mapError(Throwable e) {
         if (e instanceof StatusRuntimeException) {
             Code code = ((StatusRuntimeException)e).getStatus().getCode();
             switch (code) {
@@ -387,4 +594,24 @@ public final class GrpcResolver implements Resolver {
         }
         return new GeneralError(e.getMessage());
     }
+
+    /**
+     * Typed request builder and response accessors of an evaluation RPC, in place of reflective field lookups.
+     */
+    private static final class Rpc<ReqT extends Message, ResT extends Message> {
+        private final BiFunction<String, Struct, ReqT> request;
+        private final Function<ResT, Object> value;
+        private final Function<ResT, String> variant;
+        private final Function<ResT, String> reason;
+        private final Function<ResT, Struct> metadata;
+
+        Rpc(BiFunction<String, Struct, ReqT> request, Function<ResT, Object> value, Function<ResT, String> variant,
+                Function<ResT, String> reason, Function<ResT, Struct> metadata) {
+            this.request = request;
+            this.value = value;
+            this.variant = variant;
+            this.reason = reason;
+            this.metadata = metadata;
+        }
+    }
 }
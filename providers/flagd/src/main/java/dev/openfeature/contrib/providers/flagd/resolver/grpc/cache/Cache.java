@@ -1,26 +1,52 @@
 package dev.openfeature.contrib.providers.flagd.resolver.grpc.cache;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.protobuf.Struct;
 import dev.openfeature.sdk.ProviderEvaluation;
 import lombok.Getter;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.map.LRUMap;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static dev.openfeature.contrib.providers.flagd.resolver.grpc.cache.CacheType.CONCURRENT;
 import static dev.openfeature.contrib.providers.flagd.resolver.grpc.cache.CacheType.DISABLED;
 import static dev.openfeature.contrib.providers.flagd.resolver.grpc.cache.CacheType.LRU;
 
 /**
- * Exposes caching mechanism for flag evaluations.
+ * Exposes caching mechanism for flag evaluations. Static evaluations are cached by flag key. Optionally, targeted
+ * evaluations are cached by flag key and evaluation context, for a limited time. Evaluations are tagged with the
+ * generation of their flag when they were requested, which removing the flag bumps. Evaluations requested before a
+ * change are then never served after it, whatever the order in which they complete, and evaluations of a changed flag
+ * are discarded without scanning the evaluations of all flags.
  */
 @Slf4j
 public class Cache {
-    private Map<String, ProviderEvaluation<?>> store;
+    // segments of the concurrent cache, each one guarded by its own lock
+    private static final int CONCURRENCY_LEVEL = 16;
+
+    private Map<String, Entry> store;
+    private Map<ContextKey, Entry> contextStore;
+    private com.google.common.cache.Cache<String, Entry> concurrentStore;
+    private com.google.common.cache.Cache<ContextKey, Entry> concurrentContextStore;
+    private long contextTtlNanos;
+
+    // generations only increase, a flag takes a new generation on each removal and all flags on each clear
+    private final AtomicLong lastGeneration = new AtomicLong();
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+    private volatile long clearedGeneration;
 
     @Getter
     private final Boolean enabled;
 
+    @Getter
+    private boolean contextEnabled;
+
     /**
      * Initialize the cache.
      *
@@ -28,30 +54,179 @@ public class Cache {
      * @param maxCacheSize max amount of element to keep.
      */
     public Cache(final String forType, int maxCacheSize) {
+        this(forType, maxCacheSize, 0, 0);
+    }
+
+    /**
+     * Initialize the cache, along with the cache of targeted evaluations.
+     *
+     * @param forType             type of the cache.
+     * @param maxCacheSize        max amount of element to keep.
+     * @param contextTtlMs        time to live of targeted evaluations, 0 disables their caching.
+     * @param maxContextCacheSize max amount of targeted evaluations to keep.
+     */
+    public Cache(final String forType, int maxCacheSize, long contextTtlMs, int maxContextCacheSize) {
         if (DISABLED.getValue().equals(forType)) {
             enabled = false;
         } else if (LRU.getValue().equals(forType)) {
             enabled = true;
             this.store = Collections.synchronizedMap(new LRUMap<>(maxCacheSize));
+        } else if (CONCURRENT.getValue().equals(forType)) {
+            enabled = true;
+            this.concurrentStore = concurrentCache(maxCacheSize);
+            this.store = this.concurrentStore.asMap();
         } else {
             enabled = false;
             log.warn(String.format("Unsupported cache type %s, continuing without cache", forType));
         }
+
+        if (enabled && contextTtlMs > 0 && maxContextCacheSize > 0) {
+            this.contextEnabled = true;
+            this.contextTtlNanos = TimeUnit.MILLISECONDS.toNanos(contextTtlMs);
+            if (this.concurrentStore != null) {
+                this.concurrentContextStore = concurrentCache(maxContextCacheSize);
+                this.contextStore = this.concurrentContextStore.asMap();
+            } else {
+                this.contextStore = Collections.synchronizedMap(new LRUMap<>(maxContextCacheSize));
+            }
+        }
+    }
+
+    /**
+     * Segmented cache with approximate LRU eviction, lookups of different segments do not contend with each other.
+     */
+    private static <K, V> com.google.common.cache.Cache<K, V> concurrentCache(final int maxSize) {
+        return CacheBuilder.newBuilder()
+                .concurrencyLevel(CONCURRENCY_LEVEL)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Current generation of the flag, to be captured before requesting an evaluation which is then cached.
+     */
+    public long generation(String key) {
+        return Math.max(this.generations.getOrDefault(key, 0L), this.clearedGeneration);
     }
 
     public void put(String key, ProviderEvaluation<?> value) {
-        this.store.put(key, value);
+        put(key, generation(key), value);
+    }
+
+    /**
+     * Cache an evaluation requested at the given generation of the flag, unless the flag changed since.
+     */
+    public void put(String key, long generation, ProviderEvaluation<?> value) {
+        if (generation >= generation(key)) {
+            this.store.put(key, new Entry(value, generation, 0));
+        }
+    }
+
+    public void put(String key, Struct context, ProviderEvaluation<?> value) {
+        put(key, context, generation(key), value);
+    }
+
+    /**
+     * Cache a targeted evaluation for the context it was evaluated with, requested at the given generation of the
+     * flag, unless the flag changed since.
+     */
+    public void put(String key, Struct context, long generation, ProviderEvaluation<?> value) {
+        if (generation >= generation(key)) {
+            final long expiresAt = System.nanoTime() + contextTtlNanos;
+            this.contextStore.put(new ContextKey(key, context), new Entry(value, generation, expiresAt));
+        }
     }
 
+    /**
+     * Get the evaluation of the flag, if cached for its current generation.
+     */
     public ProviderEvaluation<?> get(String key) {
-        return this.store.get(key);
+        // map views of the concurrent cache do not record statistics
+        final Entry entry = this.concurrentStore != null ? this.concurrentStore.getIfPresent(key) : this.store.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.getGeneration() < generation(key)) {
+            // only the outdated entry, an entry put meanwhile by another thread is kept
+            this.store.remove(key, entry);
+            return null;
+        }
+
+        return entry.getEvaluation();
+    }
+
+    /**
+     * Get the evaluation of the flag for the provided context, if cached for its current generation and not expired.
+     */
+    public ProviderEvaluation<?> get(String key, Struct context) {
+        final ContextKey contextKey = new ContextKey(key, context);
+        final Entry entry = this.concurrentContextStore != null
+                ? this.concurrentContextStore.getIfPresent(contextKey)
+                : this.contextStore.get(contextKey);
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.getGeneration() < generation(key) || System.nanoTime() - entry.getExpiresAt() >= 0) {
+            this.contextStore.remove(contextKey, entry);
+            return null;
+        }
+
+        return entry.getEvaluation();
     }
 
+    /**
+     * Remove the flag from the cache. Its evaluations for all contexts are outdated, and discarded once looked up or
+     * evicted.
+     */
     public void remove(String key) {
+        this.generations.merge(key, this.lastGeneration.incrementAndGet(), Math::max);
         this.store.remove(key);
     }
 
+    /**
+     * Remove all cached evaluations.
+     */
     public void clear() {
+        // generations never decrease, the generation of the clear exceeds all the generations cleared
+        this.generations.clear();
+        this.clearedGeneration = this.lastGeneration.incrementAndGet();
         this.store.clear();
+
+        if (this.contextStore != null) {
+            this.contextStore.clear();
+        }
+    }
+
+    /**
+     * Statistics of the cache, including the cache of targeted evaluations.
+     */
+    public CacheStats getStats() {
+        if (this.concurrentStore == null) {
+            return CacheStats.EMPTY;
+        }
+
+        com.google.common.cache.CacheStats stats = this.concurrentStore.stats();
+        if (this.concurrentContextStore != null) {
+            stats = stats.plus(this.concurrentContextStore.stats());
+        }
+        return CacheStats.of(stats);
+    }
+
+    @Value
+    private static class ContextKey {
+        String flagKey;
+        // protobuf messages have content based equality and memoized hash codes
+        Struct context;
+    }
+
+    @Value
+    private static class Entry {
+        ProviderEvaluation<?> evaluation;
+        long generation;
+        // expiry of targeted evaluations, in nanoseconds
+        long expiresAt;
     }
 }
@@ -0,0 +1,20 @@
+package dev.openfeature.contrib.providers.flagd.resolver.grpc.cache;
+
+import lombok.Value;
+
+/**
+ * Statistics of a cache, since its creation. Only the concurrent cache records statistics, other cache types report
+ * zero counts.
+ */
+@Value
+public class CacheStats {
+    public static final CacheStats EMPTY = new CacheStats(0, 0, 0);
+
+    long hitCount;
+    long missCount;
+    long evictionCount;
+
+    static CacheStats of(final com.google.common.cache.CacheStats stats) {
+        return new CacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+}
@@ -8,7 +8,8 @@ import lombok.Getter;
 @Getter
 public enum CacheType {
     DISABLED("disabled"),
-    LRU("lru");
+    LRU("lru"),
+    CONCURRENT("concurrent");
 
     private final String value;
 
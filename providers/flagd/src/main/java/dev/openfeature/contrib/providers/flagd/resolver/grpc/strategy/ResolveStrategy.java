@@ -1,7 +1,9 @@
 package dev.openfeature.contrib.providers.flagd.resolver.grpc.strategy;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.protobuf.Message;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 /**
@@ -10,4 +12,7 @@ import java.util.function.Function;
 public interface ResolveStrategy {
     <ReqT extends Message, ResT extends Message> ResT resolve(final Function<ReqT, ResT> resolverRef, final Message req,
                                                               final String key);
+
+    <ReqT extends Message, ResT extends Message> CompletableFuture<ResT> resolveAsync(
+            final Function<ReqT, ListenableFuture<ResT>> resolverRef, final Message req, final String key);
 }
@@ -1,7 +1,10 @@
 package dev.openfeature.contrib.providers.flagd.resolver.grpc.strategy;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.protobuf.Message;
+import dev.openfeature.contrib.providers.flagd.resolver.common.Util;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 /**
@@ -14,4 +17,10 @@ public class SimpleResolving implements ResolveStrategy {
                                                                      final Message req, final String key) {
         return resolverRef.apply((ReqT) req);
     }
+
+    @Override
+    public <ReqT extends Message, ResT extends Message> CompletableFuture<ResT> resolveAsync(
+            final Function<ReqT, ListenableFuture<ResT>> resolverRef, final Message req, final String key) {
+        return Util.toCompletableFuture(resolverRef.apply((ReqT) req));
+    }
 }
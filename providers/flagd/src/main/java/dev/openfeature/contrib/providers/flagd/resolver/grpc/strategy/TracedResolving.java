@@ -1,6 +1,8 @@
 package dev.openfeature.contrib.providers.flagd.resolver.grpc.strategy;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.protobuf.Message;
+import dev.openfeature.contrib.providers.flagd.resolver.common.Util;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanKind;
@@ -8,6 +10,7 @@ import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Scope;
 
 import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 /**
@@ -25,9 +28,7 @@ public class TracedResolving implements ResolveStrategy {
     public <ReqT extends Message, ResT extends Message> ResT resolve(final Function<ReqT, ResT> resolverRef,
                                                                      final Message req, final String key) {
 
-        final Span span = tracer.spanBuilder("resolve").setSpanKind(SpanKind.CLIENT).startSpan();
-        span.setAttribute("feature_flag.key", key);
-        span.setAttribute("feature_flag.provider_name", "flagd");
+        final Span span = startSpan(key);
 
         try (Scope scope = span.makeCurrent()) {
             return resolverRef.apply((ReqT) req);
@@ -35,4 +36,30 @@ public class TracedResolving implements ResolveStrategy {
             span.end();
         }
     }
+
+    @Override
+    public <ReqT extends Message, ResT extends Message> CompletableFuture<ResT> resolveAsync(
+            final Function<ReqT, ListenableFuture<ResT>> resolverRef, final Message req, final String key) {
+
+        final Span span = startSpan(key);
+
+        final CompletableFuture<ResT> future;
+        try (Scope scope = span.makeCurrent()) {
+            future = Util.toCompletableFuture(resolverRef.apply((ReqT) req));
+        } catch (RuntimeException e) {
+            span.end();
+            throw e;
+        }
+
+        // the span covers the call till its completion
+        future.whenComplete((response, throwable) -> span.end());
+        return future;
+    }
+
+    private Span startSpan(final String key) {
+        final Span span = tracer.spanBuilder("resolve").setSpanKind(SpanKind.CLIENT).startSpan();
+        span.setAttribute("feature_flag.key", key);
+        span.setAttribute("feature_flag.provider_name", "flagd");
+        return span;
+    }
 }
@@ -2,15 +2,20 @@ package dev.openfeature.contrib.providers.flagd.resolver.process;
 
 import dev.openfeature.contrib.providers.flagd.FlagdOptions;
 import dev.openfeature.contrib.providers.flagd.resolver.Resolver;
+import dev.openfeature.contrib.providers.flagd.resolver.common.FlagdMetrics;
+import dev.openfeature.contrib.providers.flagd.resolver.common.QueueDispatcher;
 import dev.openfeature.contrib.providers.flagd.resolver.common.Util;
 import dev.openfeature.contrib.providers.flagd.resolver.process.model.FeatureFlag;
+import dev.openfeature.contrib.providers.flagd.resolver.process.model.Variant;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.FlagStore;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.Storage;
-import dev.openfeature.contrib.providers.flagd.resolver.process.storage.StorageState;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.StorageStateChange;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.Connector;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.file.FileConnector;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.grpc.GrpcStreamConnector;
+import dev.openfeature.contrib.providers.flagd.resolver.process.targeting.EvaluationContextMap;
 import dev.openfeature.contrib.providers.flagd.resolver.process.targeting.Operator;
+import dev.openfeature.contrib.providers.flagd.resolver.process.targeting.TargetingRule;
 import dev.openfeature.contrib.providers.flagd.resolver.process.targeting.TargetingRuleException;
 import dev.openfeature.sdk.EvaluationContext;
 import dev.openfeature.sdk.ImmutableMetadata;
@@ -19,12 +24,18 @@ import dev.openfeature.sdk.ProviderState;
 import dev.openfeature.sdk.Reason;
 import dev.openfeature.sdk.Value;
 import dev.openfeature.sdk.exceptions.FlagNotFoundError;
+import dev.openfeature.sdk.exceptions.OpenFeatureError;
 import dev.openfeature.sdk.exceptions.ParseError;
 import dev.openfeature.sdk.exceptions.TypeMismatchError;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Consumer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 
 import static dev.openfeature.contrib.providers.flagd.resolver.process.model.FeatureFlag.EMPTY_TARGETING_STRING;
 
@@ -36,20 +47,32 @@ import static dev.openfeature.contrib.providers.flagd.resolver.process.model.Fea
 @Slf4j
 public class InProcessResolver implements Resolver {
     private final Storage flagStore;
-    private final Consumer<ProviderState> stateConsumer;
+    private final BiConsumer<ProviderState, List<String>> stateConsumer;
     private final Operator operator;
     private final long deadline;
     private final ImmutableMetadata metadata;
-    private final AtomicBoolean connected = new AtomicBoolean(false);
+    private final Executor scheduler;
+    private final int evaluationMemoSize;
+    private final FlagdMetrics metrics;
+    private QueueDispatcher<StorageStateChange> stateDispatcher;
+    // completed on the first valid flag configuration
+    private volatile CompletableFuture<Void> ready = new CompletableFuture<>();
 
     /**
      * Initialize an in-process resolver.
+     *
+     * @param options       flagd options
+     * @param stateConsumer lambda to communicate back the state, along with the keys of changed flags
      */
-    public InProcessResolver(FlagdOptions options, Consumer<ProviderState> stateConsumer) {
-        this.flagStore = new FlagStore(getConnector(options));
+    public InProcessResolver(FlagdOptions options, BiConsumer<ProviderState, List<String>> stateConsumer) {
+        this.metrics = FlagdMetrics.of(options.getOpenTelemetry());
+        this.flagStore = new FlagStore(getConnector(options), false, options.getSnapshotPath(),
+                options.getBlockingScheduler(), metrics);
+        this.scheduler = options.getScheduler();
         this.deadline = options.getDeadline();
         this.stateConsumer = stateConsumer;
         this.operator = new Operator();
+        this.evaluationMemoSize = options.getEvaluationMemoSize();
         this.metadata = options.getSelector() == null ? null :
                 ImmutableMetadata.builder()
                         .addString("scope", options.getSelector())
@@ -57,39 +80,26 @@ public class InProcessResolver implements Resolver {
     }
 
     /**
-     * Initialize in-process resolver.
+     * Initialize in-process resolver, and block until flags are available.
      */
     public void init() throws Exception {
+        Util.await(this.deadline, initAsync());
+    }
+
+    /**
+     * Initialize in-process resolver without waiting for flags.
+     *
+     * @return future completed once flags are available
+     */
+    public CompletableFuture<Void> initAsync() throws Exception {
+        final CompletableFuture<Void> flagsAvailable = this.ready;
+
         flagStore.init();
-        final Thread stateWatcher = new Thread(() -> {
-            try {
-                while (true) {
-                    final StorageState storageState = flagStore.getStateQueue().take();
-                    switch (storageState) {
-                        case OK:
-                            stateConsumer.accept(ProviderState.READY);
-                            this.connected.set(true);
-                            break;
-                        case ERROR:
-                            stateConsumer.accept(ProviderState.ERROR);
-                            this.connected.set(false);
-                            break;
-                        case STALE:
-                            // todo set stale state
-                        default:
-                            log.info(String.format("Storage emitted unhandled status: %s", storageState));
-                    }
-                }
-            } catch (InterruptedException e) {
-                log.warn("Storage state watcher interrupted", e);
-                Thread.currentThread().interrupt();
-            }
-        });
-        stateWatcher.setDaemon(true);
-        stateWatcher.start();
+        stateDispatcher = QueueDispatcher.start(flagStore.getStateQueue(), scheduler,
+                change -> onStorageStateChange(change, flagsAvailable), "flagd-state-watcher");
 
-        // block till ready
-        Util.busyWaitAndCheck(this.deadline, this.connected);
+        // a dependent future, callers can not complete the readiness signal
+        return flagsAvailable.thenApply(ignored -> null);
     }
 
     /**
@@ -99,7 +109,12 @@ public class InProcessResolver implements Resolver {
      */
     public void shutdown() throws InterruptedException {
         flagStore.shutdown();
-        this.connected.set(false);
+
+        // state changes conveyed by the store shutdown, such as its final error, still reach the provider
+        if (stateDispatcher != null) {
+            stateDispatcher.drainAndStop();
+        }
+        this.ready = new CompletableFuture<>();
     }
 
     /**
@@ -138,26 +153,109 @@ public class InProcessResolver implements Resolver {
      * Resolve an object flag.
      */
     public ProviderEvaluation<Value> objectEvaluation(String key, Value defaultValue, EvaluationContext ctx) {
-        final ProviderEvaluation<Object> evaluation = resolve(Object.class, key, ctx);
+        return resolve(Value.class, key, ctx);
+    }
 
-        return ProviderEvaluation.<Value>builder()
-                .value(Value.objectToValue(evaluation.getValue()))
-                .variant(evaluation.getVariant())
-                .reason(evaluation.getReason())
-                .errorCode(evaluation.getErrorCode())
-                .errorMessage(evaluation.getErrorMessage())
-                .flagMetadata(evaluation.getFlagMetadata())
-                .build();
+    /**
+     * Resolve a boolean flag. Evaluations are local, hence the returned future is already completed.
+     */
+    public CompletableFuture<ProviderEvaluation<Boolean>> booleanEvaluationAsync(String key, Boolean defaultValue,
+            EvaluationContext ctx) {
+        return Util.completedFuture(() -> booleanEvaluation(key, defaultValue, ctx));
+    }
+
+    /**
+     * Resolve a string flag. Evaluations are local, hence the returned future is already completed.
+     */
+    public CompletableFuture<ProviderEvaluation<String>> stringEvaluationAsync(String key, String defaultValue,
+            EvaluationContext ctx) {
+        return Util.completedFuture(() -> stringEvaluation(key, defaultValue, ctx));
+    }
+
+    /**
+     * Resolve a double flag. Evaluations are local, hence the returned future is already completed.
+     */
+    public CompletableFuture<ProviderEvaluation<Double>> doubleEvaluationAsync(String key, Double defaultValue,
+            EvaluationContext ctx) {
+        return Util.completedFuture(() -> doubleEvaluation(key, defaultValue, ctx));
+    }
+
+    /**
+     * Resolve an integer flag. Evaluations are local, hence the returned future is already completed.
+     */
+    public CompletableFuture<ProviderEvaluation<Integer>> integerEvaluationAsync(String key, Integer defaultValue,
+            EvaluationContext ctx) {
+        return Util.completedFuture(() -> integerEvaluation(key, defaultValue, ctx));
+    }
+
+    /**
+     * Resolve an object flag. Evaluations are local, hence the returned future is already completed.
+     */
+    public CompletableFuture<ProviderEvaluation<Value>> objectEvaluationAsync(String key, Value defaultValue,
+            EvaluationContext ctx) {
+        return Util.completedFuture(() -> objectEvaluation(key, defaultValue, ctx));
+    }
+
+    /**
+     * Resolve several flags, sharing the targeting data of the context among their evaluations.
+     */
+    public Map<String, ProviderEvaluation<Value>> evaluateAll(Collection<String> keys, EvaluationContext ctx) {
+        final EvaluationContextMap targetingData = operator.targetingData(ctx);
+        final Map<String, ProviderEvaluation<Value>> evaluations = new HashMap<>();
+
+        for (String key : keys) {
+            ProviderEvaluation<Value> evaluation;
+            try {
+                evaluation = resolve(Value.class, key, targetingData);
+            } catch (OpenFeatureError e) {
+                evaluation = ProviderEvaluation.<Value>builder()
+                        .reason(Reason.ERROR.toString())
+                        .errorCode(e.getErrorCode())
+                        .errorMessage(e.getMessage())
+                        .build();
+            }
+            evaluations.put(key, evaluation);
+        }
+
+        return evaluations;
     }
 
     static Connector getConnector(final FlagdOptions options) {
+        if (options.getCustomConnector() != null) {
+            return options.getCustomConnector();
+        }
+
         return options.getOfflineFlagSourcePath() != null && !options.getOfflineFlagSourcePath().isEmpty()
-                ? new FileConnector(options.getOfflineFlagSourcePath())
+                ? new FileConnector(options.getOfflineFlagSourcePath(), options.isOfflineFlagSourceWatch(),
+                        options.getBlockingScheduler(), FlagdMetrics.of(options.getOpenTelemetry()))
                 : new GrpcStreamConnector(options);
     }
 
+    private void onStorageStateChange(final StorageStateChange storageStateChange,
+                                      final CompletableFuture<Void> flagsAvailable) {
+        switch (storageStateChange.getStorageState()) {
+            case OK:
+                stateConsumer.accept(ProviderState.READY, storageStateChange.getChangedFlagsKeys());
+                flagsAvailable.complete(null);
+                break;
+            case ERROR:
+                stateConsumer.accept(ProviderState.ERROR, storageStateChange.getChangedFlagsKeys());
+                break;
+            case STALE:
+                // todo set stale state
+            default:
+                log.info(String.format("Storage emitted unhandled status: %s",
+                        storageStateChange.getStorageState()));
+        }
+    }
+
     private <T> ProviderEvaluation<T> resolve(Class<T> type, String key,
             EvaluationContext ctx) {
+        return resolve(type, key, operator.targetingData(ctx));
+    }
+
+    private <T> ProviderEvaluation<T> resolve(Class<T> type, String key,
+            EvaluationContextMap targetingData) {
         final FeatureFlag flag = flagStore.getFlag(key);
 
         // missing flag
@@ -170,44 +268,86 @@ public class InProcessResolver implements Resolver {
             throw new FlagNotFoundError("flag: " + key + " is disabled");
         }
 
+        if (EMPTY_TARGETING_STRING.equals(flag.getTargeting())) {
+            // static flags resolve the same for any context, their evaluation is computed once
+            return flag.staticEvaluation(type,
+                    t -> evaluation(t, key, flag, flag.getDefaultVariant(), Reason.STATIC.toString()));
+        }
+
+        final TargetingRule targetingRule;
+        try {
+            // rules are compiled when flags are loaded, fallback to the raw rule to surface invalid rules
+            targetingRule = flag.getTargetingRule() != null
+                    ? flag.getTargetingRule()
+                    : TargetingRule.compile(flag.getTargeting());
+        } catch (TargetingRuleException e) {
+            throw parseError(key, e);
+        }
+
+        if (evaluationMemoSize > 0) {
+            // rules resolve the same for the same values of the attributes they read
+            final List<Object> attributes = operator.memoKey(targetingRule, targetingData);
+            if (attributes != null) {
+                final ProviderEvaluation<T> memoized = flag.getMemoizedEvaluation(type, attributes);
+                metrics.recordCacheLookup("memo", memoized != null);
+                if (memoized != null) {
+                    return memoized;
+                }
+
+                // failed evaluations throw, they are not memoized
+                final ProviderEvaluation<T> evaluation =
+                        targetedEvaluation(type, key, flag, targetingRule, targetingData);
+                flag.memoizeEvaluation(type, attributes, evaluationMemoSize, evaluation);
+                return evaluation;
+            }
+        }
+
+        return targetedEvaluation(type, key, flag, targetingRule, targetingData);
+    }
+
+    private <T> ProviderEvaluation<T> targetedEvaluation(final Class<T> type, final String key, final FeatureFlag flag,
+                                                         final TargetingRule targetingRule,
+                                                         final EvaluationContextMap targetingData) {
         final String resolvedVariant;
         final String reason;
 
-        if (EMPTY_TARGETING_STRING.equals(flag.getTargeting())) {
-            resolvedVariant = flag.getDefaultVariant();
-            reason = Reason.STATIC.toString();
-        } else {
-            try {
-                final Object jsonResolved = operator.apply(key, flag.getTargeting(), ctx);
-                if (jsonResolved == null) {
-                    resolvedVariant = flag.getDefaultVariant();
-                    reason = Reason.DEFAULT.toString();
-                } else {
-                    resolvedVariant = jsonResolved.toString(); // convert to string to support shorthand
-                    reason = Reason.TARGETING_MATCH.toString();
-                }
-            } catch (TargetingRuleException e) {
-                String message = String.format("error evaluating targeting rule for flag %s", key);
-                log.debug(message, e);
-                throw new ParseError(message);
+        try {
+            final long start = metrics.start();
+            final Object jsonResolved = operator.apply(key, targetingRule, targetingData);
+            metrics.recordRuleEvaluation(key, start);
+            if (jsonResolved == null) {
+                resolvedVariant = flag.getDefaultVariant();
+                reason = Reason.DEFAULT.toString();
+            } else {
+                resolvedVariant = jsonResolved.toString(); // convert to string to support shorthand
+                reason = Reason.TARGETING_MATCH.toString();
             }
+        } catch (TargetingRuleException e) {
+            throw parseError(key, e);
         }
 
+        return evaluation(type, key, flag, resolvedVariant, reason);
+    }
+
+    private static ParseError parseError(final String key, final TargetingRuleException e) {
+        String message = String.format("error evaluating targeting rule for flag %s", key);
+        log.debug(message, e);
+        return new ParseError(message);
+    }
+
+    private <T> ProviderEvaluation<T> evaluation(final Class<T> type, final String key, final FeatureFlag flag,
+                                                 final String resolvedVariant, final String reason) {
         // check variant existence
-        Object value = flag.getVariants().get(resolvedVariant);
-        if (value == null) {
+        final Variant variant = flag.getTypedVariants().get(resolvedVariant);
+        if (variant == null) {
             String message = String.format("variant %s not found in flag with key %s", resolvedVariant, key);
             log.debug(message);
             throw new TypeMismatchError(message);
         }
-        if (value instanceof Integer && type == Double.class) {
-            // if this is an integer and we are trying to resolve a double, convert
-            value = ((Integer) value).doubleValue();
-        } else if (value instanceof Double && type == Integer.class) {
-            // if this is a double and we are trying to resolve an integer, convert
-            value = ((Double) value).intValue();
-        }
-        if (!type.isAssignableFrom(value.getClass())) {
+
+        // variants are prepared for each type, including conversions between integers and doubles
+        final Object value = variant.as(type);
+        if (value == null) {
             String message = "returning default variant for flagKey: %s, type not valid";
             log.debug(String.format(message, key));
             throw new TypeMismatchError(message);
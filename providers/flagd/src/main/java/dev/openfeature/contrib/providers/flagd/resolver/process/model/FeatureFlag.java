@@ -1,17 +1,32 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.model;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import dev.openfeature.contrib.providers.flagd.resolver.process.targeting.TargetingRule;
+import dev.openfeature.contrib.providers.flagd.resolver.process.targeting.TargetingRuleException;
+import dev.openfeature.sdk.ErrorCode;
+import dev.openfeature.sdk.ImmutableMetadata;
+import dev.openfeature.sdk.ProviderEvaluation;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * flagd feature flag model.
  */
+@Slf4j
 @Getter
 @SuppressFBWarnings(value = {"EI_EXPOSE_REP"},
         justification = "Feature flag comes as a Json configuration, hence they must be parsed and exposed")
@@ -24,6 +39,34 @@ public class FeatureFlag {
     private final Map<String, Object> variants;
     private final String targeting;
 
+    /**
+     * Targeting rule compiled at flag construction. Null if the flag has no targeting or the rule is invalid.
+     */
+    @JsonIgnore
+    private final TargetingRule targetingRule;
+
+    /**
+     * Variants prepared for every type they can be resolved to.
+     */
+    @JsonIgnore
+    private final Map<String, Variant> typedVariants;
+
+    // evaluations of a static flag by resolved type, shared by all evaluations of the flag
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final Map<Class<?>, Resolution> staticEvaluations = new ConcurrentHashMap<>(2);
+
+    // evaluations of a targeted flag by resolved type and values of the attributes read by its rule, created on use
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private volatile Cache<MemoKey, Resolution> memoizedEvaluations;
+
+    /**
+     * Hash of the flag's Json content, used to detect changed flags between flag configuration updates.
+     */
+    @JsonIgnore
+    private String contentHash;
+
     /**
      * Construct a flagd feature flag.
      */
@@ -36,6 +79,8 @@ public class FeatureFlag {
         this.defaultVariant = defaultVariant;
         this.variants = variants;
         this.targeting = targeting;
+        this.targetingRule = compileTargeting(targeting);
+        this.typedVariants = Variant.of(variants);
     }
 
     /**
@@ -44,4 +89,104 @@ public class FeatureFlag {
     public String getTargeting() {
         return this.targeting == null ? EMPTY_TARGETING_STRING : this.targeting;
     }
+
+    /**
+     * Get the evaluation of this static flag as the given type, computed on first use. The computed evaluation is kept
+     * as an immutable resolution shared by all evaluations of the flag, each call returns its own evaluation.
+     */
+    public <T> ProviderEvaluation<T> staticEvaluation(final Class<T> type,
+                                                      final Function<Class<T>, ProviderEvaluation<T>> evaluator) {
+        return staticEvaluations.computeIfAbsent(type, t -> Resolution.of(evaluator.apply(type))).toEvaluation();
+    }
+
+    /**
+     * Get the memoized evaluation of this targeted flag as the given type, for the values of the attributes read by
+     * its rule. Memoized evaluations belong to this version of the flag, a changed flag starts without any.
+     * Each call returns its own evaluation, built from the immutable memoized resolution.
+     *
+     * @return the evaluation, or null if not memoized
+     */
+    public <T> ProviderEvaluation<T> getMemoizedEvaluation(final Class<T> type, final List<Object> attributes) {
+        final Cache<MemoKey, Resolution> memo = memoizedEvaluations;
+        final Resolution resolution = memo == null ? null : memo.getIfPresent(new MemoKey(type, attributes));
+        return resolution == null ? null : resolution.toEvaluation();
+    }
+
+    /**
+     * Memoize the evaluation of this targeted flag as the given type, for the values of the attributes read by its
+     * rule. The least recently used evaluations are evicted beyond the given size. Later changes of the given
+     * evaluation are not memoized.
+     */
+    public <T> void memoizeEvaluation(final Class<T> type, final List<Object> attributes, final int maxSize,
+                                      final ProviderEvaluation<T> evaluation) {
+        memo(maxSize).put(new MemoKey(type, attributes), Resolution.of(evaluation));
+    }
+
+    private Cache<MemoKey, Resolution> memo(final int maxSize) {
+        Cache<MemoKey, Resolution> memo = memoizedEvaluations;
+        if (memo == null) {
+            synchronized (this) {
+                memo = memoizedEvaluations;
+                if (memo == null) {
+                    memo = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+                    memoizedEvaluations = memo;
+                }
+            }
+        }
+        return memo;
+    }
+
+    void setContentHash(final String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    private static TargetingRule compileTargeting(final String targeting) {
+        if (targeting == null || EMPTY_TARGETING_STRING.equals(targeting)) {
+            return null;
+        }
+
+        try {
+            return TargetingRule.compile(targeting);
+        } catch (TargetingRuleException e) {
+            // invalid rules are reported when the flag gets evaluated
+            log.debug("Unable to compile targeting rule", e);
+            return null;
+        }
+    }
+
+    /**
+     * Immutable content of an evaluation, evaluations handed to callers are mutable and built from it on each call.
+     */
+    @Value
+    private static class Resolution {
+        Object value;
+        String variant;
+        String reason;
+        ErrorCode errorCode;
+        String errorMessage;
+        ImmutableMetadata flagMetadata;
+
+        static Resolution of(final ProviderEvaluation<?> evaluation) {
+            return new Resolution(evaluation.getValue(), evaluation.getVariant(), evaluation.getReason(),
+                    evaluation.getErrorCode(), evaluation.getErrorMessage(), evaluation.getFlagMetadata());
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> ProviderEvaluation<T> toEvaluation() {
+            return ProviderEvaluation.<T>builder()
+                    .value((T) value)
+                    .variant(variant)
+                    .reason(reason)
+                    .errorCode(errorCode)
+                    .errorMessage(errorMessage)
+                    .flagMetadata(flagMetadata)
+                    .build();
+        }
+    }
+
+    @Value
+    private static class MemoKey {
+        Class<?> type;
+        List<Object> attributes;
+    }
 }
@@ -2,19 +2,22 @@ package dev.openfeature.contrib.providers.flagd.resolver.process.model;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Pattern;
 
 import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SpecVersion;
 import com.networknt.schema.ValidationMessage;
+import org.apache.commons.codec.digest.MurmurHash3;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import lombok.extern.slf4j.Slf4j;
@@ -28,10 +31,9 @@ import lombok.extern.slf4j.Slf4j;
 public class FlagParser {
     private static final String FLAG_KEY = "flags";
     private static final String EVALUATOR_KEY = "$evaluators";
-    private static final String REPLACER_FORMAT = "\"\\$ref\":(\\s)*\"%s\"";
+    private static final String REF_KEY = "$ref";
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
-    private static final Map<String, Pattern> PATTERN_MAP = new HashMap<>();
 
     private static JsonSchema SCHEMA_VALIDATOR;
 
@@ -62,71 +64,128 @@ public class FlagParser {
      */
     public static Map<String, FeatureFlag> parseString(final String configuration, boolean throwIfInvalid)
             throws IOException {
+        return parseString(configuration, throwIfInvalid, Collections.emptyMap());
+    }
+
+    /**
+     * Parse {@link String} for feature flags. Flags of the {@code previous} configuration with unchanged content are
+     * reused as they are, hence only new or changed flags get deserialized.
+     * The configuration is read once into a tree which is used for schema validation, {@code $ref} resolution and
+     * flag deserialization.
+     */
+    public static Map<String, FeatureFlag> parseString(final String configuration, boolean throwIfInvalid,
+                                                       final Map<String, FeatureFlag> previous)
+            throws IOException {
+        final JsonNode configNode;
+        try (JsonParser parser = MAPPER.createParser(configuration)) {
+            configNode = parser.readValueAsTree();
+        }
+
+        if (configNode == null) {
+            throw new IllegalArgumentException("No flag configurations found in the payload");
+        }
+
         if (SCHEMA_VALIDATOR != null) {
-            try (JsonParser parser = MAPPER.createParser(configuration)) {
-                Set<ValidationMessage> validationMessages = SCHEMA_VALIDATOR.validate(parser.readValueAsTree());
-
-                if (!validationMessages.isEmpty()) {
-                    String message = String.format("Invalid flag configuration: %s", validationMessages.toArray());
-                    log.warn(message);
-                    if (throwIfInvalid) {
-                        throw new IllegalArgumentException(message);
-                    }
+            Set<ValidationMessage> validationMessages = SCHEMA_VALIDATOR.validate(configNode);
+
+            if (!validationMessages.isEmpty()) {
+                String message = String.format("Invalid flag configuration: %s", validationMessages.toArray());
+                log.warn(message);
+                if (throwIfInvalid) {
+                    throw new IllegalArgumentException(message);
                 }
             }
         }
 
-        final String transposedConfiguration = transposeEvaluators(configuration);
+        final JsonNode flagNode = configNode.get(FLAG_KEY);
 
-        final Map<String, FeatureFlag> flagMap = new HashMap<>();
+        if (flagNode == null) {
+            throw new IllegalArgumentException("No flag configurations found in the payload");
+        }
 
-        try (JsonParser parser = MAPPER.createParser(transposedConfiguration)) {
-            final TreeNode treeNode = parser.readValueAsTree();
-            final TreeNode flagNode = treeNode.get(FLAG_KEY);
+        final JsonNode evaluators = configNode.get(EVALUATOR_KEY);
+        final boolean hasEvaluators = evaluators != null && evaluators.size() > 0;
 
-            if (flagNode == null) {
-                throw new IllegalArgumentException("No flag configurations found in the payload");
+        final Map<String, FeatureFlag> flagMap = new HashMap<>();
+        final Iterator<Map.Entry<String, JsonNode>> it = flagNode.fields();
+        while (it.hasNext()) {
+            final Map.Entry<String, JsonNode> entry = it.next();
+            final String key = entry.getKey();
+            final JsonNode node = entry.getValue();
+
+            if (hasEvaluators) {
+                transposeEvaluators(node, evaluators, new HashSet<>());
             }
 
-            final Iterator<String> it = flagNode.fieldNames();
-            while (it.hasNext()) {
-                final String key = it.next();
-                flagMap.put(key, MAPPER.treeToValue(flagNode.get(key), FeatureFlag.class));
+            final String contentHash = contentHash(node);
+
+            final FeatureFlag previousFlag = previous.get(key);
+            if (previousFlag != null && contentHash.equals(previousFlag.getContentHash())) {
+                flagMap.put(key, previousFlag);
+                continue;
             }
+
+            final FeatureFlag flag = MAPPER.treeToValue(node, FeatureFlag.class);
+            flag.setContentHash(contentHash);
+            flagMap.put(key, flag);
         }
 
         return flagMap;
     }
 
-    private static String transposeEvaluators(final String configuration) throws IOException {
-        try (JsonParser parser = MAPPER.createParser(configuration)) {
-            final TreeNode treeNode = parser.readValueAsTree();
-            final TreeNode evaluators = treeNode.get(EVALUATOR_KEY);
+    /**
+     * Hash of the flag content, once its {@code $ref} entries are resolved. Evaluators referenced by a flag are part of
+     * its content, hence the flag is serialized again to be hashed, rather than hashing its bytes of the payload. This
+     * costs a serialization of every flag of each payload, which remains cheaper than deserializing and compiling the
+     * flags again.
+     */
+    private static String contentHash(final JsonNode node) throws IOException {
+        final byte[] content = MAPPER.writeValueAsBytes(node);
+        final long[] hash = MurmurHash3.hash128x64(content);
+        // fixed width, distinct hashes never share their hexadecimal form
+        return String.format("%016x%016x", hash[0], hash[1]);
+    }
 
-            if (evaluators == null || evaluators.size() == 0) {
-                return configuration;
+    /**
+     * Resolve {@code $ref} entries in place. The referencing object gets the fields of the referenced evaluator, which
+     * may in turn reference other evaluators. Unknown references are left untouched.
+     */
+    private static void transposeEvaluators(final JsonNode node, final JsonNode evaluators,
+                                            final Set<String> resolving) {
+        if (node.isArray()) {
+            for (JsonNode element : node) {
+                transposeEvaluators(element, evaluators, resolving);
             }
+            return;
+        }
 
-            String replacedConfigurations = configuration;
-            final Iterator<String> evalFields = evaluators.fieldNames();
-
-            while (evalFields.hasNext()) {
-                final String evalName = evalFields.next();
-                // first replace outmost brackets
-                final String evaluator = evaluators.get(evalName).toString();
-                final String replacer = evaluator.substring(1, evaluator.length() - 1);
-
-                final String replacePattern = String.format(REPLACER_FORMAT, evalName);
+        if (!node.isObject()) {
+            return;
+        }
 
-                // then derive pattern
-                final Pattern reg_replace =
-                        PATTERN_MAP.computeIfAbsent(replacePattern, s -> Pattern.compile(replacePattern));
+        final ObjectNode objectNode = (ObjectNode) node;
+        final JsonNode ref = objectNode.get(REF_KEY);
+        final JsonNode evaluator = ref != null && ref.isTextual() ? evaluators.get(ref.asText()) : null;
 
-                // finally replace all references
-                replacedConfigurations = reg_replace.matcher(replacedConfigurations).replaceAll(replacer);
+        if (evaluator == null || !evaluator.isObject()) {
+            for (JsonNode child : objectNode) {
+                transposeEvaluators(child, evaluators, resolving);
             }
+            return;
+        }
 
-            return replacedConfigurations;
+        final String evaluatorName = ref.asText();
+        if (!resolving.add(evaluatorName)) {
+            throw new IllegalArgumentException(
+                    String.format("Cyclic reference to evaluator %s in the flag configuration", evaluatorName));
         }
+
+        objectNode.remove(REF_KEY);
+        objectNode.setAll((ObjectNode) evaluator.deepCopy());
+        for (JsonNode child : objectNode) {
+            transposeEvaluators(child, evaluators, resolving);
+        }
+
+        resolving.remove(evaluatorName);
     }
 }
@@ -0,0 +1,84 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.model;
+
+import dev.openfeature.sdk.ImmutableStructure;
+import dev.openfeature.sdk.Value;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Variant value of a flag, prepared for every type it can be resolved to. Numbers are converted, and the
+ * {@link Value} of the variant is built once as an immutable tree, hence it is shared by all evaluations.
+ */
+@SuppressFBWarnings(value = {"EI_EXPOSE_REP"}, justification = "Variant values are immutable")
+public final class Variant {
+    private final Object value;
+    private final Integer integerValue;
+    private final Double doubleValue;
+    private final Value objectValue;
+
+    private Variant(final Object value) {
+        this.value = value;
+        this.integerValue = value instanceof Integer || value instanceof Double ? ((Number) value).intValue() : null;
+        this.doubleValue = value instanceof Integer || value instanceof Double ? ((Number) value).doubleValue() : null;
+        this.objectValue = toValue(value);
+    }
+
+    static Map<String, Variant> of(final Map<String, Object> variants) {
+        if (variants == null) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, Variant> typed = new HashMap<>();
+        for (Map.Entry<String, Object> variant : variants.entrySet()) {
+            if (variant.getValue() != null) {
+                typed.put(variant.getKey(), new Variant(variant.getValue()));
+            }
+        }
+        return Collections.unmodifiableMap(typed);
+    }
+
+    /**
+     * Get the variant value as the given type. Integers and doubles convert to each other, and any variant resolves
+     * to a {@link Value}.
+     *
+     * @return the value, or null if the variant is not of the given type
+     */
+    public Object as(final Class<?> type) {
+        if (type == Integer.class) {
+            return integerValue;
+        }
+        if (type == Double.class) {
+            return doubleValue;
+        }
+        if (type == Value.class) {
+            return objectValue;
+        }
+        return type.isInstance(value) ? value : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Value toValue(final Object object) {
+        if (object instanceof Map) {
+            final Map<String, Value> values = new HashMap<>();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) object).entrySet()) {
+                values.put(entry.getKey(), toValue(entry.getValue()));
+            }
+            return new Value(new ImmutableStructure(values));
+        }
+
+        if (object instanceof List) {
+            final List<Value> values = new ArrayList<>();
+            for (Object element : (List<Object>) object) {
+                values.add(toValue(element));
+            }
+            return new Value(Collections.unmodifiableList(values));
+        }
+
+        return Value.objectToValue(object);
+    }
+}
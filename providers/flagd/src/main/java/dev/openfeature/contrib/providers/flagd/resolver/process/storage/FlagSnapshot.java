@@ -0,0 +1,174 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.storage;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk snapshot of the last valid flag configurations, by source. Snapshots are compressed, synced to disk,
+ * and replaced atomically so that a crash never leaves a partially written snapshot behind. Snapshots record the
+ * identities of their sources, and only apply to the same sources.
+ */
+@Slf4j
+@SuppressFBWarnings(value = {"PATH_TRAVERSAL_IN"}, justification = "Snapshot path is provided by the configuration.")
+final class FlagSnapshot {
+    static final int MAGIC = 0x666c6764;
+    static final int VERSION = 2;
+    // bound of the entries read, a corrupt length must not lead to a huge allocation
+    private static final int MAX_ENTRY_BYTES = 64 * 1024 * 1024;
+    private static final int MAX_SOURCES = 1024;
+
+    private FlagSnapshot() {
+    }
+
+    /**
+     * Write the flag configurations to a temporary file, which then replaces the snapshot.
+     *
+     * @param path           path of the snapshot
+     * @param sources        identities of the sources of the configurations
+     * @param configurations configurations by source position
+     */
+    static void write(final String path, final List<String> sources, final Map<Integer, String> configurations)
+            throws IOException {
+        final Path absolute = Paths.get(path).toAbsolutePath();
+        final Path directory = absolute.getParent();
+        final Path fileName = absolute.getFileName();
+        if (directory == null || fileName == null) {
+            throw new IOException(String.format("Snapshot path %s is not a file", path));
+        }
+
+        Files.createDirectories(directory);
+        final Path temporary = Files.createTempFile(directory, fileName.toString(), ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE);
+                 GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(channel));
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(sources.size());
+                for (String source : sources) {
+                    writeBytes(out, source.getBytes(StandardCharsets.UTF_8));
+                }
+
+                out.writeInt(configurations.size());
+                for (Map.Entry<Integer, String> configuration : configurations.entrySet()) {
+                    out.writeInt(configuration.getKey());
+                    writeBytes(out, configuration.getValue().getBytes(StandardCharsets.UTF_8));
+                }
+
+                // the content is durable before it replaces the snapshot
+                out.flush();
+                gzip.finish();
+                channel.force(true);
+            }
+
+            try {
+                Files.move(temporary, absolute, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+            forceDirectory(directory);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Make the replacement of the snapshot durable. Directories can not be opened on some platforms, such as Windows,
+     * where the replacement is then left to the file system.
+     */
+    private static void forceDirectory(final Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug(String.format("Unable to force the snapshot directory %s", directory), e);
+        }
+    }
+
+    static boolean exists(final String path) {
+        return Files.exists(Paths.get(path));
+    }
+
+    /**
+     * Read the flag configurations of the snapshot.
+     *
+     * @param path    path of the snapshot
+     * @param sources identities of the current sources
+     * @throws IOException if the snapshot is missing, is not a valid snapshot, or is a snapshot of other sources
+     */
+    static Map<Integer, String> read(final String path, final List<String> sources) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(Paths.get(path)))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(String.format("%s is not a flag snapshot of version %d", path, VERSION));
+            }
+
+            final int sourceCount = readCount(in, MAX_SOURCES);
+            final List<String> snapshotSources = new ArrayList<>(sourceCount);
+            for (int i = 0; i < sourceCount; i++) {
+                snapshotSources.add(new String(readBytes(in), StandardCharsets.UTF_8));
+            }
+            if (!snapshotSources.equals(sources)) {
+                throw new IOException(String.format("%s is a flag snapshot of other sources %s", path,
+                        snapshotSources));
+            }
+
+            final int count = readCount(in, sourceCount);
+            final Map<Integer, String> configurations = new TreeMap<>();
+            for (int i = 0; i < count; i++) {
+                final int source = in.readInt();
+                configurations.put(source, new String(readBytes(in), StandardCharsets.UTF_8));
+            }
+            return configurations;
+        }
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] data) throws IOException {
+        if (data.length > MAX_ENTRY_BYTES) {
+            throw new IOException(String.format("Snapshot entry of %d bytes exceeds %d bytes", data.length,
+                    MAX_ENTRY_BYTES));
+        }
+        out.writeInt(data.length);
+        out.write(data);
+    }
+
+    private static int readCount(final DataInputStream in, final int max) throws IOException {
+        final int count = in.readInt();
+        if (count < 0 || count > max) {
+            throw new IOException(String.format("Invalid snapshot entry count %d", count));
+        }
+        return count;
+    }
+
+    private static byte[] readBytes(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0 || length > MAX_ENTRY_BYTES) {
+            throw new IOException(String.format("Invalid snapshot entry length %d", length));
+        }
+
+        final byte[] data = new byte[length];
+        in.readFully(data);
+        return data;
+    }
+}
@@ -1,5 +1,9 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.storage;
 
+import dev.openfeature.contrib.providers.flagd.resolver.common.CoalescingQueue;
+import dev.openfeature.contrib.providers.flagd.resolver.common.FlagdMetrics;
+import dev.openfeature.contrib.providers.flagd.resolver.common.QueueDispatcher;
+import dev.openfeature.contrib.providers.flagd.resolver.common.SharedScheduler;
 import dev.openfeature.contrib.providers.flagd.resolver.process.model.FeatureFlag;
 import dev.openfeature.contrib.providers.flagd.resolver.process.model.FlagParser;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.Connector;
@@ -7,57 +11,116 @@ import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connecto
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Feature flag storage.
+ * Feature flag storage. Flags are kept as an immutable snapshot, rebuilt by the payload handler and swapped in at once,
+ * hence readers never block and always observe a complete flag configuration.
  */
 @Slf4j
 @SuppressFBWarnings(value = {"EI_EXPOSE_REP"},
         justification = "Feature flag comes as a Json configuration, hence they must be exposed")
 public class FlagStore implements Storage {
-    private final ReentrantReadWriteLock sync = new ReentrantReadWriteLock();
-    private final ReadLock readLock = sync.readLock();
-    private final WriteLock writeLock = sync.writeLock();
+    // one slot per storage state, evicted changes are then always coalesced into a later change to the same state
+    private static final int STATE_QUEUE_SIZE = StorageState.values().length;
 
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
-    private final BlockingQueue<StorageState> stateBlockingQueue = new LinkedBlockingQueue<>(1);
-    private final Map<String, FeatureFlag> flags = new HashMap<>();
+    // latest-wins, the consumer observes the newest state along with all changed flags
+    private final CoalescingQueue<StorageStateChange> stateBlockingQueue =
+            new CoalescingQueue<>(STATE_QUEUE_SIZE, StorageStateChange::merge);
+    private final AtomicReference<Map<String, FeatureFlag>> flags = new AtomicReference<>(Collections.emptyMap());
+    // flags by source, in order of precedence, a payload only rebuilds the flags of its source
+    // only accessed by the payload handler
+    private final Map<Integer, Map<String, FeatureFlag>> sourceFlags = new TreeMap<>();
+
+    // valid configurations by source, kept for the snapshot
+    private final Map<Integer, String> sourceConfigurations = new TreeMap<>();
+    // configurations waiting for the snapshot writer, latest-wins
+    private final AtomicReference<Map<Integer, String>> pendingSnapshot = new AtomicReference<>();
+    // whether a snapshot write task is scheduled, writes of the store never run concurrently
+    private final AtomicBoolean snapshotWriteScheduled = new AtomicBoolean(false);
+    // whether configurations changed since the last snapshot, only accessed by the payload handler
+    private boolean snapshotOutdated;
+    private List<String> sources = Collections.emptyList();
 
     private final Connector connector;
     private final boolean throwIfInvalid;
+    private final String snapshotPath;
+    private final Executor scheduler;
+    private final FlagdMetrics metrics;
+    private QueueDispatcher<StreamPayload> dispatcher;
 
     public FlagStore(final Connector connector) {
         this(connector, false);
     }
 
     public FlagStore(final Connector connector, final boolean throwIfInvalid) {
+        this(connector, throwIfInvalid, null);
+    }
+
+    /**
+     * Construct a flag store persisting its configurations.
+     *
+     * @param connector      connector providing the flag configurations
+     * @param throwIfInvalid fail parsing of configurations not matching the flag schema
+     * @param snapshotPath   snapshot of the last valid configurations, null disables the snapshot
+     */
+    public FlagStore(final Connector connector, final boolean throwIfInvalid, final String snapshotPath) {
+        this(connector, throwIfInvalid, snapshotPath, SharedScheduler.blocking());
+    }
+
+    /**
+     * Construct a flag store persisting its configurations, and handling payloads with the given scheduler.
+     *
+     * @param connector      connector providing the flag configurations
+     * @param throwIfInvalid fail parsing of configurations not matching the flag schema
+     * @param snapshotPath   snapshot of the last valid configurations, null disables the snapshot
+     * @param scheduler      executor running the payload handler and the snapshot writes
+     */
+    public FlagStore(final Connector connector, final boolean throwIfInvalid, final String snapshotPath,
+                     final Executor scheduler) {
+        this(connector, throwIfInvalid, snapshotPath, scheduler, FlagdMetrics.NOOP);
+    }
+
+    /**
+     * Construct a flag store persisting its configurations, handling payloads with the given scheduler, and recording
+     * the handling of payloads.
+     *
+     * @param connector      connector providing the flag configurations
+     * @param throwIfInvalid fail parsing of configurations not matching the flag schema
+     * @param snapshotPath   snapshot of the last valid configurations, null disables the snapshot
+     * @param scheduler      executor running the payload handler and the snapshot writes
+     * @param metrics        metrics of payload sizes, parsing and publication durations, and dropped state changes
+     */
+    public FlagStore(final Connector connector, final boolean throwIfInvalid, final String snapshotPath,
+                     final Executor scheduler, final FlagdMetrics metrics) {
         this.connector = connector;
         this.throwIfInvalid = throwIfInvalid;
+        this.snapshotPath = snapshotPath;
+        this.scheduler = scheduler;
+        this.metrics = metrics;
+        this.stateBlockingQueue.setDropListener(() -> metrics.recordQueueDrop("flagd-store-state"));
     }
 
     /**
      * Initialize storage layer.
      */
     public void init() throws Exception {
+        sources = connector.getSources();
+        loadSnapshot();
         connector.init();
-        Thread streamer = new Thread(() -> {
-            try {
-                streamerListener(connector);
-            } catch (InterruptedException e) {
-                log.warn("connection listener failed", e);
-                Thread.currentThread().interrupt();
-            }
-        });
-        streamer.setDaemon(true);
-        streamer.start();
+        dispatcher = QueueDispatcher.start(connector.getStream(), scheduler, this::handle, "flagd-store");
     }
 
     /**
@@ -71,65 +134,196 @@ public class FlagStore implements Storage {
         }
 
         connector.shutdown();
+
+        // payloads conveyed by the connector shutdown, such as its final error, are still handled
+        if (dispatcher != null) {
+            dispatcher.drainAndStop();
+        }
+        log.info("Shutting down store payload handler");
     }
 
     /**
      * Retrieve flag for the given key.
      */
     public FeatureFlag getFlag(final String key) {
-        readLock.lock();
-        try {
-            return flags.get(key);
-        } finally {
-            readLock.unlock();
-        }
+        return flags.get().get(key);
     }
 
     /**
      * Retrieve blocking queue to check storage status.
      */
-    public BlockingQueue<StorageState> getStateQueue() {
+    public BlockingQueue<StorageStateChange> getStateQueue() {
         return stateBlockingQueue;
     }
 
-    private void streamerListener(final Connector connector) throws InterruptedException {
-        final BlockingQueue<StreamPayload> streamPayloads = connector.getStream();
-
-        while (!shutdown.get()) {
-            final StreamPayload take = streamPayloads.take();
-            switch (take.getType()) {
-                case DATA:
-                    try {
-                        Map<String, FeatureFlag> flagMap = FlagParser.parseString(take.getData(), throwIfInvalid);
-                        writeLock.lock();
-                        try {
-                            flags.clear();
-                            flags.putAll(flagMap);
-                        } finally {
-                            writeLock.unlock();
-                        }
-                        if (!stateBlockingQueue.offer(StorageState.OK)) {
-                            log.warn("Failed to convey OK satus, queue is full");
-                        }
-                    } catch (Throwable e) {
-                        // catch all exceptions and avoid stream listener interruptions
-                        log.warn("Invalid flag sync payload from connector", e);
-                        if (!stateBlockingQueue.offer(StorageState.STALE)) {
-                            log.warn("Failed to convey STALE satus, queue is full");
-                        }
-                    }
-                    break;
-                case ERROR:
-                    if (!stateBlockingQueue.offer(StorageState.ERROR)) {
-                        log.warn("Failed to convey ERROR satus, queue is full");
+    /**
+     * Handle a payload of the connector. Payloads are handled one at a time by tasks of the scheduler, as they are
+     * signalled by the connector. Handling a payload parses whole configurations, hence the scheduler should be
+     * dedicated to blocking work.
+     */
+    private void handle(final StreamPayload payload) {
+        switch (payload.getType()) {
+            case DATA:
+                try {
+                    update(payload.getSource(), payload.getData());
+                    saveSnapshot();
+                } catch (Throwable e) {
+                    // catch all exceptions and keep handling the following payloads
+                    log.warn("Invalid flag sync payload from connector", e);
+                    if (!stateBlockingQueue.offer(new StorageStateChange(StorageState.STALE))) {
+                        log.warn("Failed to convey STALE satus, queue is full");
                     }
-                    break;
-                default:
-                    log.info(String.format("Payload with unknown type: %s", take.getType()));
+                }
+                break;
+            case ERROR:
+                if (!stateBlockingQueue.offer(new StorageStateChange(StorageState.ERROR))) {
+                    log.warn("Failed to convey ERROR satus, queue is full");
+                }
+                break;
+            default:
+                log.info(String.format("Payload with unknown type: %s", payload.getType()));
+        }
+    }
+
+    private void update(final int source, final String configuration) throws IOException {
+        final long parseStart = metrics.start();
+        parse(source, configuration);
+        metrics.recordSyncPayload(configuration.length(), parseStart);
+
+        final long publishStart = metrics.start();
+        publish();
+        metrics.recordStoreSwap(publishStart);
+    }
+
+    private void parse(final int source, final String configuration) throws IOException {
+        final Map<String, FeatureFlag> sourceMap = FlagParser.parseString(configuration, throwIfInvalid,
+                sourceFlags.getOrDefault(source, Collections.emptyMap()));
+        sourceFlags.put(source, sourceMap);
+        if (snapshotPath != null) {
+            snapshotOutdated |= !configuration.equals(sourceConfigurations.put(source, configuration));
+        }
+    }
+
+    /**
+     * Publish the flags of all sources with a single reference swap. Parsing carries over the flags with unchanged
+     * content, the keys of the other flags are conveyed with the {@link StorageState#OK} state change.
+     */
+    private void publish() {
+        final Map<String, FeatureFlag> current = flags.get();
+        final Map<String, FeatureFlag> flagMap = merge(sourceFlags);
+        flags.set(Collections.unmodifiableMap(flagMap));
+
+        final List<String> changedFlagsKeys = changedFlagsKeys(current, flagMap);
+        if (!stateBlockingQueue.offer(new StorageStateChange(StorageState.OK, changedFlagsKeys))) {
+            log.warn("Failed to convey OK satus, queue is full");
+        }
+    }
+
+    /**
+     * Load the last valid configurations persisted in the snapshot, if any. The store is then ready without waiting for
+     * its connector, and reconciles with the connector payloads as they come.
+     */
+    private void loadSnapshot() {
+        if (snapshotPath == null || !FlagSnapshot.exists(snapshotPath)) {
+            return;
+        }
+
+        try {
+            for (Map.Entry<Integer, String> configuration : FlagSnapshot.read(snapshotPath, sources).entrySet()) {
+                parse(configuration.getKey(), configuration.getValue());
             }
+            snapshotOutdated = false;
+            publish();
+            log.info(String.format("Loaded flag configurations from snapshot %s", snapshotPath));
+        } catch (IOException | RuntimeException e) {
+            // continue with the connector only
+            log.warn(String.format("Unable to load flag snapshot %s", snapshotPath), e);
+            sourceFlags.clear();
+            sourceConfigurations.clear();
         }
+    }
 
-        log.info("Shutting down store stream listener");
+    /**
+     * Persist the configurations, only once they changed. Snapshots are written off the payload handling.
+     */
+    private void saveSnapshot() {
+        if (snapshotPath == null || !snapshotOutdated) {
+            return;
+        }
+        snapshotOutdated = false;
+
+        // replaces the previous configurations when they were not taken by the writer yet
+        pendingSnapshot.set(new TreeMap<>(sourceConfigurations));
+        scheduleSnapshotWrite();
     }
 
+    private void scheduleSnapshotWrite() {
+        if (!snapshotWriteScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            scheduler.execute(this::writeSnapshot);
+        } catch (RejectedExecutionException e) {
+            log.warn("Unable to schedule the flag snapshot write", e);
+            pendingSnapshot.set(null);
+            snapshotWriteScheduled.set(false);
+        }
+    }
+
+    private void writeSnapshot() {
+        Map<Integer, String> configurations;
+        while ((configurations = pendingSnapshot.getAndSet(null)) != null) {
+            try {
+                FlagSnapshot.write(snapshotPath, sources, configurations);
+            } catch (IOException e) {
+                log.warn(String.format("Unable to write flag snapshot %s", snapshotPath), e);
+            }
+        }
+        snapshotWriteScheduled.set(false);
+
+        // configurations pending since the last write, before the task was unscheduled
+        if (pendingSnapshot.get() != null) {
+            scheduleSnapshotWrite();
+        }
+    }
+
+    /**
+     * Merge the flags of connectors with several sources. Flags of sources later in the order of precedence override
+     * flags with the same key of earlier sources.
+     */
+    private static Map<String, FeatureFlag> merge(final Map<Integer, Map<String, FeatureFlag>> sourceFlags) {
+        if (sourceFlags.size() == 1) {
+            return sourceFlags.values().iterator().next();
+        }
+
+        final Map<String, FeatureFlag> merged = new HashMap<>();
+        for (Map<String, FeatureFlag> flagsOfSource : sourceFlags.values()) {
+            merged.putAll(flagsOfSource);
+        }
+        return merged;
+    }
+
+    /**
+     * Derive keys of added, changed and removed flags. Parsing reuses the flag instances with unchanged content,
+     * hence any flag which is not the same instance as before is considered as changed.
+     */
+    private static List<String> changedFlagsKeys(final Map<String, FeatureFlag> previous,
+                                                 final Map<String, FeatureFlag> next) {
+        final List<String> changed = new ArrayList<>();
+
+        for (Map.Entry<String, FeatureFlag> entry : next.entrySet()) {
+            if (previous.get(entry.getKey()) != entry.getValue()) {
+                changed.add(entry.getKey());
+            }
+        }
+
+        for (String key : previous.keySet()) {
+            if (!next.containsKey(key)) {
+                changed.add(key);
+            }
+        }
+
+        return changed;
+    }
 }
@@ -0,0 +1,49 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.storage;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Represents a change in the storage, with the keys of the flags changed by it.
+ */
+@Getter
+public class StorageStateChange {
+    private final StorageState storageState;
+    private final List<String> changedFlagsKeys;
+
+    /**
+     * Construct a storage state change with the keys of changed flags.
+     */
+    public StorageStateChange(final StorageState storageState, final List<String> changedFlagsKeys) {
+        this.storageState = storageState;
+        this.changedFlagsKeys = Collections.unmodifiableList(changedFlagsKeys);
+    }
+
+    /**
+     * Construct a storage state change which did not change any flag.
+     */
+    public StorageStateChange(final StorageState storageState) {
+        this(storageState, Collections.emptyList());
+    }
+
+    /**
+     * Coalesce changes of a mailbox. Changes to the same state are merged, along with the keys of the flags they
+     * changed.
+     *
+     * @return the merged change, or null if the changes are not to the same state
+     */
+    public static StorageStateChange merge(final StorageStateChange queued, final StorageStateChange offered) {
+        if (queued.storageState != offered.storageState) {
+            return null;
+        }
+
+        final Set<String> keys = new LinkedHashSet<>(queued.changedFlagsKeys);
+        keys.addAll(offered.changedFlagsKeys);
+        return new StorageStateChange(offered.storageState, new ArrayList<>(keys));
+    }
+}
@@ -1,5 +1,7 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 
 /**
@@ -12,4 +14,13 @@ public interface Connector {
     BlockingQueue<StreamPayload> getStream();
 
     void shutdown() throws InterruptedException;
+
+    /**
+     * Identities of the sources of the connector, in the order of the sources of its payloads, such as the path of a
+     * file or the target and selector of a sync stream. Snapshots of flag configurations only apply to the same
+     * sources. Defaults to the connector type.
+     */
+    default List<String> getSources() {
+        return Collections.singletonList(getClass().getName());
+    }
 }
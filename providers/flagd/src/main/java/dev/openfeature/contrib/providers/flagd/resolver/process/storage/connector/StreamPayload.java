@@ -4,11 +4,27 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 /**
- * Payload emitted by a {@link Connector}.
+ * Payload emitted by a {@link Connector}. Connectors merging several sources identify the source of the payload, by
+ * its position in the order of precedence.
  */
 @AllArgsConstructor
 @Getter
 public class StreamPayload {
     private final StreamPayloadType type;
     private final String data;
+    private final int source;
+
+    public StreamPayload(final StreamPayloadType type, final String data) {
+        this(type, data, 0);
+    }
+
+    /**
+     * Coalesce payloads of a mailbox. The offered payload supersedes the queued payload of the same type and source,
+     * such as an older flag configuration.
+     *
+     * @return the offered payload, or null if the payloads are not of the same type and source
+     */
+    public static StreamPayload latest(final StreamPayload queued, final StreamPayload offered) {
+        return queued.type == offered.type && queued.source == offered.source ? offered : null;
+    }
 }
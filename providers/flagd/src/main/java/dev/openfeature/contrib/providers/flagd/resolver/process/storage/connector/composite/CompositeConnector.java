@@ -0,0 +1,151 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.composite;
+
+import dev.openfeature.contrib.providers.flagd.resolver.common.FlagdMetrics;
+import dev.openfeature.contrib.providers.flagd.resolver.common.QueueDispatcher;
+import dev.openfeature.contrib.providers.flagd.resolver.common.SharedScheduler;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.Connector;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayload;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayloadType;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * Connector merging the flag configurations of several sources, such as files and gRPC selectors. Sources are given
+ * in order of precedence: flags of a source override flags with the same key of the sources before it.
+ * Payloads are tagged with their source, hence the storage only rebuilds the flags of the source which changed.
+ * Flag configurations are exposed once every source delivered its initial configuration.
+ * Payloads of the sources are forwarded by tasks of the scheduler, as they are signalled by the sources.
+ */
+@Slf4j
+@SuppressFBWarnings(value = {"EI_EXPOSE_REP"}, justification = "Queue is exposed to fulfil the connector contract.")
+public final class CompositeConnector implements Connector {
+    private final List<Connector> connectors;
+    private final Executor scheduler;
+    // latest-wins by source, forwarding never blocks the scheduler
+    private final SourceQueue queue;
+    private final List<QueueDispatcher<StreamPayload>> forwarders = new ArrayList<>();
+    private final Object lock = new Object();
+
+    // initial payloads, held until all sources delivered one
+    private StreamPayload[] initialPayloads;
+    private int pendingSources;
+
+    /**
+     * Construct a connector merging the provided sources.
+     *
+     * @param connectors connectors of the sources, in increasing order of precedence
+     */
+    public CompositeConnector(final List<Connector> connectors) {
+        this(connectors, SharedScheduler.get());
+    }
+
+    /**
+     * Construct a connector merging the provided sources, forwarding their payloads with the given scheduler.
+     *
+     * @param connectors connectors of the sources, in increasing order of precedence
+     * @param scheduler  executor forwarding the payloads of the sources
+     */
+    public CompositeConnector(final List<Connector> connectors, final Executor scheduler) {
+        this(connectors, scheduler, FlagdMetrics.NOOP);
+    }
+
+    /**
+     * Construct a connector merging the provided sources, forwarding their payloads with the given scheduler, and
+     * recording the payloads dropped by its queue.
+     *
+     * @param connectors connectors of the sources, in increasing order of precedence
+     * @param scheduler  executor forwarding the payloads of the sources
+     * @param metrics    metrics of dropped payloads
+     */
+    public CompositeConnector(final List<Connector> connectors, final Executor scheduler,
+                              final FlagdMetrics metrics) {
+        if (connectors.isEmpty()) {
+            throw new IllegalArgumentException("At least one connector is required");
+        }
+
+        this.connectors = new ArrayList<>(connectors);
+        this.scheduler = scheduler;
+        this.queue = new SourceQueue(connectors.size());
+        this.queue.setDropListener(() -> metrics.recordQueueDrop("flagd-composite"));
+        this.initialPayloads = new StreamPayload[connectors.size()];
+        this.pendingSources = connectors.size();
+    }
+
+    /**
+     * Initialize all sources, and forward their payloads.
+     */
+    public void init() throws Exception {
+        for (int i = 0; i < connectors.size(); i++) {
+            final Connector connector = connectors.get(i);
+            connector.init();
+
+            final int source = i;
+            forwarders.add(QueueDispatcher.start(connector.getStream(), scheduler,
+                    payload -> forward(source, payload), "flagd-composite-" + source));
+        }
+    }
+
+    /**
+     * Expose the merged queue to fulfil the {@code Connector} contract.
+     */
+    public BlockingQueue<StreamPayload> getStream() {
+        return queue;
+    }
+
+    /**
+     * Identify the sources of all connectors, in order of precedence.
+     */
+    @Override
+    public List<String> getSources() {
+        final List<String> sources = new ArrayList<>();
+        for (Connector connector : connectors) {
+            sources.addAll(connector.getSources());
+        }
+        return sources;
+    }
+
+    /**
+     * Shutdown all sources, and forward their last payloads.
+     */
+    public void shutdown() throws InterruptedException {
+        for (Connector connector : connectors) {
+            connector.shutdown();
+        }
+
+        for (QueueDispatcher<StreamPayload> forwarder : forwarders) {
+            forwarder.drainAndStop();
+        }
+    }
+
+    private void forward(final int source, final StreamPayload payload) {
+        final StreamPayload sourced = new StreamPayload(payload.getType(), payload.getData(), source);
+
+        // forwarding under the lock keeps held and later payloads in order
+        synchronized (lock) {
+            if (initialPayloads == null || payload.getType() != StreamPayloadType.DATA) {
+                queue.add(sourced);
+                return;
+            }
+
+            if (initialPayloads[source] == null) {
+                pendingSources--;
+            }
+            initialPayloads[source] = sourced;
+
+            if (pendingSources == 0) {
+                for (StreamPayload initial : initialPayloads) {
+                    queue.add(initial);
+                }
+                initialPayloads = null;
+            } else {
+                log.debug(String.format("Holding initial flag configuration of source %d, %d sources pending",
+                        source, pendingSources));
+            }
+        }
+    }
+}
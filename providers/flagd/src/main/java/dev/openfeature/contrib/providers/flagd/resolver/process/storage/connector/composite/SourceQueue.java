@@ -0,0 +1,69 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.composite;
+
+import dev.openfeature.contrib.providers.flagd.resolver.common.SignallingQueue;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayload;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayloadType;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latest-wins mailbox by source. An offered payload replaces the queued payload of the same source and type, and is
+ * queued after the payloads offered before it. The queue then holds at most one payload per source and type, and is
+ * bounded by the amount of sources without ever dropping the latest payload of a source. Payloads of unexpected types
+ * could still fill the queue, the oldest payload then gives way.
+ */
+final class SourceQueue extends SignallingQueue<StreamPayload> {
+    private static final long serialVersionUID = 1L;
+
+    private transient volatile Runnable dropListener;
+
+    SourceQueue(final int sources) {
+        super(sources * StreamPayloadType.values().length);
+    }
+
+    /**
+     * Set the listener signalled when a payload gives way in a full queue, null removes the listener.
+     */
+    void setDropListener(final Runnable dropListener) {
+        this.dropListener = dropListener;
+    }
+
+    @Override
+    public boolean offerLast(final StreamPayload payload) {
+        // offers are serialized, the queue locks only guard its own operations
+        synchronized (this) {
+            final Iterator<StreamPayload> queued = iterator();
+            while (queued.hasNext()) {
+                if (StreamPayload.latest(queued.next(), payload) != null) {
+                    queued.remove();
+                    break;
+                }
+            }
+
+            if (!super.offerLast(payload)) {
+                pollFirst();
+                dropped();
+                super.offerLast(payload);
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public boolean offerLast(final StreamPayload payload, final long timeout, final TimeUnit unit) {
+        return offerLast(payload);
+    }
+
+    @Override
+    public void putLast(final StreamPayload payload) {
+        offerLast(payload);
+    }
+
+    private void dropped() {
+        final Runnable current = this.dropListener;
+        if (current != null) {
+            current.run();
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.file;
 
+import dev.openfeature.contrib.providers.flagd.resolver.common.CoalescingQueue;
+import dev.openfeature.contrib.providers.flagd.resolver.common.FlagdMetrics;
+import dev.openfeature.contrib.providers.flagd.resolver.common.SharedScheduler;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.Connector;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayload;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayloadType;
@@ -9,15 +12,27 @@ import lombok.extern.slf4j.Slf4j;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
 
 /**
- * File connector reads flag configurations from a given file, polls for changes and expose the content through
- * {@code Connector} contract.
- * The implementation is kept minimal and suites testing, local development needs.
+ * File connector reads flag configurations from a given file, polls or watches for changes and expose the content
+ * through {@code Connector} contract.
+ * Content is only offered when its checksum changed, and is only decoded then.
+ * Checks read the file, hence run as tasks of a scheduler of blocking work, periodically when polling. Watched files
+ * are only read once their file system events are quiet for a debounce period, events of all connectors are received
+ * by a single shared {@link FileWatcher}.
  */
 @SuppressFBWarnings(value = {"EI_EXPOSE_REP", "PATH_TRAVERSAL_IN"},
         justification = "File connector read feature flag from a file source.")
@@ -25,61 +40,71 @@ import java.util.concurrent.LinkedBlockingQueue;
 public class FileConnector implements Connector {
 
     private static final int POLL_INTERVAL_MS = 5000;
+    // quiet period after a file system event, writes of a file emit bursts of events
+    private static final int DEBOUNCE_MS = 50;
+    private static final long NO_CHECKSUM = -1;
     private static final String OFFER_WARN = "Unable to offer file content to queue: queue is full";
 
     private final String flagSourcePath;
-    private final BlockingQueue<StreamPayload> queue = new LinkedBlockingQueue<>(1);
-    private boolean shutdown = false;
+    private final boolean watch;
+    private final ScheduledExecutorService scheduler;
+    // latest-wins, a pending file content is replaced by a newer one
+    private final CoalescingQueue<StreamPayload> queue = new CoalescingQueue<>(2, StreamPayload::latest);
+    private volatile boolean shutdown = false;
+    private volatile FileWatcher.Registration registration;
+    private volatile ScheduledFuture<?> checkTask;
+
+    // only accessed by the checks, which are serialized
+    private Path filePath;
+    private long lastTS;
+
+    // only accessed by the file watcher thread, once set by the initial check
+    private volatile Path fileName;
+    private volatile boolean linked;
+    private long checksum = NO_CHECKSUM;
 
     public FileConnector(final String flagSourcePath) {
+        this(flagSourcePath, false);
+    }
+
+    public FileConnector(final String flagSourcePath, final boolean watch) {
+        this(flagSourcePath, watch, SharedScheduler.blocking());
+    }
+
+    /**
+     * Construct a file connector.
+     *
+     * @param flagSourcePath path of the flag configuration file
+     * @param watch          watch the file through file system events, instead of polling it
+     * @param scheduler      scheduler running the checks of the file
+     */
+    public FileConnector(final String flagSourcePath, final boolean watch, final ScheduledExecutorService scheduler) {
+        this(flagSourcePath, watch, scheduler, FlagdMetrics.NOOP);
+    }
+
+    /**
+     * Construct a file connector recording the payloads dropped by its queue.
+     *
+     * @param flagSourcePath path of the flag configuration file
+     * @param watch          watch the file through file system events, instead of polling it
+     * @param scheduler      scheduler running the checks of the file
+     * @param metrics        metrics of dropped payloads
+     */
+    public FileConnector(final String flagSourcePath, final boolean watch, final ScheduledExecutorService scheduler,
+                         final FlagdMetrics metrics) {
         this.flagSourcePath = flagSourcePath;
+        this.watch = watch;
+        this.scheduler = scheduler;
+        this.queue.setDropListener(() -> metrics.recordQueueDrop("flagd-file"));
     }
 
     /**
-     * Initialize file connector. Reads file content, poll for changes and offer content through the queue.
+     * Initialize file connector. Reads file content, poll or watch for changes and offer content through the queue.
      */
     public void init() throws IOException {
-        Thread watcherT = new Thread(() -> {
-            try {
-                final Path filePath = Paths.get(flagSourcePath);
-
-                // initial read
-                String flagData = new String(Files.readAllBytes(filePath), StandardCharsets.UTF_8);
-                if (!queue.offer(new StreamPayload(StreamPayloadType.DATA, flagData))) {
-                    log.warn(OFFER_WARN);
-                }
-
-                long lastTS = Files.getLastModifiedTime(filePath).toMillis();
-
-                // start polling for changes
-                while (!shutdown) {
-                    long currentTS = Files.getLastModifiedTime(filePath).toMillis();
-
-                    if (currentTS > lastTS) {
-                        lastTS = currentTS;
-                        flagData = new String(Files.readAllBytes(filePath), StandardCharsets.UTF_8);
-                        if (!queue.offer(new StreamPayload(StreamPayloadType.DATA, flagData))) {
-                            log.warn(OFFER_WARN);
-                        }
-                    }
-
-                    Thread.sleep(POLL_INTERVAL_MS);
-                }
-
-                log.info("Shutting down file connector.");
-            } catch (InterruptedException ex) {
-                log.error("Interrupted while waiting for polling", ex);
-                Thread.currentThread().interrupt();
-            } catch (Throwable t) {
-                log.error("Error from file connector. File connector will exit", t);
-                if (!queue.offer(new StreamPayload(StreamPayloadType.ERROR, t.toString()))) {
-                    log.warn(OFFER_WARN);
-                }
-            }
-        });
-
-        watcherT.setDaemon(true);
-        watcherT.start();
+        checkTask = watch
+                ? scheduler.schedule(this::check, 0, TimeUnit.MILLISECONDS)
+                : scheduler.scheduleWithFixedDelay(this::check, 0, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
         log.info(String.format("Using feature flag configurations from file %s", flagSourcePath));
     }
 
@@ -90,10 +115,155 @@ public class FileConnector implements Connector {
         return queue;
     }
 
+    /**
+     * Identify the source by the path of the file.
+     */
+    @Override
+    public List<String> getSources() {
+        return Collections.singletonList("file:" + flagSourcePath);
+    }
+
     /**
      * Shutdown file connector.
      */
     public void shutdown() throws InterruptedException {
         shutdown = true;
+
+        final ScheduledFuture<?> task = this.checkTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+        stopWatching();
+    }
+
+    private synchronized void check() {
+        if (shutdown) {
+            return;
+        }
+
+        try {
+            if (filePath == null) {
+                start();
+            } else if (watch) {
+                readChange();
+            } else {
+                checkModification();
+            }
+        } catch (Throwable t) {
+            if (shutdown) {
+                // file read interrupted by the shutdown
+                return;
+            }
+
+            log.error("Error from file connector. File connector will exit", t);
+            shutdown = true;
+            final ScheduledFuture<?> task = this.checkTask;
+            if (task != null) {
+                task.cancel(false);
+            }
+            stopWatching();
+            if (!queue.offer(new StreamPayload(StreamPayloadType.ERROR, t.toString()))) {
+                log.warn(OFFER_WARN);
+            }
+        }
+    }
+
+    private void start() throws IOException {
+        final Path path = Paths.get(flagSourcePath);
+
+        // initial read
+        offerIfChanged(path);
+
+        if (watch) {
+            startWatching(path);
+        } else {
+            lastTS = Files.getLastModifiedTime(path).toMillis();
+        }
+        filePath = path;
+    }
+
+    private void checkModification() throws IOException {
+        final long currentTS = Files.getLastModifiedTime(filePath).toMillis();
+
+        if (currentTS > lastTS) {
+            lastTS = currentTS;
+            offerIfChanged(filePath);
+        }
+    }
+
+    private void startWatching(final Path path) throws IOException {
+        final Path directory = path.toAbsolutePath().getParent();
+        fileName = path.getFileName();
+        if (directory == null || fileName == null) {
+            throw new IOException(String.format("Flag source %s is not a file", path));
+        }
+
+        // a linked file, such as a mounted config map, changes through its target
+        linked = Files.isSymbolicLink(path);
+
+        registration = FileWatcher.get().register(directory, this::onEvents);
+        if (shutdown) {
+            stopWatching();
+            return;
+        }
+
+        // the file may have changed before being watched, it is read once quiet, as on events, since a write may be
+        // in progress
+        checkTask = scheduler.schedule(this::check, DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // called from the file watcher thread, a read is scheduled once the events are quiet for the debounce period
+    private void onEvents(final List<WatchEvent<?>> events) {
+        boolean changed = false;
+        for (WatchEvent<?> event : events) {
+            changed |= linked || event.kind() == OVERFLOW || fileName.equals(event.context());
+        }
+
+        if (!changed || shutdown) {
+            return;
+        }
+
+        final ScheduledFuture<?> pending = this.checkTask;
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        checkTask = scheduler.schedule(this::check, DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void readChange() throws IOException {
+        try {
+            offerIfChanged(filePath);
+        } catch (NoSuchFileException e) {
+            // replaced by a rename, its creation is yet to come
+            log.debug("Flag source file is missing, waiting for its creation");
+        }
+    }
+
+    private void stopWatching() {
+        final FileWatcher.Registration watched = this.registration;
+        if (watched != null) {
+            watched.cancel();
+        }
+    }
+
+    private void offerIfChanged(final Path filePath) throws IOException {
+        final byte[] content = Files.readAllBytes(filePath);
+
+        final CRC32 crc = new CRC32();
+        crc.update(content, 0, content.length);
+        final long contentChecksum = crc.getValue();
+
+        if (contentChecksum == checksum) {
+            log.debug("Flag source content did not change, skipping it");
+            return;
+        }
+
+        // decoded straight from the bytes read
+        final String flagData = new String(content, StandardCharsets.UTF_8);
+        if (queue.offer(new StreamPayload(StreamPayloadType.DATA, flagData))) {
+            checksum = contentChecksum;
+        } else {
+            log.warn(OFFER_WARN);
+        }
     }
 }
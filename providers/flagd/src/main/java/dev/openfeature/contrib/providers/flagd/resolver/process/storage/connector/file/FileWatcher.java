@@ -0,0 +1,132 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.file;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Watcher of the directories of the flag source files of all file connectors. A single daemon thread blocks on the
+ * file system events, and forwards them to the listeners of their directory. The thread only runs while directories
+ * are watched, hence connectors which do not watch their file do not hold any thread.
+ */
+@Slf4j
+final class FileWatcher {
+    private static final FileWatcher INSTANCE = new FileWatcher();
+
+    private final Map<WatchKey, List<Registration>> registrations = new HashMap<>();
+    private WatchService service;
+
+    private FileWatcher() {
+    }
+
+    static FileWatcher get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Watch the given directory for created and modified entries.
+     *
+     * @param directory directory to watch, of the default file system
+     * @param listener  listener of the events of the directory, called from the watcher thread
+     * @return registration to cancel once the directory should not be watched anymore
+     */
+    synchronized Registration register(final Path directory, final Consumer<List<WatchEvent<?>>> listener)
+            throws IOException {
+        if (service == null) {
+            service = FileSystems.getDefault().newWatchService();
+            final WatchService watched = service;
+            final Thread thread = new Thread(() -> watch(watched), "flagd-file-watcher");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        // registering a directory again returns its existing key
+        final WatchKey key = directory.register(service, ENTRY_CREATE, ENTRY_MODIFY);
+        final Registration registration = new Registration(key, listener);
+        registrations.computeIfAbsent(key, k -> new ArrayList<>()).add(registration);
+        return registration;
+    }
+
+    private synchronized void cancel(final Registration registration) {
+        final List<Registration> listeners = registrations.get(registration.key);
+        if (listeners == null || !listeners.remove(registration)) {
+            return;
+        }
+
+        if (listeners.isEmpty()) {
+            registrations.remove(registration.key);
+            registration.key.cancel();
+        }
+
+        if (registrations.isEmpty()) {
+            // stops the watcher thread
+            try {
+                service.close();
+            } catch (IOException e) {
+                log.debug("Error closing the file watch service", e);
+            }
+            service = null;
+        }
+    }
+
+    private synchronized List<Registration> listeners(final WatchKey key) {
+        final List<Registration> listeners = registrations.get(key);
+        return listeners == null ? Collections.emptyList() : new ArrayList<>(listeners);
+    }
+
+    private void watch(final WatchService watched) {
+        while (true) {
+            final WatchKey key;
+            try {
+                key = watched.take();
+            } catch (ClosedWatchServiceException | InterruptedException e) {
+                return;
+            }
+
+            final List<WatchEvent<?>> events = key.pollEvents();
+            for (Registration registration : listeners(key)) {
+                try {
+                    registration.listener.accept(events);
+                } catch (Exception e) {
+                    log.warn("Error handling file system events", e);
+                }
+            }
+            key.reset();
+        }
+    }
+
+    /**
+     * Registration of a listener of a watched directory.
+     */
+    final class Registration {
+        private final WatchKey key;
+        private final Consumer<List<WatchEvent<?>>> listener;
+
+        private Registration(final WatchKey key, final Consumer<List<WatchEvent<?>>> listener) {
+            this.key = key;
+            this.listener = listener;
+        }
+
+        /**
+         * Stop forwarding the events of the directory to the listener.
+         */
+        void cancel() {
+            FileWatcher.this.cancel(this);
+        }
+    }
+}
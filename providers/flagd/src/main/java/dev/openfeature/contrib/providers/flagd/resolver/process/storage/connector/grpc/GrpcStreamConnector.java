@@ -2,25 +2,32 @@ package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connect
 
 import dev.openfeature.contrib.providers.flagd.FlagdOptions;
 import dev.openfeature.contrib.providers.flagd.resolver.common.ChannelBuilder;
+import dev.openfeature.contrib.providers.flagd.resolver.common.CoalescingQueue;
+import dev.openfeature.contrib.providers.flagd.resolver.common.FlagdMetrics;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.Connector;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayload;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayloadType;
 import dev.openfeature.flagd.grpc.sync.FlagSyncServiceGrpc;
-import dev.openfeature.flagd.grpc.sync.FlagSyncServiceGrpc.FlagSyncServiceStub;
 import dev.openfeature.flagd.grpc.sync.Sync.SyncFlagsRequest;
-import dev.openfeature.flagd.grpc.sync.Sync.SyncFlagsResponse;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.grpc.ManagedChannel;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Implements the {@link Connector} contract and emit flags obtained from flagd sync gRPC contract.
+ * Responses are handled by the gRPC callbacks, and reconnections with a backoff are tasks of the scheduler, hence no
+ * thread is held by the connector.
+ * The sync protocol carries complete flag configurations. Configurations identical to the last one delivered, such as
+ * the ones resent on reconnection, are skipped, hence the storage only parses actual changes.
  */
 @Slf4j
 @SuppressFBWarnings(value = {"PREDICTABLE_RANDOM", "EI_EXPOSE_REP"},
@@ -34,12 +41,21 @@ public class GrpcStreamConnector implements Connector {
     private static final int QUEUE_SIZE = 5;
 
     private final AtomicBoolean shutdown = new AtomicBoolean(false);
-    private final BlockingQueue<StreamPayload> blockingQueue = new LinkedBlockingQueue<>(QUEUE_SIZE);
+    // latest-wins, bursts of configurations collapse into the newest one
+    private final CoalescingQueue<StreamPayload> blockingQueue =
+            new CoalescingQueue<>(QUEUE_SIZE, StreamPayload::latest);
 
     private final ManagedChannel channel;
     private final FlagSyncServiceGrpc.FlagSyncServiceStub serviceStub;
     private final int deadline;
-    private final String selector;
+    private final SyncFlagsRequest request;
+    private final String source;
+    private final ScheduledExecutorService scheduler;
+    private final FlagdMetrics metrics;
+
+    // updated by the callbacks of the current stream
+    private volatile int retryDelay = INIT_BACK_OFF;
+    private volatile String lastConfiguration;
 
     /**
      * Construct a new GrpcStreamConnector.
@@ -50,30 +66,26 @@ public class GrpcStreamConnector implements Connector {
         channel = ChannelBuilder.nettyChannel(options);
         serviceStub = FlagSyncServiceGrpc.newStub(channel);
         deadline = options.getDeadline();
-        selector = options.getSelector();
+        scheduler = options.getScheduler();
+        metrics = FlagdMetrics.of(options.getOpenTelemetry());
+        blockingQueue.setDropListener(() -> metrics.recordQueueDrop("flagd-sync"));
+
+        final SyncFlagsRequest.Builder requestBuilder = SyncFlagsRequest.newBuilder();
+        if (options.getSelector() != null) {
+            requestBuilder.setSelector(options.getSelector());
+        }
+        request = requestBuilder.build();
+
+        final String target = options.getSocketPath() != null
+                ? "unix:" + options.getSocketPath() : options.getHost() + ":" + options.getPort();
+        source = "grpc:" + target + "?selector=" + (options.getSelector() == null ? "" : options.getSelector());
     }
 
     /**
      * Initialize gRPC stream connector.
      */
     public void init() {
-        Thread listener = new Thread(() -> {
-            try {
-                final SyncFlagsRequest.Builder requestBuilder = SyncFlagsRequest.newBuilder();
-
-                if (selector != null) {
-                    requestBuilder.setSelector(selector);
-                }
-
-                observeEventStream(blockingQueue, shutdown, serviceStub, requestBuilder.build());
-            } catch (InterruptedException e) {
-                log.warn("gRPC event stream interrupted, flag configurations are stale", e);
-                Thread.currentThread().interrupt();
-            }
-        });
-
-        listener.setDaemon(true);
-        listener.start();
+        scheduler.execute(this::observeEventStream);
     }
 
     /**
@@ -83,6 +95,14 @@ public class GrpcStreamConnector implements Connector {
         return blockingQueue;
     }
 
+    /**
+     * Identify the source by the target and the selector of the sync stream.
+     */
+    @Override
+    public List<String> getSources() {
+        return Collections.singletonList(source);
+    }
+
     /**
      * Shutdown gRPC stream connector.
      *
@@ -107,65 +127,70 @@ public class GrpcStreamConnector implements Connector {
         }
     }
 
-    /**
-     * Contains blocking calls, to be used concurrently.
-     */
-    static void observeEventStream(final BlockingQueue<StreamPayload> writeTo,
-                                   final AtomicBoolean shutdown,
-                                   final FlagSyncServiceStub serviceStub,
-                                   final SyncFlagsRequest request)
-            throws InterruptedException {
-
-        final BlockingQueue<GrpcResponseModel> streamReceiver = new LinkedBlockingQueue<>(QUEUE_SIZE);
-        int retryDelay = INIT_BACK_OFF;
-
-        while (!shutdown.get()) {
-            serviceStub.syncFlags(request, new GrpcStreamHandler(streamReceiver));
-
-            while (!shutdown.get()) {
-                final GrpcResponseModel response = streamReceiver.take();
-
-                if (response.isComplete()) {
-                    // The stream is complete. This is not considered as an error
-                    break;
-                }
-
-                if (response.getError() != null) {
-                    log.warn(String.format("Error from grpc connection, retrying in %dms", retryDelay),
-                            response.getError());
-
-                    if (!writeTo.offer(
-                            new StreamPayload(StreamPayloadType.ERROR, "Error from stream connection, retrying"))) {
-                        log.warn("Failed to convey ERROR satus, queue is full");
-                    }
-                    break;
-                }
-
-                final SyncFlagsResponse flagsResponse = response.getSyncFlagsResponse();
-                if (!writeTo.offer(
-                        new StreamPayload(StreamPayloadType.DATA, flagsResponse.getFlagConfiguration()))) {
-                    log.warn("Stream writing failed");
-                }
-
-                // reset retry delay if we succeeded in a retry attempt
-                retryDelay = INIT_BACK_OFF;
-            }
+    private void observeEventStream() {
+        if (shutdown.get()) {
+            log.info("Shutdown invoked, exiting event stream listener");
+            return;
+        }
 
-            // check for shutdown and avoid sleep
-            if (shutdown.get()) {
-                log.info("Shutdown invoked, exiting event stream listener");
-                return;
-            }
+        serviceStub.syncFlags(request, new GrpcStreamHandler(this::handle));
+    }
+
+    private void handle(final GrpcResponseModel response) {
+        if (response.isComplete()) {
+            // The stream is complete. This is not considered as an error
+            reconnect();
+            return;
+        }
 
-            // busy wait till next attempt
-            Thread.sleep(retryDelay + RANDOM.nextInt(INIT_BACK_OFF));
+        if (response.getError() != null) {
+            log.warn(String.format("Error from grpc connection, retrying in %dms", retryDelay), response.getError());
 
-            if (retryDelay < MAX_BACK_OFF) {
-                retryDelay = 2 * retryDelay;
+            if (!blockingQueue.offer(
+                    new StreamPayload(StreamPayloadType.ERROR, "Error from stream connection, retrying"))) {
+                log.warn("Failed to convey ERROR satus, queue is full");
             }
+            // the configuration following an error must be delivered, even if unchanged
+            lastConfiguration = null;
+            reconnect();
+            return;
+        }
+
+        if (shutdown.get()) {
+            return;
+        }
+
+        final String configuration = response.getSyncFlagsResponse().getFlagConfiguration();
+        if (configuration.equals(lastConfiguration)) {
+            log.debug("Flag configuration did not change, skipping it");
+        } else if (blockingQueue.offer(new StreamPayload(StreamPayloadType.DATA, configuration))) {
+            lastConfiguration = configuration;
+        } else {
+            log.warn("Stream writing failed");
+        }
+
+        // reset retry delay if we succeeded in a retry attempt
+        retryDelay = INIT_BACK_OFF;
+    }
+
+    private void reconnect() {
+        // check for shutdown and avoid the backoff
+        if (shutdown.get()) {
+            log.info("Shutdown invoked, exiting event stream listener");
+            return;
         }
 
-        // log as this can happen after awakened from backoff sleep
-        log.info("Shutdown invoked, exiting event stream listener");
+        metrics.recordReconnect("sync");
+
+        final int delay = retryDelay;
+        if (delay < MAX_BACK_OFF) {
+            retryDelay = 2 * delay;
+        }
+
+        try {
+            scheduler.schedule(this::observeEventStream, delay + RANDOM.nextInt(INIT_BACK_OFF), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.warn("Unable to schedule the reconnection of the gRPC event stream, flag configurations are stale", e);
+        }
     }
 }
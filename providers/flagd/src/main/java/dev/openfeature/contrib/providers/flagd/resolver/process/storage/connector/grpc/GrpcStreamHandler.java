@@ -1,38 +1,30 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.grpc;
 
 import io.grpc.stub.StreamObserver;
-import lombok.extern.slf4j.Slf4j;
 
-import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
 
 import dev.openfeature.flagd.grpc.sync.Sync.SyncFlagsResponse;
 
-@Slf4j
 class GrpcStreamHandler implements StreamObserver<SyncFlagsResponse> {
-    private final BlockingQueue<GrpcResponseModel> blockingQueue;
+    private final Consumer<GrpcResponseModel> responseConsumer;
 
-    GrpcStreamHandler(final BlockingQueue<GrpcResponseModel> queue) {
-        blockingQueue = queue;
+    GrpcStreamHandler(final Consumer<GrpcResponseModel> responseConsumer) {
+        this.responseConsumer = responseConsumer;
     }
 
     @Override
     public void onNext(SyncFlagsResponse syncFlagsResponse) {
-        if (!blockingQueue.offer(new GrpcResponseModel(syncFlagsResponse))) {
-            log.warn("failed to write sync response to queue");
-        }
+        responseConsumer.accept(new GrpcResponseModel(syncFlagsResponse));
     }
 
     @Override
     public void onError(Throwable throwable) {
-        if (!blockingQueue.offer(new GrpcResponseModel(throwable))) {
-            log.warn("failed to write error response to queue");
-        }
+        responseConsumer.accept(new GrpcResponseModel(throwable));
     }
 
     @Override
     public void onCompleted() {
-        if (!blockingQueue.offer(new GrpcResponseModel(true))) {
-            log.warn("failed to write complete status to queue");
-        }
+        responseConsumer.accept(new GrpcResponseModel(true));
     }
 }
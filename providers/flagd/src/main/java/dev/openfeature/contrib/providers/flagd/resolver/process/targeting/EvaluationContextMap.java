@@ -0,0 +1,144 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.targeting;
+
+import dev.openfeature.sdk.EvaluationContext;
+import dev.openfeature.sdk.Structure;
+import dev.openfeature.sdk.Value;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static dev.openfeature.contrib.providers.flagd.resolver.process.targeting.Operator.FLAGD_PROPS_KEY;
+import static dev.openfeature.contrib.providers.flagd.resolver.process.targeting.Operator.FLAG_KEY;
+import static dev.openfeature.contrib.providers.flagd.resolver.process.targeting.Operator.TARGET_KEY;
+import static dev.openfeature.contrib.providers.flagd.resolver.process.targeting.Operator.TIME_STAMP;
+
+/**
+ * Read-through json logic data view of an {@link EvaluationContext}. Attributes are converted when a rule looks them
+ * up, instead of copying the whole context upfront. The view also exposes the targeting key and the {@code $flagd}
+ * properties of the evaluation.
+ * A view can be shared by the evaluations of several flags against the same context, it is not thread safe.
+ */
+public final class EvaluationContextMap extends AbstractMap<String, Object> {
+    private final EvaluationContext ctx;
+    private String flagKey;
+    private Map<String, Object> flagdProperties;
+
+    EvaluationContextMap(final String flagKey, final EvaluationContext ctx) {
+        this.flagKey = flagKey;
+        this.ctx = ctx;
+    }
+
+    void setFlagKey(final String flagKey) {
+        this.flagKey = flagKey;
+        if (flagdProperties != null) {
+            flagdProperties.put(FLAG_KEY, flagKey);
+        }
+    }
+
+    @Override
+    public Object get(final Object key) {
+        if (TARGET_KEY.equals(key)) {
+            return ctx.getTargetingKey();
+        }
+
+        if (FLAGD_PROPS_KEY.equals(key)) {
+            return flagdProperties();
+        }
+
+        if (!(key instanceof String)) {
+            return null;
+        }
+
+        return convert(ctx, ctx.getValue((String) key));
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        if (TARGET_KEY.equals(key) || FLAGD_PROPS_KEY.equals(key)) {
+            return true;
+        }
+
+        return key instanceof String && ctx.getValue((String) key) != null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        // full materialization, only needed by operations inspecting all the data such as "missing"
+        final Set<Entry<String, Object>> entries = new LinkedHashSet<>();
+        for (String key : ctx.keySet()) {
+            if (!TARGET_KEY.equals(key) && !FLAGD_PROPS_KEY.equals(key)) {
+                entries.add(new SimpleImmutableEntry<>(key, get(key)));
+            }
+        }
+        entries.add(new SimpleImmutableEntry<>(TARGET_KEY, ctx.getTargetingKey()));
+        entries.add(new SimpleImmutableEntry<>(FLAGD_PROPS_KEY, flagdProperties()));
+        return entries;
+    }
+
+    private Map<String, Object> flagdProperties() {
+        if (flagdProperties == null) {
+            final Map<String, Object> properties = new HashMap<>();
+            properties.put(FLAG_KEY, flagKey);
+            properties.put(TIME_STAMP, System.currentTimeMillis() / 1000);
+            flagdProperties = properties;
+        }
+
+        return flagdProperties;
+    }
+
+    private static Object convert(final Structure owner, final Value value) {
+        if (value == null) {
+            return null;
+        }
+
+        if (value.isStructure()) {
+            return new StructureMap(value.asStructure());
+        }
+
+        if (value.isList()) {
+            final List<Value> values = value.asList();
+            final List<Object> converted = new ArrayList<>(values.size());
+            for (Value element : values) {
+                converted.add(convert(owner, element));
+            }
+            return converted;
+        }
+
+        return owner.convertValue(value);
+    }
+
+    /**
+     * Read-through view of a nested structure.
+     */
+    private static final class StructureMap extends AbstractMap<String, Object> {
+        private final Structure structure;
+
+        StructureMap(final Structure structure) {
+            this.structure = structure;
+        }
+
+        @Override
+        public Object get(final Object key) {
+            return key instanceof String ? convert(structure, structure.getValue((String) key)) : null;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return key instanceof String && structure.getValue((String) key) != null;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            final Set<Entry<String, Object>> entries = new LinkedHashSet<>();
+            for (String key : structure.keySet()) {
+                entries.add(new SimpleImmutableEntry<>(key, get(key)));
+            }
+            return entries;
+        }
+    }
+}
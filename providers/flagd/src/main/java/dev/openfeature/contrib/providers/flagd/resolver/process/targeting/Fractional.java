@@ -1,22 +1,87 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.targeting;
 
 import io.github.jamsesso.jsonlogic.JsonLogicException;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicArray;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicNode;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicPrimitive;
 import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluator;
 import io.github.jamsesso.jsonlogic.evaluator.expressions.PreEvaluatedArgumentsExpression;
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.codec.digest.MurmurHash3;
 
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 @Slf4j
 class Fractional implements PreEvaluatedArgumentsExpression {
+    static final String KEY = "fractional";
+
+    private static final int C1 = 0xcc9e2d51;
+    private static final int C2 = 0x1b873593;
+    private static final int M = 5;
+    private static final int N = 0xe6546b64;
 
     public String key() {
-        return "fractional";
+        return KEY;
+    }
+
+    /**
+     * Compile the arguments of a fractional operation. When all fractions are literals, the distribution is computed
+     * once and carried by the returned arguments, otherwise the arguments are returned as they are.
+     */
+    static JsonLogicArray compile(final JsonLogicArray arguments) {
+        if (arguments.size() < 2) {
+            return arguments;
+        }
+
+        // a leading non array argument is the bucketing expression
+        final boolean bucketByArgument = !(arguments.get(0) instanceof JsonLogicArray);
+        final int fractionsFrom = bucketByArgument ? 1 : 0;
+
+        final List<Object> fractions = new ArrayList<>();
+        for (int i = fractionsFrom; i < arguments.size(); i++) {
+            final Object fraction = literalValue(arguments.get(i));
+            if (fraction == null) {
+                return arguments;
+            }
+            fractions.add(fraction);
+        }
+
+        try {
+            return new CompiledArguments(arguments, bucketByArgument, Distribution.of(fractions));
+        } catch (JsonLogicException e) {
+            // leave invalid rules to the evaluation, which reports them
+            return arguments;
+        }
+    }
+
+    @Override
+    public Object evaluate(final JsonLogicEvaluator evaluator, final JsonLogicArray arguments, final Object data)
+            throws JsonLogicEvaluationException {
+        if (!(arguments instanceof CompiledArguments)) {
+            return PreEvaluatedArgumentsExpression.super.evaluate(evaluator, arguments, data);
+        }
+
+        final CompiledArguments compiled = (CompiledArguments) arguments;
+
+        if (compiled.bucketByArgument) {
+            final Object bucketBy = evaluator.evaluate(arguments.get(0), data);
+            if (!(bucketBy instanceof String)) {
+                log.debug("Fractional bucketing value is not a string");
+                return null;
+            }
+
+            return compiled.distribution.variant(bucket((String) bucketBy, ""));
+        }
+
+        final Operator.FlagProperties properties = new Operator.FlagProperties(data);
+        if (properties.getTargetingKey() == null) {
+            log.debug("Missing fallback targeting key");
+            return null;
+        }
+
+        return compiled.distribution.variant(
+                bucket(String.valueOf(properties.getFlagKey()), properties.getTargetingKey()));
     }
 
     public Object evaluate(List arguments, Object data) throws JsonLogicEvaluationException {
@@ -30,14 +95,14 @@ class Fractional implements PreEvaluatedArgumentsExpression {
         Object arg1 = arguments.get(0);
 
         final String bucketBy;
-        final Object[] distibutions;
+        final String bucketBySuffix;
+        final List<?> fractions;
 
         if (arg1 instanceof String) {
             // first arg is a String, use for bucketing
             bucketBy = (String) arg1;
-
-            Object[] source = arguments.toArray();
-            distibutions = Arrays.copyOfRange(source, 1, source.length);
+            bucketBySuffix = "";
+            fractions = arguments.subList(1, arguments.size());
         } else {
             // fallback to targeting key if present
             if (properties.getTargetingKey() == null) {
@@ -45,86 +110,212 @@ class Fractional implements PreEvaluatedArgumentsExpression {
                 return null;
             }
 
-            bucketBy = properties.getFlagKey() + properties.getTargetingKey();
-            distibutions = arguments.toArray();
+            bucketBy = String.valueOf(properties.getFlagKey());
+            bucketBySuffix = properties.getTargetingKey();
+            fractions = arguments;
         }
 
-        final List<FractionProperty> propertyList = new ArrayList<>();
-
-        double distribution = 0;
+        final Distribution distribution;
         try {
-            for (Object dist : distibutions) {
-                FractionProperty fractionProperty = new FractionProperty(dist);
-                propertyList.add(fractionProperty);
-                distribution += fractionProperty.getPercentage();
-            }
+            distribution = Distribution.of(fractions);
         } catch (JsonLogicException e) {
             log.debug("Error parsing fractional targeting rule", e);
             return null;
         }
 
-        if (distribution != 100) {
-            log.debug("Fractional properties do not sum to 100");
-            return null;
-        }
-
         // find distribution
-        return distributeValue(bucketBy, propertyList);
+        return distribution.variant(bucket(bucketBy, bucketBySuffix));
     }
 
-    private static String distributeValue(final String hashKey, final List<FractionProperty> propertyList)
-            throws JsonLogicEvaluationException {
-        byte[] bytes = hashKey.getBytes(StandardCharsets.UTF_8);
-        int mmrHash = MurmurHash3.hash32x86(bytes, 0, bytes.length, 0);
-        int bucket = (int) ((Math.abs(mmrHash) * 1.0f / Integer.MAX_VALUE) * 100);
+    /**
+     * Bucket of the concatenation of both values, in the range [0, 100). This is the 32 bits x86 MurmurHash3 of the
+     * UTF-8 encoded value, computed from the characters without encoding them into an intermediate array.
+     */
+    static int bucket(final String first, final String second) {
+        final int firstLength = first.length();
+        final int length = firstLength + second.length();
 
-        int bucketSum = 0;
-        for (FractionProperty p : propertyList) {
-            bucketSum += p.getPercentage();
+        int hash = 0;
+        int block = 0;
+        int blockBits = 0;
+        int byteCount = 0;
 
-            if (bucket < bucketSum) {
-                return p.getVariant();
+        for (int i = 0; i < length; i++) {
+            final char c = i < firstLength ? first.charAt(i) : second.charAt(i - firstLength);
+
+            int codePoint = c;
+            if (Character.isHighSurrogate(c) && i + 1 < length) {
+                final char next = i + 1 < firstLength ? first.charAt(i + 1) : second.charAt(i + 1 - firstLength);
+                if (Character.isLowSurrogate(next)) {
+                    codePoint = Character.toCodePoint(c, next);
+                    i++;
+                }
+            }
+            if (codePoint <= Character.MAX_VALUE && Character.isSurrogate((char) codePoint)) {
+                // unpaired surrogates are encoded as '?', as String#getBytes does
+                codePoint = '?';
             }
+
+            final int encoded = utf8(codePoint);
+            final int encodedLength = utf8Length(codePoint);
+
+            for (int b = 0; b < encodedLength; b++) {
+                block |= ((encoded >>> (b * 8)) & 0xff) << blockBits;
+                blockBits += 8;
+
+                if (blockBits == 32) {
+                    hash ^= mixBlock(block);
+                    hash = Integer.rotateLeft(hash, 13) * M + N;
+                    block = 0;
+                    blockBits = 0;
+                }
+            }
+            byteCount += encodedLength;
         }
 
-        // this shall not be reached
-        throw new JsonLogicEvaluationException("Unable to find a correct bucket");
+        if (blockBits > 0) {
+            hash ^= mixBlock(block);
+        }
+
+        hash ^= byteCount;
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+
+        return (int) ((Math.abs(hash) * 1.0f / Integer.MAX_VALUE) * 100);
+    }
+
+    private static int mixBlock(final int block) {
+        return Integer.rotateLeft(block * C1, 15) * C2;
     }
 
-    @Getter
-    @SuppressWarnings({"checkstyle:NoFinalizer"})
-    private static class FractionProperty {
-        private final String variant;
-        private final int percentage;
+    private static int utf8Length(final int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        if (codePoint < 0x10000) {
+            return 3;
+        }
+        return 4;
+    }
+
+    // UTF-8 bytes of the code point, packed in emission order from the least significant byte
+    private static int utf8(final int codePoint) {
+        if (codePoint < 0x80) {
+            return codePoint;
+        }
+        if (codePoint < 0x800) {
+            return (0xc0 | (codePoint >>> 6))
+                    | (0x80 | (codePoint & 0x3f)) << 8;
+        }
+        if (codePoint < 0x10000) {
+            return (0xe0 | (codePoint >>> 12))
+                    | (0x80 | ((codePoint >>> 6) & 0x3f)) << 8
+                    | (0x80 | (codePoint & 0x3f)) << 16;
+        }
+        return (0xf0 | (codePoint >>> 18))
+                | (0x80 | ((codePoint >>> 12) & 0x3f)) << 8
+                | (0x80 | ((codePoint >>> 6) & 0x3f)) << 16
+                | (0x80 | (codePoint & 0x3f)) << 24;
+    }
 
-        protected final void finalize() {
-            // DO NOT REMOVE, spotbugs: CT_CONSTRUCTOR_THROW
+    // a literal fraction such as ["red", 50], as it would be evaluated
+    private static Object literalValue(final JsonLogicNode node) {
+        if (!(node instanceof JsonLogicArray)) {
+            return null;
         }
 
-        FractionProperty(final Object from) throws JsonLogicException {
-            if (!(from instanceof List<?>)) {
-                throw new JsonLogicException("Property is not an array");
+        final List<Object> values = new ArrayList<>();
+        for (JsonLogicNode element : (JsonLogicArray) node) {
+            if (!(element instanceof JsonLogicPrimitive)) {
+                return null;
             }
+            values.add(((JsonLogicPrimitive<?>) element).getValue());
+        }
+        return values;
+    }
+
+    /**
+     * Variants with their cumulative weights, in rule order.
+     */
+    static final class Distribution {
+        private final String[] variants;
+        private final int[] cumulativeWeights;
+
+        private Distribution(final String[] variants, final int[] cumulativeWeights) {
+            this.variants = variants;
+            this.cumulativeWeights = cumulativeWeights;
+        }
+
+        static Distribution of(final List<?> fractions) throws JsonLogicException {
+            final String[] variants = new String[fractions.size()];
+            final int[] cumulativeWeights = new int[fractions.size()];
+
+            int sum = 0;
+            for (int i = 0; i < fractions.size(); i++) {
+                final Object from = fractions.get(i);
 
-            final List<?> array = (List) from;
+                if (!(from instanceof List<?>)) {
+                    throw new JsonLogicException("Property is not an array");
+                }
 
-            if (array.size() != 2) {
-                throw new JsonLogicException("Fraction property does not have two elements");
+                final List<?> array = (List) from;
+
+                if (array.size() != 2) {
+                    throw new JsonLogicException("Fraction property does not have two elements");
+                }
+
+                // first must be a string
+                if (!(array.get(0) instanceof String)) {
+                    throw new JsonLogicException("First element of the fraction property is not a string variant");
+                }
+
+                // second element must be a number
+                if (!(array.get(1) instanceof Number)) {
+                    throw new JsonLogicException("Second element of the fraction property is not a number");
+                }
+
+                sum += ((Number) array.get(1)).intValue();
+                variants[i] = (String) array.get(0);
+                cumulativeWeights[i] = sum;
             }
 
-            // first must be a string
-            if (!(array.get(0) instanceof String)) {
-                throw new JsonLogicException("First element of the fraction property is not a string variant");
+            if (sum != 100) {
+                throw new JsonLogicException("Fractional properties do not sum to 100");
             }
 
-            // second element must be a number
-            if (!(array.get(1) instanceof Number)) {
-                throw new JsonLogicException("Second element of the fraction property is not a number");
+            return new Distribution(variants, cumulativeWeights);
+        }
+
+        String variant(final int bucket) throws JsonLogicEvaluationException {
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (bucket < cumulativeWeights[i]) {
+                    return variants[i];
+                }
             }
 
-            variant = (String) array.get(0);
-            percentage = ((Number) array.get(1)).intValue();
+            // this shall not be reached
+            throw new JsonLogicEvaluationException("Unable to find a correct bucket");
         }
+    }
 
+    /**
+     * Fractional operation arguments with their precomputed distribution.
+     */
+    private static final class CompiledArguments extends JsonLogicArray {
+        private final boolean bucketByArgument;
+        private final Distribution distribution;
+
+        CompiledArguments(final JsonLogicArray arguments, final boolean bucketByArgument,
+                          final Distribution distribution) {
+            super(new ArrayList<>(arguments));
+            this.bucketByArgument = bucketByArgument;
+            this.distribution = distribution;
+        }
     }
 }
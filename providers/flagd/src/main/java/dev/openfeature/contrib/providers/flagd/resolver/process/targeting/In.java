@@ -0,0 +1,73 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.targeting;
+
+import io.github.jamsesso.jsonlogic.ast.JsonLogicArray;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicNode;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicPrimitive;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluator;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.InExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.PreEvaluatedArgumentsExpression;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Json logic "in" operation, whose literal lists are indexed once into hash sets. Membership of a value in an
+ * allow-list is then checked in constant time, instead of scanning the list on every evaluation.
+ */
+class In implements PreEvaluatedArgumentsExpression {
+    static final String KEY = "in";
+
+    public String key() {
+        return KEY;
+    }
+
+    /**
+     * Compile the arguments of an in operation. When the list is a literal array of primitives, it is indexed into a
+     * set carried by the returned arguments, otherwise the arguments are returned as they are.
+     */
+    static JsonLogicArray compile(final JsonLogicArray arguments) {
+        if (arguments.size() != 2 || !(arguments.get(1) instanceof JsonLogicArray)) {
+            return arguments;
+        }
+
+        final Set<Object> values = new HashSet<>();
+        for (JsonLogicNode element : (JsonLogicArray) arguments.get(1)) {
+            if (!(element instanceof JsonLogicPrimitive)) {
+                return arguments;
+            }
+            // as evaluated, numbers are doubles
+            values.add(((JsonLogicPrimitive<?>) element).getValue());
+        }
+
+        return new CompiledArguments(arguments, values);
+    }
+
+    @Override
+    public Object evaluate(final JsonLogicEvaluator evaluator, final JsonLogicArray arguments, final Object data)
+            throws JsonLogicEvaluationException {
+        if (!(arguments instanceof CompiledArguments)) {
+            return PreEvaluatedArgumentsExpression.super.evaluate(evaluator, arguments, data);
+        }
+
+        return ((CompiledArguments) arguments).values.contains(evaluator.evaluate(arguments.get(0), data));
+    }
+
+    public Object evaluate(List arguments, Object data) throws JsonLogicEvaluationException {
+        return InExpression.INSTANCE.evaluate(arguments, data);
+    }
+
+    /**
+     * In operation arguments with their indexed list.
+     */
+    private static final class CompiledArguments extends JsonLogicArray {
+        private final Set<Object> values;
+
+        CompiledArguments(final JsonLogicArray arguments, final Set<Object> values) {
+            super(new ArrayList<>(arguments));
+            this.values = values;
+        }
+    }
+}
@@ -1,12 +1,34 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.targeting;
 
 import dev.openfeature.sdk.EvaluationContext;
-import io.github.jamsesso.jsonlogic.JsonLogic;
-import io.github.jamsesso.jsonlogic.JsonLogicException;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicVariable;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluator;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.AllExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.ArrayHasExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.ConcatenateExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.EqualityExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.FilterExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.IfExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.InequalityExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.LogExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.LogicExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.MapExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.MathExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.MergeExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.MissingExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.NotExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.NumericComparisonExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.ReduceExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.StrictEqualityExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.StrictInequalityExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.SubstringExpression;
 import lombok.Getter;
 
-import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -21,44 +43,151 @@ public class Operator {
     static final String TARGET_KEY = "targetingKey";
     static final String TIME_STAMP = "timestamp";
 
-    private final JsonLogic jsonLogicHandler;
+    private final JsonLogicEvaluator evaluator;
 
     /**
      * Construct a targeting operator.
      */
     public Operator() {
-        jsonLogicHandler = new JsonLogic();
-        jsonLogicHandler.addOperation(new Fractional());
-        jsonLogicHandler.addOperation(new SemVer());
-        jsonLogicHandler.addOperation(new StringComp(StringComp.Type.STARTS_WITH));
-        jsonLogicHandler.addOperation(new StringComp(StringComp.Type.ENDS_WITH));
+        final List<JsonLogicExpression> expressions = standardExpressions();
+        expressions.add(new Fractional());
+        expressions.add(new SemVer());
+        expressions.add(new StringComp(StringComp.Type.STARTS_WITH));
+        expressions.add(new StringComp(StringComp.Type.ENDS_WITH));
+
+        evaluator = new JsonLogicEvaluator(expressions);
     }
 
     /**
-     * Apply this operator on the provided rule.
+     * Apply this operator on the provided rule. The rule is parsed on every call, prefer
+     * {@link #apply(String, TargetingRule, EvaluationContext)} with a rule compiled upfront.
      */
     public Object apply(final String flagKey, final String targetingRule, final EvaluationContext ctx)
             throws TargetingRuleException {
-        final Map<String, Object> flagdProperties = new HashMap<>();
-        flagdProperties.put(FLAG_KEY, flagKey);
-
-        long unixTimestamp = Instant.now().getEpochSecond();
-        flagdProperties.put(TIME_STAMP, unixTimestamp);
+        return apply(flagKey, TargetingRule.compile(targetingRule), ctx);
+    }
 
-        final Map<String, Object> targetingCtxData = ctx.asObjectMap();
+    /**
+     * Apply this operator on the provided compiled rule.
+     */
+    public Object apply(final String flagKey, final TargetingRule targetingRule, final EvaluationContext ctx)
+            throws TargetingRuleException {
+        // context attributes are only converted when the rule references them
+        return apply(flagKey, targetingRule, new EvaluationContextMap(flagKey, ctx));
+    }
 
-        // asObjectMap() does not provide explicitly set targeting key (ex:- new ImmutableContext("TargetingKey") ).
-        // Hence, we add this explicitly here for targeting rule processing.
-        targetingCtxData.put(TARGET_KEY, ctx.getTargetingKey());
-        targetingCtxData.put(FLAGD_PROPS_KEY, flagdProperties);
+    /**
+     * Apply this operator on the provided compiled rule, with targeting data shared by the evaluations of several
+     * flags against the same context.
+     *
+     * @see #targetingData(EvaluationContext)
+     */
+    public Object apply(final String flagKey, final TargetingRule targetingRule,
+                        final EvaluationContextMap targetingData) throws TargetingRuleException {
+        targetingData.setFlagKey(flagKey);
 
         try {
-            return jsonLogicHandler.apply(targetingRule, targetingCtxData);
-        } catch (JsonLogicException e) {
+            return evaluator.evaluate(targetingRule.getNode(), targetingData);
+        } catch (JsonLogicEvaluationException e) {
             throw new TargetingRuleException("Error evaluating json logic", e);
         }
     }
 
+    /**
+     * Values of the attributes read by the rule, which the rule resolves the same for. Values are copied, hence they
+     * are not affected by later changes of the context.
+     *
+     * @return the values, or null if the rule depends on other data such as the evaluation timestamp
+     */
+    public List<Object> memoKey(final TargetingRule targetingRule, final EvaluationContextMap targetingData) {
+        final List<JsonLogicVariable> reads = targetingRule.getReads();
+        if (reads == null) {
+            return null;
+        }
+
+        final List<Object> values = new ArrayList<>(reads.size());
+        try {
+            for (JsonLogicVariable variable : reads) {
+                values.add(copy(evaluator.evaluate(variable, targetingData)));
+            }
+        } catch (JsonLogicEvaluationException e) {
+            // left to the evaluation, which reports it
+            return null;
+        }
+        return values;
+    }
+
+    /**
+     * Targeting data of the provided context, to be shared by the evaluations of several flags.
+     */
+    public EvaluationContextMap targetingData(final EvaluationContext ctx) {
+        return new EvaluationContextMap(null, ctx);
+    }
+
+    private static Object copy(final Object value) {
+        if (value instanceof Map) {
+            final Map<Object, Object> copy = new HashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                copy.put(entry.getKey(), copy(entry.getValue()));
+            }
+            return copy;
+        }
+
+        if (value instanceof List) {
+            final List<Object> copy = new ArrayList<>(((List<?>) value).size());
+            for (Object element : (List<?>) value) {
+                copy.add(copy(element));
+            }
+            return copy;
+        }
+
+        return value;
+    }
+
+    /**
+     * Json logic operations registered by default with {@code io.github.jamsesso.jsonlogic.JsonLogic}. The evaluator
+     * is used directly to evaluate compiled rules, hence the defaults must be registered here.
+     */
+    private static List<JsonLogicExpression> standardExpressions() {
+        final List<JsonLogicExpression> expressions = new ArrayList<>();
+        expressions.add(MathExpression.ADD);
+        expressions.add(MathExpression.SUBTRACT);
+        expressions.add(MathExpression.MULTIPLY);
+        expressions.add(MathExpression.DIVIDE);
+        expressions.add(MathExpression.MODULO);
+        expressions.add(MathExpression.MIN);
+        expressions.add(MathExpression.MAX);
+        expressions.add(NumericComparisonExpression.GT);
+        expressions.add(NumericComparisonExpression.GTE);
+        expressions.add(NumericComparisonExpression.LT);
+        expressions.add(NumericComparisonExpression.LTE);
+        expressions.add(IfExpression.IF);
+        expressions.add(IfExpression.TERNARY);
+        expressions.add(EqualityExpression.INSTANCE);
+        expressions.add(InequalityExpression.INSTANCE);
+        expressions.add(StrictEqualityExpression.INSTANCE);
+        expressions.add(StrictInequalityExpression.INSTANCE);
+        expressions.add(NotExpression.SINGLE);
+        expressions.add(NotExpression.DOUBLE);
+        expressions.add(LogicExpression.AND);
+        expressions.add(LogicExpression.OR);
+        expressions.add(LogExpression.STDOUT);
+        expressions.add(MapExpression.INSTANCE);
+        expressions.add(FilterExpression.INSTANCE);
+        expressions.add(ReduceExpression.INSTANCE);
+        expressions.add(AllExpression.INSTANCE);
+        expressions.add(ArrayHasExpression.SOME);
+        expressions.add(ArrayHasExpression.NONE);
+        expressions.add(MergeExpression.INSTANCE);
+        // indexes literal lists of compiled rules
+        expressions.add(new In());
+        expressions.add(ConcatenateExpression.INSTANCE);
+        expressions.add(SubstringExpression.INSTANCE);
+        expressions.add(MissingExpression.ALL);
+        expressions.add(MissingExpression.SOME);
+        return expressions;
+    }
+
     /**
      * A utility class to extract well-known properties such as flag key, targeting key and timestamp from json logic
      * evaluation context data for further processing at evaluators.
@@ -1,41 +1,86 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.targeting;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicArray;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicNode;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicPrimitive;
 import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluator;
 import io.github.jamsesso.jsonlogic.evaluator.expressions.PreEvaluatedArgumentsExpression;
 import lombok.extern.slf4j.Slf4j;
 import org.semver4j.Semver;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 @Slf4j
 class SemVer implements PreEvaluatedArgumentsExpression {
+    static final String KEY = "sem_ver";
 
-    private static final String EQ = "=";
-    private static final String NEQ = "!=";
-    private static final String LT = "<";
-    private static final String LTE = "<=";
-    private static final String GT = ">";
-    private static final String GTE = ">=";
-    private static final String MAJOR = "^";
-    private static final String MINOR = "~";
-
-    private static final Set<String> OPS = new HashSet<>();
-
-    static {
-        OPS.add(EQ);
-        OPS.add(NEQ);
-        OPS.add(LT);
-        OPS.add(LTE);
-        OPS.add(GT);
-        OPS.add(GTE);
-        OPS.add(MAJOR);
-        OPS.add(MINOR);
-    }
+    // parsed versions kept for reuse, such as the few app versions of a mobile fleet
+    static final int PARSED_VERSIONS_SIZE = 256;
+
+    // least recently used versions are evicted, the most used ones stay parsed whatever the variety of versions
+    private final Cache<String, Semver> parsedVersions = CacheBuilder.newBuilder()
+            .maximumSize(PARSED_VERSIONS_SIZE)
+            .build();
 
     public String key() {
-        return "sem_ver";
+        return KEY;
+    }
+
+    /**
+     * Compile the arguments of a sem_ver operation. When the operator is a literal, it is resolved once, as are the
+     * literal versions, and carried by the returned arguments. Otherwise, the arguments are returned as they are.
+     */
+    static JsonLogicArray compile(final JsonLogicArray arguments) {
+        if (arguments.size() != 3) {
+            return arguments;
+        }
+
+        final Comparison comparison = Comparison.of(literalString(arguments.get(1)));
+        if (comparison == null) {
+            return arguments;
+        }
+
+        final Semver first = literalVersion(arguments.get(0));
+        final Semver third = literalVersion(arguments.get(2));
+        if (first == null && arguments.get(0) instanceof JsonLogicPrimitive
+                || third == null && arguments.get(2) instanceof JsonLogicPrimitive) {
+            // leave invalid rules to the evaluation, which reports them
+            return arguments;
+        }
+
+        return new CompiledArguments(arguments, first, comparison, third);
+    }
+
+    @Override
+    public Object evaluate(final JsonLogicEvaluator evaluator, final JsonLogicArray arguments, final Object data)
+            throws JsonLogicEvaluationException {
+        if (!(arguments instanceof CompiledArguments)) {
+            return PreEvaluatedArgumentsExpression.super.evaluate(evaluator, arguments, data);
+        }
+
+        final CompiledArguments compiled = (CompiledArguments) arguments;
+
+        final Semver first = compiled.first != null
+                ? compiled.first : parse(evaluator.evaluate(arguments.get(0), data));
+        if (first == null) {
+            log.debug("Argument one is not a valid SemVer");
+            return null;
+        }
+
+        final Semver third = compiled.third != null
+                ? compiled.third : parse(evaluator.evaluate(arguments.get(2), data));
+        if (third == null) {
+            log.debug("Argument three is not a valid SemVer");
+            return null;
+        }
+
+        return compiled.comparison.test(first, third);
     }
 
     public Object evaluate(List arguments, Object data) throws JsonLogicEvaluationException {
@@ -55,56 +100,155 @@ class SemVer implements PreEvaluatedArgumentsExpression {
         // arg 1 should be a SemVer
         final Semver arg1Parsed;
 
-        if ((arg1Parsed = Semver.parse((String) arguments.get(0))) == null) {
+        if ((arg1Parsed = parse(arguments.get(0))) == null) {
             log.debug("Argument one is not a valid SemVer");
             return null;
         }
 
         // arg 2 should be the supported operator
-        final String arg2Parsed = (String) arguments.get(1);
+        final Comparison arg2Parsed = Comparison.of((String) arguments.get(1));
 
-        if (!OPS.contains(arg2Parsed)) {
-            log.debug(String.format("Not valid operator in argument 2. Received: %s", arg2Parsed));
+        if (arg2Parsed == null) {
+            log.debug(String.format("Not valid operator in argument 2. Received: %s", arguments.get(1)));
             return null;
         }
 
         // arg 3 should be a SemVer
         final Semver arg3Parsed;
 
-        if ((arg3Parsed = Semver.parse((String) arguments.get(2))) == null) {
+        if ((arg3Parsed = parse(arguments.get(2))) == null) {
             log.debug("Argument three is not a valid SemVer");
             return null;
         }
 
-        return compare(arg2Parsed, arg1Parsed, arg3Parsed);
+        return arg2Parsed.test(arg1Parsed, arg3Parsed);
     }
 
-    private static boolean compare(final String operator, final Semver arg1, final Semver arg2)
-            throws JsonLogicEvaluationException {
+    // parse a version, reusing the versions parsed by former evaluations
+    private Semver parse(final Object version) {
+        if (!(version instanceof String)) {
+            log.debug("Invalid argument type. Require Strings");
+            return null;
+        }
 
-        int comp = arg1.compareTo(arg2);
-
-        switch (operator) {
-            case EQ:
-                return comp == 0;
-            case NEQ:
-                return comp != 0;
-            case LT:
-                return comp < 0;
-            case LTE:
-                return comp <= 0;
-            case GT:
-                return comp > 0;
-            case GTE:
-                return comp >= 0;
-            case MAJOR:
+        final Semver cached = parsedVersions.getIfPresent(version);
+        if (cached != null) {
+            return cached;
+        }
+
+        final Semver parsed = Semver.parse((String) version);
+        if (parsed != null) {
+            parsedVersions.put((String) version, parsed);
+        }
+        return parsed;
+    }
+
+    long parsedVersionsSize() {
+        return parsedVersions.size();
+    }
+
+    private static String literalString(final JsonLogicNode node) {
+        if (!(node instanceof JsonLogicPrimitive)) {
+            return null;
+        }
+
+        final Object value = ((JsonLogicPrimitive<?>) node).getValue();
+        return value instanceof String ? (String) value : null;
+    }
+
+    private static Semver literalVersion(final JsonLogicNode node) {
+        final String version = literalString(node);
+        return version == null ? null : Semver.parse(version);
+    }
+
+    /**
+     * Supported comparison operators.
+     */
+    enum Comparison {
+        EQ("=") {
+            @Override
+            boolean test(final Semver arg1, final Semver arg2) {
+                return arg1.compareTo(arg2) == 0;
+            }
+        },
+        NEQ("!=") {
+            @Override
+            boolean test(final Semver arg1, final Semver arg2) {
+                return arg1.compareTo(arg2) != 0;
+            }
+        },
+        LT("<") {
+            @Override
+            boolean test(final Semver arg1, final Semver arg2) {
+                return arg1.compareTo(arg2) < 0;
+            }
+        },
+        LTE("<=") {
+            @Override
+            boolean test(final Semver arg1, final Semver arg2) {
+                return arg1.compareTo(arg2) <= 0;
+            }
+        },
+        GT(">") {
+            @Override
+            boolean test(final Semver arg1, final Semver arg2) {
+                return arg1.compareTo(arg2) > 0;
+            }
+        },
+        GTE(">=") {
+            @Override
+            boolean test(final Semver arg1, final Semver arg2) {
+                return arg1.compareTo(arg2) >= 0;
+            }
+        },
+        MAJOR("^") {
+            @Override
+            boolean test(final Semver arg1, final Semver arg2) {
                 return arg1.getMajor() == arg2.getMajor();
-            case MINOR:
+            }
+        },
+        MINOR("~") {
+            @Override
+            boolean test(final Semver arg1, final Semver arg2) {
                 return arg1.getMinor() == arg2.getMinor() && arg1.getMajor() == arg2.getMajor();
-            default:
-                throw new JsonLogicEvaluationException(
-                        String.format("Unsupported operator received. Operator: %s", operator));
+            }
+        };
+
+        private static final Map<String, Comparison> BY_OPERATOR = new HashMap<>();
+
+        static {
+            for (Comparison comparison : values()) {
+                BY_OPERATOR.put(comparison.operator, comparison);
+            }
         }
+
+        private final String operator;
+
+        Comparison(final String operator) {
+            this.operator = operator;
+        }
+
+        static Comparison of(final String operator) {
+            return operator == null ? null : BY_OPERATOR.get(operator);
+        }
+
+        abstract boolean test(Semver arg1, Semver arg2);
     }
 
+    /**
+     * Sem_ver operation arguments with their resolved operator and literal versions.
+     */
+    private static final class CompiledArguments extends JsonLogicArray {
+        private final Semver first;
+        private final Comparison comparison;
+        private final Semver third;
+
+        CompiledArguments(final JsonLogicArray arguments, final Semver first, final Comparison comparison,
+                          final Semver third) {
+            super(new ArrayList<>(arguments));
+            this.first = first;
+            this.comparison = comparison;
+            this.third = third;
+        }
+    }
 }
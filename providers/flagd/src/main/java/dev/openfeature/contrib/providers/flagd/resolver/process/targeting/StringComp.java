@@ -1,10 +1,20 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.targeting;
 
+import io.github.jamsesso.jsonlogic.ast.JsonLogicArray;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicNode;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicNull;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicOperation;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicString;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicVariable;
 import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluator;
 import io.github.jamsesso.jsonlogic.evaluator.expressions.PreEvaluatedArgumentsExpression;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 class StringComp implements PreEvaluatedArgumentsExpression {
@@ -18,6 +28,69 @@ class StringComp implements PreEvaluatedArgumentsExpression {
         return type.key;
     }
 
+    /**
+     * Compile the arguments of an "or" operation. When all of them compare the same variable with literal strings,
+     * such as a list of allowed email domains, the strings are indexed once into a trie, and the operation is
+     * rewritten into a single comparison matching the variable in a single walk. Otherwise, returns null.
+     */
+    static JsonLogicOperation compileAny(final JsonLogicArray arguments) {
+        if (arguments.size() < 2 || !(arguments.get(0) instanceof JsonLogicOperation)) {
+            return null;
+        }
+
+        final Type type = Type.of(((JsonLogicOperation) arguments.get(0)).getOperator());
+        if (type == null) {
+            return null;
+        }
+
+        String variable = null;
+        JsonLogicNode variableNode = null;
+        final Trie trie = new Trie();
+        final List<JsonLogicNode> strings = new ArrayList<>();
+
+        for (JsonLogicNode argument : arguments) {
+            if (!(argument instanceof JsonLogicOperation)
+                    || !type.key.equals(((JsonLogicOperation) argument).getOperator())) {
+                return null;
+            }
+
+            final JsonLogicArray comparison = ((JsonLogicOperation) argument).getArguments();
+            if (comparison.size() != 2 || !(comparison.get(1) instanceof JsonLogicString)) {
+                return null;
+            }
+
+            final String comparedVariable = variableName(comparison.get(0));
+            if (comparedVariable == null || variable != null && !variable.equals(comparedVariable)) {
+                return null;
+            }
+            variable = comparedVariable;
+            variableNode = comparison.get(0);
+
+            final String string = ((JsonLogicString) comparison.get(1)).getValue();
+            trie.add(type == Type.STARTS_WITH ? string : new StringBuilder(string).reverse().toString());
+            strings.add(comparison.get(1));
+        }
+
+        return new JsonLogicOperation(type.key, new CompiledArguments(variableNode, strings, trie));
+    }
+
+    @Override
+    public Object evaluate(final JsonLogicEvaluator evaluator, final JsonLogicArray arguments, final Object data)
+            throws JsonLogicEvaluationException {
+        if (!(arguments instanceof CompiledArguments)) {
+            return PreEvaluatedArgumentsExpression.super.evaluate(evaluator, arguments, data);
+        }
+
+        final Object value = evaluator.evaluate(arguments.get(0), data);
+        if (!(value instanceof String)) {
+            log.debug("Incorrect argument type for first argument");
+            return null;
+        }
+
+        final Trie trie = ((CompiledArguments) arguments).trie;
+        return type == Type.STARTS_WITH ? trie.matchesPrefixOf((String) value) : trie.matchesSuffixOf((String) value);
+    }
+
     public Object evaluate(List arguments, Object data) throws JsonLogicEvaluationException {
         if (arguments.size() != 2) {
             log.debug("Incorrect number of arguments for String comparison operator");
@@ -54,6 +127,19 @@ class StringComp implements PreEvaluatedArgumentsExpression {
     }
 
 
+    // name of a variable without default value, such as {"var": "email"}
+    private static String variableName(final JsonLogicNode node) {
+        if (!(node instanceof JsonLogicVariable)) {
+            return null;
+        }
+
+        final JsonLogicVariable variable = (JsonLogicVariable) node;
+        if (!(variable.getKey() instanceof JsonLogicString) || variable.getDefaultValue() != JsonLogicNull.NULL) {
+            return null;
+        }
+        return ((JsonLogicString) variable.getKey()).getValue();
+    }
+
     enum Type {
         STARTS_WITH("starts_with"),
         ENDS_WITH("ends_with");
@@ -63,5 +149,69 @@ class StringComp implements PreEvaluatedArgumentsExpression {
         Type(String key) {
             this.key = key;
         }
+
+        static Type of(final String key) {
+            for (Type type : values()) {
+                if (type.key.equals(key)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Character trie of the compared strings. Suffixes are indexed reversed.
+     */
+    static final class Trie {
+        private final Map<Character, Trie> children = new HashMap<>();
+        private boolean terminal;
+
+        void add(final String string) {
+            Trie node = this;
+            for (int i = 0; i < string.length(); i++) {
+                node = node.children.computeIfAbsent(string.charAt(i), c -> new Trie());
+            }
+            node.terminal = true;
+        }
+
+        boolean matchesPrefixOf(final String value) {
+            Trie node = this;
+            for (int i = 0; !node.terminal; i++) {
+                if (i == value.length() || (node = node.children.get(value.charAt(i))) == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean matchesSuffixOf(final String value) {
+            Trie node = this;
+            for (int i = value.length() - 1; !node.terminal; i--) {
+                if (i < 0 || (node = node.children.get(value.charAt(i))) == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Compared variable, with the trie of the strings it is compared with.
+     */
+    private static final class CompiledArguments extends JsonLogicArray {
+        private final Trie trie;
+
+        CompiledArguments(final JsonLogicNode variable, final List<JsonLogicNode> strings, final Trie trie) {
+            super(asList(variable, new JsonLogicArray(strings)));
+            this.trie = trie;
+        }
+
+        private static List<JsonLogicNode> asList(final JsonLogicNode variable, final JsonLogicArray strings) {
+            final List<JsonLogicNode> elements = new ArrayList<>(2);
+            elements.add(variable);
+            elements.add(strings);
+            return elements;
+        }
     }
 }
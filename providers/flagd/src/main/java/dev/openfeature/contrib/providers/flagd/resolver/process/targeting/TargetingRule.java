@@ -0,0 +1,176 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.targeting;
+
+import io.github.jamsesso.jsonlogic.JsonLogicException;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicArray;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicNode;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicNull;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicOperation;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicParser;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicString;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicVariable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static dev.openfeature.contrib.providers.flagd.resolver.process.targeting.Operator.FLAGD_PROPS_KEY;
+import static dev.openfeature.contrib.providers.flagd.resolver.process.targeting.Operator.FLAG_KEY;
+import static dev.openfeature.contrib.providers.flagd.resolver.process.targeting.Operator.TARGET_KEY;
+
+/**
+ * A targeting rule compiled into its JsonLogic evaluation tree. Rules are compiled once, when the flag configuration
+ * is loaded, and evaluated by {@link Operator} without re-parsing the rule text.
+ */
+public final class TargetingRule {
+    private static final String OR = "or";
+
+    // operations inspecting the whole data, or with side effects
+    private static final Set<String> NOT_MEMOIZABLE = new HashSet<>(Arrays.asList("missing", "missing_some", "log"));
+
+    private final JsonLogicNode node;
+    private final List<JsonLogicVariable> reads;
+
+    private TargetingRule(final JsonLogicNode node) {
+        this.node = node;
+        this.reads = reads(node);
+    }
+
+    /**
+     * Compile the provided targeting rule.
+     *
+     * @param targetingRule rule in its Json string format
+     * @return compiled targeting rule
+     * @throws TargetingRuleException if the rule is not a valid json logic rule
+     */
+    public static TargetingRule compile(final String targetingRule) throws TargetingRuleException {
+        try {
+            return new TargetingRule(optimize(JsonLogicParser.parse(targetingRule)));
+        } catch (JsonLogicException e) {
+            throw new TargetingRuleException("Error parsing json logic", e);
+        }
+    }
+
+    /**
+     * Rewrite operations with arguments which can be prepared upfront, such as literal fractional distributions,
+     * sem_ver operands, allow-lists, and comparisons of a variable with several prefixes or suffixes. Json logic
+     * arrays are immutable, hence arrays and operations get rebuilt.
+     */
+    private static JsonLogicNode optimize(final JsonLogicNode node) {
+        if (node instanceof JsonLogicArray) {
+            return optimizeElements((JsonLogicArray) node);
+        }
+
+        if (!(node instanceof JsonLogicOperation)) {
+            return node;
+        }
+
+        final JsonLogicOperation operation = (JsonLogicOperation) node;
+        final JsonLogicArray arguments = optimizeElements(operation.getArguments());
+
+        if (Fractional.KEY.equals(operation.getOperator())) {
+            return new JsonLogicOperation(operation.getOperator(), Fractional.compile(arguments));
+        }
+
+        if (SemVer.KEY.equals(operation.getOperator())) {
+            return new JsonLogicOperation(operation.getOperator(), SemVer.compile(arguments));
+        }
+
+        if (In.KEY.equals(operation.getOperator())) {
+            return new JsonLogicOperation(operation.getOperator(), In.compile(arguments));
+        }
+
+        if (OR.equals(operation.getOperator())) {
+            final JsonLogicOperation comparison = StringComp.compileAny(arguments);
+            if (comparison != null) {
+                return comparison;
+            }
+        }
+
+        return new JsonLogicOperation(operation.getOperator(), arguments);
+    }
+
+    private static JsonLogicArray optimizeElements(final JsonLogicArray array) {
+        final List<JsonLogicNode> elements = new ArrayList<>(array.size());
+        for (JsonLogicNode element : array) {
+            elements.add(optimize(element));
+        }
+        return new JsonLogicArray(elements);
+    }
+
+    /**
+     * Variables read by the rule, whose values fully determine its result. Null if the result depends on other data,
+     * such as the evaluation timestamp or the whole data.
+     */
+    private static List<JsonLogicVariable> reads(final JsonLogicNode node) {
+        final Set<String> paths = new LinkedHashSet<>();
+        if (!collectReads(node, paths)) {
+            return null;
+        }
+
+        final List<JsonLogicVariable> variables = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            variables.add(new JsonLogicVariable(new JsonLogicString(path), JsonLogicNull.NULL));
+        }
+        return Collections.unmodifiableList(variables);
+    }
+
+    private static boolean collectReads(final JsonLogicNode node, final Set<String> paths) {
+        if (node instanceof JsonLogicVariable) {
+            final JsonLogicVariable variable = (JsonLogicVariable) node;
+            if (!(variable.getKey() instanceof JsonLogicString)) {
+                return false;
+            }
+
+            final String path = ((JsonLogicString) variable.getKey()).getValue();
+            if (path.isEmpty()) {
+                return false;
+            }
+
+            if (path.startsWith(FLAGD_PROPS_KEY)) {
+                // the flag key is the same for all evaluations of the flag, unlike the timestamp
+                if (!path.equals(FLAGD_PROPS_KEY + "." + FLAG_KEY)) {
+                    return false;
+                }
+            } else {
+                paths.add(path);
+            }
+            return collectReads(variable.getDefaultValue(), paths);
+        }
+
+        if (node instanceof JsonLogicArray) {
+            for (JsonLogicNode element : (JsonLogicArray) node) {
+                if (!collectReads(element, paths)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        if (node instanceof JsonLogicOperation) {
+            final JsonLogicOperation operation = (JsonLogicOperation) node;
+            if (NOT_MEMOIZABLE.contains(operation.getOperator())) {
+                return false;
+            }
+
+            // fractional operations may bucket by the targeting key, without a variable
+            if (Fractional.KEY.equals(operation.getOperator())) {
+                paths.add(TARGET_KEY);
+            }
+            return collectReads(operation.getArguments(), paths);
+        }
+
+        return true;
+    }
+
+    JsonLogicNode getNode() {
+        return node;
+    }
+
+    List<JsonLogicVariable> getReads() {
+        return reads;
+    }
+}
@@ -3,7 +3,9 @@ package dev.openfeature.contrib.providers.flagd;
 import static dev.openfeature.contrib.providers.flagd.Config.CACHED_REASON;
 import static dev.openfeature.contrib.providers.flagd.Config.STATIC_REASON;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -16,9 +18,12 @@ import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -26,6 +31,9 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.protobuf.ListValue;
+import com.google.protobuf.NullValue;
 import com.google.protobuf.Struct;
 
 import dev.openfeature.contrib.providers.flagd.resolver.Resolver;
@@ -33,6 +41,9 @@ import dev.openfeature.contrib.providers.flagd.resolver.grpc.GrpcConnector;
 import dev.openfeature.contrib.providers.flagd.resolver.grpc.GrpcResolver;
 import dev.openfeature.contrib.providers.flagd.resolver.grpc.cache.Cache;
 import dev.openfeature.flagd.grpc.evaluation.ServiceGrpc;
+import dev.openfeature.flagd.grpc.evaluation.Evaluation.AnyFlag;
+import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveAllRequest;
+import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveAllResponse;
 import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveBooleanRequest;
 import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveBooleanResponse;
 import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveFloatResponse;
@@ -40,7 +51,9 @@ import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveIntResponse;
 import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveObjectResponse;
 import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveStringResponse;
 import dev.openfeature.flagd.grpc.evaluation.ServiceGrpc.ServiceBlockingStub;
+import dev.openfeature.flagd.grpc.evaluation.ServiceGrpc.ServiceFutureStub;
 import dev.openfeature.flagd.grpc.evaluation.ServiceGrpc.ServiceStub;
+import dev.openfeature.sdk.ErrorCode;
 import dev.openfeature.sdk.EvaluationContext;
 import dev.openfeature.sdk.FlagEvaluationDetails;
 import dev.openfeature.sdk.ImmutableContext;
@@ -48,13 +61,17 @@ import dev.openfeature.sdk.ImmutableMetadata;
 import dev.openfeature.sdk.MutableContext;
 import dev.openfeature.sdk.MutableStructure;
 import dev.openfeature.sdk.OpenFeatureAPI;
+import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.ProviderState;
 import dev.openfeature.sdk.Reason;
 import dev.openfeature.sdk.Structure;
 import dev.openfeature.sdk.Value;
+import dev.openfeature.sdk.exceptions.FlagNotFoundError;
 import io.cucumber.java.AfterAll;
 import io.grpc.Channel;
 import io.grpc.Deadline;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 
 class FlagdProviderTest {
     private static final String FLAG_KEY = "some-key";
@@ -288,6 +305,83 @@ class FlagdProviderTest {
         assertEquals(1, metadata.getDouble("number"));
     }
 
+    @Test
+    void async_resolvers_use_the_future_stub() throws Exception {
+        // given
+        ResolveBooleanResponse booleanResponse = ResolveBooleanResponse.newBuilder()
+                .setValue(true)
+                .setVariant(BOOL_VARIANT)
+                .setReason(DEFAULT.toString())
+                .build();
+
+        ServiceFutureStub serviceFutureStubMock = mock(ServiceFutureStub.class);
+        when(serviceFutureStubMock.withDeadlineAfter(anyLong(), any(TimeUnit.class)))
+                .thenReturn(serviceFutureStubMock);
+        when(serviceFutureStubMock
+                .resolveBoolean(argThat(x -> x != null && FLAG_KEY_BOOLEAN.equals(x.getFlagKey()))))
+                .thenReturn(Futures.immediateFuture(booleanResponse));
+        when(serviceFutureStubMock.resolveBoolean(argThat(x -> x != null && FLAG_KEY.equals(x.getFlagKey()))))
+                .thenReturn(Futures.immediateFailedFuture(new StatusRuntimeException(Status.NOT_FOUND)));
+
+        GrpcConnector grpc = mock(GrpcConnector.class);
+        when(grpc.getAsyncResolver()).thenReturn(serviceFutureStubMock);
+        FlagdProvider provider = createProvider(grpc);
+
+        // when
+        ProviderEvaluation<Boolean> evaluation =
+                provider.getBooleanEvaluationAsync(FLAG_KEY_BOOLEAN, false, new ImmutableContext()).get();
+        CompletableFuture<ProviderEvaluation<Boolean>> missing =
+                provider.getBooleanEvaluationAsync(FLAG_KEY, false, new ImmutableContext());
+
+        // then
+        assertTrue(evaluation.getValue());
+        assertEquals(BOOL_VARIANT, evaluation.getVariant());
+        assertEquals(DEFAULT.toString(), evaluation.getReason());
+
+        ExecutionException exception = assertThrows(ExecutionException.class, missing::get);
+        assertInstanceOf(FlagNotFoundError.class, exception.getCause());
+        verify(grpc, times(0)).getResolver();
+    }
+
+    @Test
+    void evaluate_all_uses_a_single_resolve_all_call() {
+        // given
+        ResolveAllResponse resolveAllResponse = ResolveAllResponse.newBuilder()
+                .putFlags(FLAG_KEY_BOOLEAN, AnyFlag.newBuilder()
+                        .setBoolValue(true)
+                        .setVariant(BOOL_VARIANT)
+                        .setReason(STATIC_REASON)
+                        .build())
+                .putFlags(FLAG_KEY_OBJECT, AnyFlag.newBuilder()
+                        .setObjectValue(PROTOBUF_STRUCTURE_VALUE)
+                        .setVariant(OBJECT_VARIANT)
+                        .setReason(DEFAULT.toString())
+                        .build())
+                .build();
+
+        ServiceBlockingStub serviceBlockingStubMock = mock(ServiceBlockingStub.class);
+        when(serviceBlockingStubMock.withDeadlineAfter(anyLong(), any(TimeUnit.class))).thenReturn(
+                serviceBlockingStubMock);
+        when(serviceBlockingStubMock.resolveAll(any(ResolveAllRequest.class))).thenReturn(resolveAllResponse);
+
+        GrpcConnector grpc = mock(GrpcConnector.class);
+        when(grpc.getResolver()).thenReturn(serviceBlockingStubMock);
+        FlagdProvider provider = createProvider(grpc);
+
+        // when
+        Map<String, ProviderEvaluation<Value>> evaluations = provider.evaluateAll(
+                Arrays.asList(FLAG_KEY_BOOLEAN, FLAG_KEY_OBJECT, FLAG_KEY_STRING), new ImmutableContext());
+
+        // then
+        verify(serviceBlockingStubMock, times(1)).resolveAll(any(ResolveAllRequest.class));
+        assertEquals(new Value(true), evaluations.get(FLAG_KEY_BOOLEAN).getValue());
+        assertEquals(BOOL_VARIANT, evaluations.get(FLAG_KEY_BOOLEAN).getVariant());
+        assertEquals(STATIC_REASON, evaluations.get(FLAG_KEY_BOOLEAN).getReason());
+        assertEquals(INNER_STRUCT_VALUE, evaluations.get(FLAG_KEY_OBJECT).getValue().asStructure()
+                .getValue(INNER_STRUCT_KEY).asString());
+        assertEquals(ErrorCode.FLAG_NOT_FOUND, evaluations.get(FLAG_KEY_STRING).getErrorCode());
+    }
+
     @Test
     void resolvers_cache_responses_if_static_and_event_stream_alive() {
         do_resolvers_cache_responses(STATIC_REASON, ProviderState.READY, true);
@@ -373,6 +467,57 @@ class FlagdProviderTest {
         assertEquals(DEFAULT.toString(), booleanDetails.getReason());
     }
 
+    @Test
+    void nested_values_are_converted_both_ways() {
+        final com.google.protobuf.Value inner = com.google.protobuf.Value.newBuilder()
+                .setStructValue(Struct.newBuilder()
+                        .putFields("name", com.google.protobuf.Value.newBuilder().setStringValue("inner").build()))
+                .build();
+        final Struct objectValue = Struct.newBuilder()
+                .putFields("list", com.google.protobuf.Value.newBuilder()
+                        .setListValue(ListValue.newBuilder()
+                                .addValues(inner)
+                                .addValues(com.google.protobuf.Value.newBuilder().setNumberValue(2)))
+                        .build())
+                .putFields("none", com.google.protobuf.Value.newBuilder().setNullValue(NullValue.NULL_VALUE).build())
+                .build();
+
+        ResolveObjectResponse objectResponse = ResolveObjectResponse.newBuilder()
+                .setValue(objectValue)
+                .setVariant(OBJECT_VARIANT)
+                .setReason(DEFAULT.toString())
+                .build();
+
+        ServiceBlockingStub serviceBlockingStubMock = mock(ServiceBlockingStub.class);
+        when(serviceBlockingStubMock.withDeadlineAfter(anyLong(), any(TimeUnit.class)))
+                .thenReturn(serviceBlockingStubMock);
+        when(serviceBlockingStubMock.resolveObject(argThat(x -> {
+            final Map<String, com.google.protobuf.Value> valueMap = x.getContext().getFieldsMap();
+            final List<com.google.protobuf.Value> list = valueMap.get("list").getListValue().getValuesList();
+
+            return FLAG_KEY_OBJECT.equals(x.getFlagKey())
+                    && valueMap.get("targetingKey").hasNullValue()
+                    && "inner".equals(list.get(0).getStructValue().getFieldsMap().get("name").getStringValue())
+                    && list.get(1).getNumberValue() == 2;
+        }))).thenReturn(objectResponse);
+
+        GrpcConnector grpc = mock(GrpcConnector.class);
+        when(grpc.getResolver()).thenReturn(serviceBlockingStubMock);
+        OpenFeatureAPI.getInstance().setProvider(createProvider(grpc));
+
+        final MutableContext context = new MutableContext();
+        context.add("list", Arrays.asList(new Value(new MutableStructure().add("name", "inner")), new Value(2)));
+
+        FlagEvaluationDetails<Value> objectDetails =
+                api.getClient().getObjectDetails(FLAG_KEY_OBJECT, new Value(), context);
+
+        final List<Value> list = objectDetails.getValue().asStructure().getValue("list").asList();
+        assertEquals("inner", list.get(0).asStructure().getValue("name").asString());
+        assertEquals(2, list.get(1).asDouble());
+        assertTrue(objectDetails.getValue().asStructure().getValue("none").isNull());
+        assertEquals(OBJECT_VARIANT, objectDetails.getVariant());
+    }
+
     // Validates null handling - https://github.com/open-feature/java-sdk-contrib/issues/258
     @Test
     void null_context_handling() {
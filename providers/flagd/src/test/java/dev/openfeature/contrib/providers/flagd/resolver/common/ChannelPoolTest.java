@@ -0,0 +1,151 @@
+package dev.openfeature.contrib.providers.flagd.resolver.common;
+
+import io.grpc.CallOptions;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChannelPoolTest {
+
+    @Test
+    void callsAreSpreadRoundRobin() {
+        final ManagedChannel first = mock(ManagedChannel.class);
+        final ManagedChannel second = mock(ManagedChannel.class);
+        final ChannelPool pool = new ChannelPool(Arrays.asList(first, second));
+        final MethodDescriptor<?, ?> method = mock(MethodDescriptor.class);
+
+        for (int i = 0; i < 5; i++) {
+            pool.newCall(method, CallOptions.DEFAULT);
+        }
+
+        verify(first, times(3)).newCall(method, CallOptions.DEFAULT);
+        verify(second, times(2)).newCall(method, CallOptions.DEFAULT);
+    }
+
+    @Test
+    void lifecycleAppliesToAllChannels() throws InterruptedException {
+        final ManagedChannel first = mock(ManagedChannel.class);
+        final ManagedChannel second = mock(ManagedChannel.class);
+        final ChannelPool pool = new ChannelPool(Arrays.asList(first, second));
+
+        when(first.isShutdown()).thenReturn(true);
+        assertFalse(pool.isShutdown());
+
+        pool.shutdown();
+        verify(first).shutdown();
+        verify(second).shutdown();
+        assertTrue(pool.isShutdown());
+
+        final ChannelPool shutdownChannels = new ChannelPool(Arrays.asList(first, second));
+        when(second.isShutdown()).thenReturn(true);
+        assertTrue(shutdownChannels.isShutdown());
+
+        when(first.awaitTermination(anyLong(), eq(TimeUnit.NANOSECONDS))).thenReturn(true);
+        when(second.awaitTermination(anyLong(), eq(TimeUnit.NANOSECONDS))).thenReturn(false);
+        assertFalse(pool.awaitTermination(1, TimeUnit.SECONDS));
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    void stateIsTheMostAvailableStateOfTheChannels() {
+        final ManagedChannel first = mock(ManagedChannel.class);
+        final ManagedChannel second = mock(ManagedChannel.class);
+        final ChannelPool pool = new ChannelPool(Arrays.asList(first, second));
+
+        when(first.getState(anyBoolean())).thenReturn(ConnectivityState.TRANSIENT_FAILURE);
+        when(second.getState(anyBoolean())).thenReturn(ConnectivityState.CONNECTING);
+        assertEquals(ConnectivityState.CONNECTING, pool.getState(true));
+        verify(first).getState(true);
+        verify(second).getState(true);
+
+        when(first.getState(anyBoolean())).thenReturn(ConnectivityState.READY);
+        assertEquals(ConnectivityState.READY, pool.getState(false));
+
+        when(first.getState(anyBoolean())).thenReturn(ConnectivityState.SHUTDOWN);
+        when(second.getState(anyBoolean())).thenReturn(ConnectivityState.SHUTDOWN);
+        assertEquals(ConnectivityState.SHUTDOWN, pool.getState(false));
+    }
+
+    @Test
+    void stateChangesOfThePoolAreNotifiedOnce() {
+        final ManagedChannel first = mock(ManagedChannel.class);
+        final ManagedChannel second = mock(ManagedChannel.class);
+        final ChannelPool pool = new ChannelPool(Arrays.asList(first, second));
+
+        final AtomicReference<ConnectivityState> firstState = new AtomicReference<>(ConnectivityState.IDLE);
+        final AtomicReference<ConnectivityState> secondState = new AtomicReference<>(ConnectivityState.IDLE);
+        when(first.getState(anyBoolean())).thenAnswer(invocation -> firstState.get());
+        when(second.getState(anyBoolean())).thenAnswer(invocation -> secondState.get());
+
+        final AtomicReference<Runnable> firstListener = new AtomicReference<>();
+        final AtomicReference<Runnable> secondListener = new AtomicReference<>();
+        doAnswer(invocation -> {
+            firstListener.set(invocation.getArgument(1));
+            return null;
+        }).when(first).notifyWhenStateChanged(any(), any());
+        doAnswer(invocation -> {
+            secondListener.set(invocation.getArgument(1));
+            return null;
+        }).when(second).notifyWhenStateChanged(any(), any());
+
+        final AtomicInteger notifications = new AtomicInteger();
+        pool.notifyWhenStateChanged(ConnectivityState.IDLE, notifications::incrementAndGet);
+
+        // a channel failing while the other is idle leaves the pool idle, the channel is watched again
+        firstState.set(ConnectivityState.TRANSIENT_FAILURE);
+        final Runnable failed = firstListener.get();
+        failed.run();
+        assertEquals(0, notifications.get());
+        verify(first).notifyWhenStateChanged(ConnectivityState.TRANSIENT_FAILURE, firstListener.get());
+
+        secondState.set(ConnectivityState.READY);
+        secondListener.get().run();
+        firstListener.get().run();
+        assertEquals(1, notifications.get());
+
+        // a source other than the current state is notified right away
+        pool.notifyWhenStateChanged(ConnectivityState.IDLE, notifications::incrementAndGet);
+        assertEquals(2, notifications.get());
+    }
+
+    @Test
+    void connectionManagementAppliesToAllChannels() {
+        final ManagedChannel first = mock(ManagedChannel.class);
+        final ManagedChannel second = mock(ManagedChannel.class);
+        final ChannelPool pool = new ChannelPool(Arrays.asList(first, second));
+
+        pool.resetConnectBackoff();
+        pool.enterIdle();
+
+        verify(first).resetConnectBackoff();
+        verify(second).resetConnectBackoff();
+        verify(first).enterIdle();
+        verify(second).enterIdle();
+    }
+
+    @Test
+    void poolRequiresChannels() {
+        assertThrows(IllegalArgumentException.class, () -> new ChannelPool(Collections.emptyList()));
+    }
+}
@@ -0,0 +1,131 @@
+package dev.openfeature.contrib.providers.flagd.resolver.common;
+
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.StorageState;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.StorageStateChange;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayload;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayloadType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoalescingQueueTest {
+
+    @Test
+    void burstCollapsesIntoNewestPayload() {
+        // given
+        final CoalescingQueue<StreamPayload> queue = new CoalescingQueue<>(1, StreamPayload::latest);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            assertTrue(queue.offer(new StreamPayload(StreamPayloadType.DATA, "configuration-" + i)));
+        }
+
+        // then
+        assertEquals(1, queue.size());
+        assertEquals("configuration-9", queue.poll().getData());
+    }
+
+    @Test
+    void payloadsOfDifferentKindsKeepTheirOrder() {
+        // given
+        final CoalescingQueue<StreamPayload> queue = new CoalescingQueue<>(5, StreamPayload::latest);
+
+        // when
+        queue.offer(new StreamPayload(StreamPayloadType.DATA, "first"));
+        queue.offer(new StreamPayload(StreamPayloadType.ERROR, "error"));
+        queue.offer(new StreamPayload(StreamPayloadType.DATA, "second"));
+        queue.offer(new StreamPayload(StreamPayloadType.DATA, "third"));
+        queue.offer(new StreamPayload(StreamPayloadType.DATA, "source", 1));
+
+        // then
+        assertEquals("first", queue.poll().getData());
+        assertEquals("error", queue.poll().getData());
+        assertEquals("third", queue.poll().getData());
+        assertEquals("source", queue.poll().getData());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void allInsertionsCoalesce() throws InterruptedException {
+        // given
+        final CoalescingQueue<StreamPayload> queue = new CoalescingQueue<>(5, StreamPayload::latest);
+
+        // when
+        queue.add(new StreamPayload(StreamPayloadType.DATA, "first"));
+        queue.put(new StreamPayload(StreamPayloadType.DATA, "second"));
+        queue.offerFirst(new StreamPayload(StreamPayloadType.DATA, "third"));
+
+        // then
+        assertEquals(1, queue.size());
+        assertEquals("third", queue.poll().getData());
+    }
+
+    @Test
+    void fullQueueDropsOldestElement() {
+        // given
+        final CoalescingQueue<StreamPayload> queue = new CoalescingQueue<>(2, StreamPayload::latest);
+        final AtomicInteger drops = new AtomicInteger();
+        queue.setDropListener(drops::incrementAndGet);
+
+        // when
+        queue.offer(new StreamPayload(StreamPayloadType.DATA, "first"));
+        queue.offer(new StreamPayload(StreamPayloadType.ERROR, "error"));
+        queue.offer(new StreamPayload(StreamPayloadType.DATA, "second"));
+
+        // then the newest is never lost
+        assertEquals(1, drops.get());
+        assertEquals("error", queue.poll().getData());
+        assertEquals("second", queue.poll().getData());
+    }
+
+    @Test
+    void fullQueueKeepsChangedFlagsOfEvictedChanges() {
+        // given
+        final CoalescingQueue<StorageStateChange> queue = new CoalescingQueue<>(3, StorageStateChange::merge);
+        final AtomicInteger drops = new AtomicInteger();
+        queue.setDropListener(drops::incrementAndGet);
+
+        // when
+        queue.offer(new StorageStateChange(StorageState.OK, Collections.singletonList("a")));
+        queue.offer(new StorageStateChange(StorageState.STALE));
+        queue.offer(new StorageStateChange(StorageState.OK, Collections.singletonList("b")));
+        queue.offer(new StorageStateChange(StorageState.ERROR));
+
+        // then the oldest change is coalesced into the next change to the same state
+        assertEquals(1, drops.get());
+        assertEquals(StorageState.STALE, queue.poll().getStorageState());
+        final StorageStateChange change = queue.poll();
+        assertEquals(StorageState.OK, change.getStorageState());
+        assertEquals(Arrays.asList("a", "b"), change.getChangedFlagsKeys());
+        assertEquals(StorageState.ERROR, queue.poll().getStorageState());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void stateChangesMergeChangedFlags() {
+        // given
+        final CoalescingQueue<StorageStateChange> queue = new CoalescingQueue<>(1, StorageStateChange::merge);
+
+        // when
+        queue.offer(new StorageStateChange(StorageState.OK, Arrays.asList("a", "b")));
+        queue.offer(new StorageStateChange(StorageState.OK, Arrays.asList("b", "c")));
+
+        // then
+        final StorageStateChange change = queue.poll();
+        assertEquals(StorageState.OK, change.getStorageState());
+        assertEquals(Arrays.asList("a", "b", "c"), change.getChangedFlagsKeys());
+
+        // when
+        queue.offer(new StorageStateChange(StorageState.OK, Collections.singletonList("a")));
+        queue.offer(new StorageStateChange(StorageState.ERROR));
+
+        // then the newest state wins
+        assertEquals(StorageState.ERROR, queue.poll().getStorageState());
+    }
+}
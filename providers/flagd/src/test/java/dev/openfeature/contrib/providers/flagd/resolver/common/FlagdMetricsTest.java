@@ -0,0 +1,78 @@
+package dev.openfeature.contrib.providers.flagd.resolver.common;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.DoubleHistogramBuilder;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongCounterBuilder;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.LongHistogramBuilder;
+import io.opentelemetry.api.metrics.Meter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FlagdMetricsTest {
+
+    @Test
+    void disabledWithoutOpenTelemetry() {
+        final FlagdMetrics metrics = FlagdMetrics.of(null);
+
+        assertSame(FlagdMetrics.NOOP, metrics);
+        assertFalse(metrics.isEnabled());
+        assertEquals(0, metrics.start());
+
+        // nothing to record to
+        metrics.recordEvaluation("flag", metrics.start());
+        metrics.recordCacheLookup("memo", true);
+    }
+
+    @Test
+    void recordsWithTheMeterOfOpenTelemetry() {
+        // given
+        final DoubleHistogram histogram = mock(DoubleHistogram.class);
+        final DoubleHistogramBuilder histogramBuilder = mock(DoubleHistogramBuilder.class, RETURNS_SELF);
+        when(histogramBuilder.build()).thenReturn(histogram);
+        final LongHistogramBuilder longHistogramBuilder = mock(LongHistogramBuilder.class, RETURNS_SELF);
+        when(longHistogramBuilder.build()).thenReturn(mock(LongHistogram.class));
+        when(histogramBuilder.ofLongs()).thenReturn(longHistogramBuilder);
+
+        final LongCounter counter = mock(LongCounter.class);
+        final LongCounterBuilder counterBuilder = mock(LongCounterBuilder.class, RETURNS_SELF);
+        when(counterBuilder.build()).thenReturn(counter);
+
+        final Meter meter = mock(Meter.class);
+        when(meter.histogramBuilder(anyString())).thenReturn(histogramBuilder);
+        when(meter.counterBuilder(anyString())).thenReturn(counterBuilder);
+
+        final OpenTelemetry openTelemetry = mock(OpenTelemetry.class);
+        when(openTelemetry.getMeter(FlagdMetrics.SCOPE)).thenReturn(meter);
+
+        // when
+        final FlagdMetrics metrics = FlagdMetrics.of(openTelemetry);
+        metrics.recordEvaluation("flag", metrics.start());
+        metrics.recordBulkEvaluation(metrics.start());
+        metrics.recordCacheLookup("memo", true);
+
+        // then
+        assertTrue(metrics.isEnabled());
+        verify(histogram).record(anyDouble(), eq(Attributes.of(AttributeKey.stringKey("feature_flag.key"), "flag")));
+        // bulk evaluations are measured apart, without flag key
+        verify(meter).histogramBuilder("flagd.evaluation.bulk.duration");
+        verify(histogram).record(anyDouble());
+        verify(counter).add(1, Attributes.of(AttributeKey.stringKey("flagd.cache"), "memo",
+                AttributeKey.booleanKey("flagd.cache.hit"), true));
+    }
+}
@@ -0,0 +1,91 @@
+package dev.openfeature.contrib.providers.flagd.resolver.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class QueueDispatcherTest {
+
+    @Test
+    void signallingQueueIsDrainedInOrder() throws Exception {
+        // given
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final SignallingQueue<Integer> queue = new SignallingQueue<>();
+        final BlockingQueue<Integer> delivered = new LinkedBlockingQueue<>();
+
+        // elements queued before the start are delivered too
+        queue.offer(0);
+
+        // when
+        final QueueDispatcher<Integer> dispatcher =
+                QueueDispatcher.start(queue, executor, delivered::offer, "test-dispatcher");
+        for (int i = 1; i < 100; i++) {
+            queue.put(i);
+        }
+
+        // then
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, delivered.poll(1, TimeUnit.SECONDS));
+        }
+
+        // when stopped
+        dispatcher.stop();
+        queue.offer(100);
+
+        // then
+        assertNull(delivered.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(Arrays.asList(100), Arrays.asList(queue.toArray()));
+        executor.shutdown();
+    }
+
+    @Test
+    void otherQueuesAreDrainedByThread() throws Exception {
+        // given
+        final BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+        final BlockingQueue<String> delivered = new LinkedBlockingQueue<>();
+
+        // when
+        final QueueDispatcher<String> dispatcher = QueueDispatcher.start(queue, runnable -> {
+            throw new AssertionError("executor must not be used");
+        }, delivered::offer, "test-dispatcher");
+        queue.put("first");
+        queue.put("second");
+
+        // then
+        assertEquals("first", delivered.poll(1, TimeUnit.SECONDS));
+        assertEquals("second", delivered.poll(1, TimeUnit.SECONDS));
+
+        dispatcher.stop();
+    }
+
+    @Test
+    void failingConsumerDoesNotStopDelivery() throws Exception {
+        // given
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final SignallingQueue<String> queue = new SignallingQueue<>();
+        final BlockingQueue<String> delivered = new LinkedBlockingQueue<>();
+
+        QueueDispatcher.start(queue, executor, element -> {
+            if ("invalid".equals(element)) {
+                throw new IllegalArgumentException(element);
+            }
+            delivered.offer(element);
+        }, "test-dispatcher");
+
+        // when
+        queue.offer("invalid");
+        queue.offer("valid");
+
+        // then
+        assertEquals("valid", delivered.poll(1, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+}
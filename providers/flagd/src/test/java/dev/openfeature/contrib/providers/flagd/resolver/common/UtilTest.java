@@ -0,0 +1,49 @@
+package dev.openfeature.contrib.providers.flagd.resolver.common;
+
+import dev.openfeature.sdk.exceptions.GeneralError;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class UtilTest {
+
+    @Test
+    void failedConditionKeepsItsCause() {
+        // given
+        final IllegalStateException cause = new IllegalStateException("unavailable");
+        final CompletableFuture<Void> condition = new CompletableFuture<>();
+        condition.completeExceptionally(cause);
+
+        // when
+        final GeneralError error = assertThrows(GeneralError.class, () -> Util.await(1000, condition));
+
+        // then
+        assertSame(cause, error.getCause());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void busyWaitReturnsOnceChecked() throws Exception {
+        // given
+        final AtomicBoolean check = new AtomicBoolean();
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        executor.schedule(() -> check.set(true), 100, TimeUnit.MILLISECONDS);
+
+        // then
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(1), () -> Util.busyWaitAndCheck(2000L, check));
+            assertThrows(GeneralError.class, () -> Util.busyWaitAndCheck(100L, new AtomicBoolean()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
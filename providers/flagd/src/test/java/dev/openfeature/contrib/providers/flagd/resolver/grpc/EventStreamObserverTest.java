@@ -33,16 +33,14 @@ class EventStreamObserverTest {
         List<ProviderState> states;
         EventStreamObserver stream;
         Runnable reconnect;
-        Object sync;
 
         @BeforeEach
         void setUp() {
             states = new ArrayList<>();
-            sync = new Object();
             cache = mock(Cache.class);
             reconnect = mock(Runnable.class);
             when(cache.getEnabled()).thenReturn(true);
-            stream = new EventStreamObserver(sync, cache, state -> states.add(state));
+            stream = new EventStreamObserver(reconnect, cache, state -> states.add(state));
         }
 
         @Test
@@ -2,14 +2,15 @@ package dev.openfeature.contrib.providers.flagd.resolver.grpc;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
@@ -17,25 +18,30 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Field;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledOnOs;
 import org.junit.jupiter.api.condition.OS;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
-import org.mockito.MockedConstruction;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 
 import dev.openfeature.contrib.providers.flagd.FlagdOptions;
 import dev.openfeature.contrib.providers.flagd.resolver.grpc.cache.Cache;
+import dev.openfeature.flagd.grpc.evaluation.Evaluation.EventStreamResponse;
 import dev.openfeature.flagd.grpc.evaluation.ServiceGrpc;
 import dev.openfeature.flagd.grpc.evaluation.ServiceGrpc.ServiceBlockingStub;
 import dev.openfeature.flagd.grpc.evaluation.ServiceGrpc.ServiceStub;
 import io.grpc.Channel;
+import io.grpc.ManagedChannel;
 import io.grpc.netty.NettyChannelBuilder;
+import io.grpc.stub.StreamObserver;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.unix.DomainSocketAddress;
 import uk.org.webcompere.systemstubs.environment.EnvironmentVariables;
 
@@ -55,7 +61,11 @@ public class GrpcConnectorTest {
         final Cache cache = new Cache("disabled", 0);
 
         final ServiceGrpc.ServiceStub mockStub = mock(ServiceGrpc.ServiceStub.class);
-        doAnswer(invocation -> null).when(mockStub).eventStream(any(), any());
+        final AtomicReference<StreamObserver<EventStreamResponse>> observer = new AtomicReference<>();
+        doAnswer(invocation -> {
+            observer.set(invocation.getArgument(1));
+            return null;
+        }).when(mockStub).eventStream(any(), any());
 
         final GrpcConnector connector = new GrpcConnector(options, cache, (state) -> {
         });
@@ -64,25 +74,14 @@ public class GrpcConnectorTest {
         serviceStubField.setAccessible(true);
         serviceStubField.set(connector, mockStub);
 
-        final Object syncObject = new Object();
-
-        Field syncField = GrpcConnector.class.getDeclaredField("sync");
-        syncField.setAccessible(true);
-        syncField.set(connector, syncObject);
-
-        try {
-            connector.initialize();
-        } catch (Exception e) {
-            // ignored - we expect the failure and this test validate retry attempts
-        }
+        connector.initializeAsync();
 
         for (int i = 1; i < retries; i++) {
             // verify invocation with enough timeout value
             verify(mockStub, timeout(2L * i * backoffMs).times(i)).eventStream(any(), any());
 
-            synchronized (syncObject) {
-                syncObject.notify();
-            }
+            // end the stream, which is then restarted
+            observer.get().onCompleted();
         }
     }
 
@@ -100,12 +99,10 @@ public class GrpcConnectorTest {
         serviceStubField.setAccessible(true);
         serviceStubField.set(connector, mockStub);
 
-        // override default connected state variable
-        final AtomicBoolean connected = new AtomicBoolean(true);
-
-        Field syncField = GrpcConnector.class.getDeclaredField("connected");
-        syncField.setAccessible(true);
-        syncField.set(connector, connected);
+        // override default readiness
+        Field readyField = GrpcConnector.class.getDeclaredField("ready");
+        readyField.setAccessible(true);
+        readyField.set(connector, CompletableFuture.completedFuture(null));
 
         assertDoesNotThrow(connector::initialize);
     }
@@ -209,22 +206,16 @@ public class GrpcConnectorTest {
                     .thenReturn(mockStub);
 
             try (MockedStatic<NettyChannelBuilder> mockStaticChannelBuilder = mockStatic(NettyChannelBuilder.class)) {
+                when(NettyChannelBuilder.forAddress(any(DomainSocketAddress.class))).thenReturn(mockChannelBuilder);
 
-                try (MockedConstruction<EpollEventLoopGroup> mockEpollEventLoopGroup = mockConstruction(
-                        EpollEventLoopGroup.class,
-                        (mock, context) -> {
-                        })) {
-                    when(NettyChannelBuilder.forAddress(any(DomainSocketAddress.class))).thenReturn(mockChannelBuilder);
-
-                    new GrpcConnector(FlagdOptions.builder().socketPath(path).build(), null, null);
+                new GrpcConnector(FlagdOptions.builder().socketPath(path).build(), null, null);
 
-                    // verify path matches
-                    mockStaticChannelBuilder.verify(() -> NettyChannelBuilder
-                            .forAddress(argThat((DomainSocketAddress d) -> {
-                                assertEquals(d.path(), path); // path should match
-                                return true;
-                            })), times(1));
-                }
+                // verify path matches
+                mockStaticChannelBuilder.verify(() -> NettyChannelBuilder
+                        .forAddress(argThat((DomainSocketAddress d) -> {
+                            assertEquals(d.path(), path); // path should match
+                            return true;
+                        })), times(1));
             }
         }
     }
@@ -251,27 +242,84 @@ public class GrpcConnectorTest {
 
                 try (MockedStatic<NettyChannelBuilder> mockStaticChannelBuilder = mockStatic(
                         NettyChannelBuilder.class)) {
+                    mockStaticChannelBuilder.when(() -> NettyChannelBuilder
+                            .forAddress(any(DomainSocketAddress.class))).thenReturn(mockChannelBuilder);
 
-                    try (MockedConstruction<EpollEventLoopGroup> mockEpollEventLoopGroup = mockConstruction(
-                            EpollEventLoopGroup.class,
-                            (mock, context) -> {
-                            })) {
-                        mockStaticChannelBuilder.when(() -> NettyChannelBuilder
-                                .forAddress(any(DomainSocketAddress.class))).thenReturn(mockChannelBuilder);
-
-                        new GrpcConnector(FlagdOptions.builder().build(), null, null);
-
-                        //verify path matches & called times(= 1 as we rely on reusable channel)
-                        mockStaticChannelBuilder.verify(() -> NettyChannelBuilder
-                                .forAddress(argThat((DomainSocketAddress d) -> {
-                                    return d.path() == path;
-                                })), times(1));
-                    }
+                    new GrpcConnector(FlagdOptions.builder().build(), null, null);
+
+                    //verify path matches & called times(= 1 as we rely on reusable channel)
+                    mockStaticChannelBuilder.verify(() -> NettyChannelBuilder
+                            .forAddress(argThat((DomainSocketAddress d) -> {
+                                return d.path() == path;
+                            })), times(1));
                 }
             }
         });
     }
 
+    /**
+     * OS Specific test - This test is valid only on Linux system as it rely on epoll availability
+     * */
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void domain_sockets_should_share_event_loop_group() {
+        NettyChannelBuilder mockChannelBuilder = getMockChannelBuilderSocket();
+        when(mockChannelBuilder.build()).thenAnswer(invocation -> mock(ManagedChannel.class));
+
+        try (MockedStatic<NettyChannelBuilder> mockStaticChannelBuilder = mockStatic(NettyChannelBuilder.class)) {
+            when(NettyChannelBuilder.forAddress(any(DomainSocketAddress.class))).thenReturn(mockChannelBuilder);
+
+            new GrpcConnector(FlagdOptions.builder().socketPath("/some/path").build(), null, null);
+            new GrpcConnector(FlagdOptions.builder().socketPath("/some/path").build(), null, null);
+
+            ArgumentCaptor<EventLoopGroup> groups = ArgumentCaptor.forClass(EventLoopGroup.class);
+            verify(mockChannelBuilder, times(2)).eventLoopGroup(groups.capture());
+            assertSame(groups.getAllValues().get(0), groups.getAllValues().get(1));
+        }
+    }
+
+    @Test
+    void channel_pool_size_should_build_one_channel_per_connection() {
+        NettyChannelBuilder mockChannelBuilder = getMockChannelBuilderSocket();
+        when(mockChannelBuilder.keepAliveTime(anyLong(), any(TimeUnit.class))).thenReturn(mockChannelBuilder);
+        when(mockChannelBuilder.build()).thenAnswer(invocation -> mock(ManagedChannel.class));
+
+        try (MockedStatic<NettyChannelBuilder> mockStaticChannelBuilder = mockStatic(NettyChannelBuilder.class)) {
+            mockStaticChannelBuilder.when(() -> NettyChannelBuilder
+                    .forAddress(anyString(), anyInt())).thenReturn(mockChannelBuilder);
+
+            new GrpcConnector(FlagdOptions.builder().channelPoolSize(3).keepAliveTimeMs(1000).tls(false).build(),
+                    null, null);
+
+            verify(mockChannelBuilder, times(3)).build();
+            verify(mockChannelBuilder, times(3)).keepAliveTime(1000, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Test
+    void unsupported_event_loop_group_should_be_rejected() {
+        final FlagdOptions options = FlagdOptions.builder()
+                .eventLoopGroup(mock(EventLoopGroup.class))
+                .tls(false)
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> new GrpcConnector(options, null, null));
+    }
+
+    /**
+     * OS Specific test - This test is valid only on Linux system as it rely on epoll availability
+     * */
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void domain_socket_should_reject_non_epoll_event_loop_group() {
+        final FlagdOptions options = FlagdOptions.builder()
+                .socketPath("/some/path")
+                .eventLoopGroup(mock(NioEventLoopGroup.class))
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> new GrpcConnector(options, null, null));
+    }
+
     private NettyChannelBuilder getMockChannelBuilderSocket() {
         NettyChannelBuilder mockChannelBuilder = mock(NettyChannelBuilder.class);
         when(mockChannelBuilder.eventLoopGroup(any(EventLoopGroup.class))).thenReturn(mockChannelBuilder);
@@ -1,8 +1,11 @@
 package dev.openfeature.contrib.providers.flagd.resolver.grpc.cache;
 
+import com.google.protobuf.Struct;
+import com.google.protobuf.Value;
 import dev.openfeature.sdk.ProviderEvaluation;
 import org.junit.jupiter.api.Test;
 
+import static dev.openfeature.contrib.providers.flagd.resolver.grpc.cache.CacheType.CONCURRENT;
 import static dev.openfeature.contrib.providers.flagd.resolver.grpc.cache.CacheType.DISABLED;
 import static dev.openfeature.contrib.providers.flagd.resolver.grpc.cache.CacheType.LRU;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -17,10 +20,12 @@ class CacheTest {
         // given
         final Cache disabled = new Cache(DISABLED.getValue(), 0);
         final Cache lru = new Cache(LRU.getValue(), 10);
+        final Cache concurrent = new Cache(CONCURRENT.getValue(), 10);
         final Cache undefined = new Cache("invalid", 10);
 
         // then
         assertTrue(lru.getEnabled());
+        assertTrue(concurrent.getEnabled());
         assertFalse(disabled.getEnabled());
         assertFalse(undefined.getEnabled());
     }
@@ -47,4 +52,172 @@ class CacheTest {
         // then
         assertNull(lru.get("key"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void contextOperationValidation() throws InterruptedException {
+        // given
+        final Cache lru = new Cache(LRU.getValue(), 10, 200, 10);
+        final Struct alice = Struct.newBuilder()
+                .putFields("targetingKey", Value.newBuilder().setStringValue("alice").build())
+                .build();
+        final Struct bob = Struct.newBuilder()
+                .putFields("targetingKey", Value.newBuilder().setStringValue("bob").build())
+                .build();
+
+        final ProviderEvaluation<Object> evaluation = ProviderEvaluation.builder()
+                .value("value")
+                .variant("one")
+                .build();
+
+        // when
+        lru.put("key", alice, evaluation);
+
+        // then
+        assertTrue(lru.isContextEnabled());
+        assertEquals(evaluation, lru.get("key", alice.toBuilder().build()));
+        assertNull(lru.get("key", bob));
+        assertNull(lru.get("key"));
+
+        // when
+        lru.remove("key");
+
+        // then
+        assertNull(lru.get("key", alice));
+
+        // when
+        lru.put("key", alice, evaluation);
+        Thread.sleep(250);
+
+        // then
+        assertNull(lru.get("key", alice));
+    }
+
+    @Test
+    void removingFlagKeepsContextsOfOtherFlags() {
+        for (String type : new String[]{LRU.getValue(), CONCURRENT.getValue()}) {
+            // given
+            final Cache cache = new Cache(type, 10, 60000, 2);
+            final Struct alice = Struct.newBuilder()
+                    .putFields("targetingKey", Value.newBuilder().setStringValue("alice").build())
+                    .build();
+            final Struct bob = Struct.newBuilder()
+                    .putFields("targetingKey", Value.newBuilder().setStringValue("bob").build())
+                    .build();
+            final ProviderEvaluation<Object> evaluation = ProviderEvaluation.builder()
+                    .value("value")
+                    .variant("one")
+                    .build();
+
+            // when
+            cache.put("key", alice, evaluation);
+            cache.put("key", bob, evaluation);
+            cache.remove("key");
+            cache.put("other", alice, evaluation);
+            cache.put("key", bob, evaluation);
+            cache.remove("other");
+
+            // then
+            assertNull(cache.get("key", alice), type);
+            assertNull(cache.get("other", alice), type);
+            assertEquals(evaluation, cache.get("key", bob), type);
+        }
+    }
+
+    @Test
+    void evaluationsRequestedBeforeChangeAreNotServed() {
+        for (String type : new String[]{LRU.getValue(), CONCURRENT.getValue()}) {
+            // given
+            final Cache cache = new Cache(type, 10, 60000, 10);
+            final Struct alice = Struct.newBuilder()
+                    .putFields("targetingKey", Value.newBuilder().setStringValue("alice").build())
+                    .build();
+            final ProviderEvaluation<Object> evaluation = ProviderEvaluation.builder()
+                    .value("value")
+                    .variant("one")
+                    .build();
+
+            // when evaluations requested before a removal complete after it
+            final long requested = cache.generation("key");
+            cache.remove("key");
+            cache.put("key", requested, evaluation);
+            cache.put("key", alice, requested, evaluation);
+
+            // then
+            assertNull(cache.get("key"), type);
+            assertNull(cache.get("key", alice), type);
+
+            // when evaluations requested before a removal complete before it
+            final long current = cache.generation("key");
+            cache.put("key", current, evaluation);
+            cache.put("key", alice, current, evaluation);
+            assertEquals(evaluation, cache.get("key", alice), type);
+            cache.clear();
+            cache.put("key", current, evaluation);
+
+            // then
+            assertNull(cache.get("key"), type);
+            assertNull(cache.get("key", alice), type);
+
+            // when evaluations are requested after the removal
+            cache.put("key", cache.generation("key"), evaluation);
+
+            // then
+            assertEquals(evaluation, cache.get("key"), type);
+        }
+    }
+
+    @Test
+    void contextCacheRequiresTtl() {
+        assertFalse(new Cache(LRU.getValue(), 10).isContextEnabled());
+        assertFalse(new Cache(DISABLED.getValue(), 10, 100, 10).isContextEnabled());
+    }
+
+    @Test
+    void concurrentOperationValidation() {
+        // given
+        final Cache concurrent = new Cache(CONCURRENT.getValue(), 1, 60000, 10);
+        final Struct context = Struct.newBuilder()
+                .putFields("targetingKey", Value.newBuilder().setStringValue("alice").build())
+                .build();
+
+        final ProviderEvaluation<Object> evaluation = ProviderEvaluation.builder()
+                .value("value")
+                .variant("one")
+                .build();
+
+        // when
+        concurrent.put("key", evaluation);
+        concurrent.put("key", context, evaluation);
+
+        // then
+        assertEquals(evaluation, concurrent.get("key"));
+        assertEquals(evaluation, concurrent.get("key", context));
+        assertNull(concurrent.get("other"));
+
+        // when
+        concurrent.put("other", evaluation);
+
+        // then
+        assertNull(concurrent.get("key"));
+        final CacheStats stats = concurrent.getStats();
+        assertEquals(2, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(1, stats.getEvictionCount());
+
+        // when
+        concurrent.remove("other");
+        concurrent.clear();
+
+        // then
+        assertNull(concurrent.get("other"));
+        assertNull(concurrent.get("key", context));
+    }
+
+    @Test
+    void lruDoesNotRecordStats() {
+        final Cache lru = new Cache(LRU.getValue(), 10);
+        lru.get("key");
+
+        assertEquals(CacheStats.EMPTY, lru.getStats());
+    }
+}
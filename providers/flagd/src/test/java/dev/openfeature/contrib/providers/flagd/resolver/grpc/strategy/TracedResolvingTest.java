@@ -1,14 +1,19 @@
 package dev.openfeature.contrib.providers.flagd.resolver.grpc.strategy;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.junit.jupiter.api.Test;
 
+import com.google.common.util.concurrent.SettableFuture;
 import com.google.protobuf.Message;
 
 import dev.openfeature.flagd.grpc.evaluation.Evaluation.ResolveBooleanRequest;
@@ -49,4 +54,33 @@ class TracedResolvingTest {
         verify(span, times(1)).end();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void asyncSpanEndsOnCompletion() throws Exception {
+        // given
+        final OpenTelemetry openTelemetry = mock(OpenTelemetry.class);
+        final Tracer tracer = mock(Tracer.class);
+        final SpanBuilder spanBuilder = mock(SpanBuilder.class);
+        final Span span = mock(Span.class);
+        final Message message = mock(Message.class);
+        final SettableFuture<Message> response = SettableFuture.create();
+
+        when(openTelemetry.getTracer(anyString())).thenReturn(tracer);
+        when(tracer.spanBuilder(anyString())).thenReturn(spanBuilder);
+        when(spanBuilder.setSpanKind(any())).thenReturn(spanBuilder);
+        when(spanBuilder.startSpan()).thenReturn(span);
+
+        final TracedResolving tracedResolving = new TracedResolving(openTelemetry);
+
+        // when
+        final CompletableFuture<Message> future =
+                tracedResolving.resolveAsync(m -> response, ResolveBooleanRequest.newBuilder().build(), "flagA");
+
+        // then
+        verify(span, never()).end();
+
+        response.set(message);
+
+        assertSame(message, future.get());
+        verify(span, times(1)).end();
+    }
+}
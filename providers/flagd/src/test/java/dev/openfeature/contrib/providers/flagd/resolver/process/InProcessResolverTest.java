@@ -4,10 +4,13 @@ import dev.openfeature.contrib.providers.flagd.Config;
 import dev.openfeature.contrib.providers.flagd.FlagdOptions;
 import dev.openfeature.contrib.providers.flagd.resolver.process.model.FeatureFlag;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.StorageState;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.StorageStateChange;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.file.FileConnector;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.grpc.GrpcStreamConnector;
+import dev.openfeature.sdk.ErrorCode;
 import dev.openfeature.sdk.ImmutableContext;
 import dev.openfeature.sdk.ImmutableMetadata;
+import dev.openfeature.sdk.ImmutableStructure;
 import dev.openfeature.sdk.MutableContext;
 import dev.openfeature.sdk.ProviderEvaluation;
 import dev.openfeature.sdk.ProviderState;
@@ -21,12 +24,15 @@ import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
+import java.util.function.BiConsumer;
 
 import static dev.openfeature.contrib.providers.flagd.resolver.process.MockFlags.BOOLEAN_FLAG;
 import static dev.openfeature.contrib.providers.flagd.resolver.process.MockFlags.DISABLED_FLAG;
@@ -38,9 +44,13 @@ import static dev.openfeature.contrib.providers.flagd.resolver.process.MockFlags
 import static dev.openfeature.contrib.providers.flagd.resolver.process.MockFlags.INT_FLAG;
 import static dev.openfeature.contrib.providers.flagd.resolver.process.MockFlags.OBJECT_FLAG;
 import static dev.openfeature.contrib.providers.flagd.resolver.process.MockFlags.VARIANT_MISMATCH_FLAG;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
@@ -63,11 +73,11 @@ class InProcessResolverTest {
     public void eventHandling() throws Throwable {
         // given
         // note - queues with adequate capacity
-        final BlockingQueue<StorageState> sender = new LinkedBlockingQueue<>(5);
+        final BlockingQueue<StorageStateChange> sender = new LinkedBlockingQueue<>(5);
         final BlockingQueue<ProviderState> receiver = new LinkedBlockingQueue<>(5);
 
         InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(new HashMap<>(), sender),
-                providerState -> {
+                (providerState, changedFlagsKeys) -> {
                     receiver.offer(providerState);
                 });
 
@@ -79,10 +89,10 @@ class InProcessResolverTest {
             }
         });
         initThread.start();
-        if (!sender.offer(StorageState.OK, 100, TimeUnit.MILLISECONDS)) {
+        if (!sender.offer(new StorageStateChange(StorageState.OK), 100, TimeUnit.MILLISECONDS)) {
             Assertions.fail("failed to send the event");
         }
-        if (!sender.offer(StorageState.ERROR, 100, TimeUnit.MILLISECONDS)) {
+        if (!sender.offer(new StorageStateChange(StorageState.ERROR), 100, TimeUnit.MILLISECONDS)) {
             Assertions.fail("failed to send the event");
         }
 
@@ -96,13 +106,38 @@ class InProcessResolverTest {
         });
     }
 
+    @Test
+    public void initAsyncCompletesOnceFlagsAreAvailable() throws Throwable {
+        // given
+        final BlockingQueue<StorageStateChange> sender = new LinkedBlockingQueue<>(5);
+
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(new HashMap<>(), sender),
+                (providerState, changedFlagsKeys) -> {
+                });
+
+        // when
+        final CompletableFuture<Void> ready = inProcessResolver.initAsync();
+
+        // then - not ready until the storage reports flags
+        assertFalse(ready.isDone());
+
+        // when
+        if (!sender.offer(new StorageStateChange(StorageState.OK), 100, TimeUnit.MILLISECONDS)) {
+            Assertions.fail("failed to send the event");
+        }
+
+        // then
+        assertDoesNotThrow(() -> ready.get(200, TimeUnit.MILLISECONDS));
+    }
+
     @Test
     public void simpleBooleanResolving() throws Exception {
         // given
         final Map<String, FeatureFlag> flagMap = new HashMap<>();
         flagMap.put("booleanFlag", BOOLEAN_FLAG);
 
-        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap), providerState -> {
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap),
+                (providerState, changedFlagsKeys) -> {
         });
 
         // when
@@ -121,7 +156,8 @@ class InProcessResolverTest {
         final Map<String, FeatureFlag> flagMap = new HashMap<>();
         flagMap.put("doubleFlag", DOUBLE_FLAG);
 
-        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap), providerState -> {
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap),
+                (providerState, changedFlagsKeys) -> {
         });
 
         // when
@@ -140,7 +176,8 @@ class InProcessResolverTest {
         final Map<String, FeatureFlag> flagMap = new HashMap<>();
         flagMap.put("doubleFlag", DOUBLE_FLAG);
 
-        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap), providerState -> {
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap),
+                (providerState, changedFlagsKeys) -> {
         });
 
         // when
@@ -159,7 +196,8 @@ class InProcessResolverTest {
         final Map<String, FeatureFlag> flagMap = new HashMap<>();
         flagMap.put("integerFlag", INT_FLAG);
 
-        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap), providerState -> {
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap),
+                (providerState, changedFlagsKeys) -> {
         });
 
         // when
@@ -178,7 +216,8 @@ class InProcessResolverTest {
         final Map<String, FeatureFlag> flagMap = new HashMap<>();
         flagMap.put("integerFlag", INT_FLAG);
 
-        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap), providerState -> {
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap),
+                (providerState, changedFlagsKeys) -> {
         });
 
         // when
@@ -197,7 +236,8 @@ class InProcessResolverTest {
         final Map<String, FeatureFlag> flagMap = new HashMap<>();
         flagMap.put("objectFlag", OBJECT_FLAG);
 
-        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap), providerState -> {
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap),
+                (providerState, changedFlagsKeys) -> {
         });
 
         Map<String, Object> typeDefault = new HashMap<>();
@@ -218,12 +258,80 @@ class InProcessResolverTest {
         assertEquals("typeA", providerEvaluation.getVariant());
     }
 
+    @Test
+    public void staticEvaluationIsShared() throws Exception {
+        // given
+        final Map<String, FeatureFlag> flagMap = new HashMap<>();
+        flagMap.put("objectFlag", OBJECT_FLAG);
+
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap),
+                (providerState, changedFlagsKeys) -> {
+                });
+
+        // when
+        ProviderEvaluation<Value> first = inProcessResolver.objectEvaluation("objectFlag",
+                new Value(), new ImmutableContext());
+        ProviderEvaluation<Value> second = inProcessResolver.objectEvaluation("objectFlag",
+                new Value(), new ImmutableContext("user"));
+
+        // then the immutable value is shared, each caller gets its own evaluation
+        assertNotSame(first, second);
+        assertSame(first.getValue(), second.getValue());
+        assertInstanceOf(ImmutableStructure.class, first.getValue().asStructure());
+        assertEquals("0165", second.getValue().asStructure().getValue("key").asString());
+
+        // changes of an evaluation do not leak into later evaluations
+        first.setReason(Reason.ERROR.toString());
+        assertEquals(Reason.STATIC.toString(), inProcessResolver.objectEvaluation("objectFlag",
+                new Value(), new ImmutableContext()).getReason());
+    }
+
+    @Test
+    public void targetedEvaluationsAreMemoized() throws Exception {
+        // given
+        final Map<String, FeatureFlag> flagMap = new HashMap<>();
+        flagMap.put("stringFlag", new FeatureFlag("ENABLED", "loop", MockFlags.stringVariants,
+                "{\"if\":[{\"in\":[\"@faas.com\",{\"var\":[\"email\"]}]},\"binet\",null]}"));
+        flagMap.put("timedFlag", new FeatureFlag("ENABLED", "loop", MockFlags.stringVariants,
+                "{\"if\":[{\">\":[{\"var\":\"$flagd.timestamp\"},0]},\"binet\",null]}"));
+
+        InProcessResolver inProcessResolver = getInProcessResolverWth(
+                FlagdOptions.builder().evaluationMemoSize(10).build(), new MockStorage(flagMap));
+
+        final MutableContext context = new MutableContext("user-1");
+        context.add("email", "abc@faas.com");
+
+        // when
+        ProviderEvaluation<String> first = inProcessResolver.stringEvaluation("stringFlag", "", context);
+        ProviderEvaluation<String> second = inProcessResolver.stringEvaluation("stringFlag", "",
+                new MutableContext("user-2").add("email", "abc@faas.com"));
+        context.add("email", "abc@example.com");
+        ProviderEvaluation<String> changed = inProcessResolver.stringEvaluation("stringFlag", "", context);
+
+        // then evaluations are memoized for contexts with the same attributes read by the rule
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertEquals("binetAlg", first.getValue());
+        assertEquals("loopAlg", changed.getValue());
+        assertEquals(Reason.DEFAULT.toString(), changed.getReason());
+
+        // changes of a memoized evaluation do not leak into later evaluations
+        first.setValue("changed");
+        assertEquals("binetAlg", inProcessResolver.stringEvaluation("stringFlag", "",
+                new MutableContext("user-3").add("email", "abc@faas.com")).getValue());
+
+        // rules reading the timestamp are evaluated every time
+        assertNotSame(inProcessResolver.stringEvaluation("timedFlag", "", context),
+                inProcessResolver.stringEvaluation("timedFlag", "", context));
+    }
+
     @Test
     public void missingFlag() throws Exception {
         // given
         final Map<String, FeatureFlag> flagMap = new HashMap<>();
 
-        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap), providerState -> {
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap),
+                (providerState, changedFlagsKeys) -> {
         });
 
         // when/then
@@ -239,7 +347,8 @@ class InProcessResolverTest {
         final Map<String, FeatureFlag> flagMap = new HashMap<>();
         flagMap.put("disabledFlag", DISABLED_FLAG);
 
-        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap), providerState -> {
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap),
+                (providerState, changedFlagsKeys) -> {
         });
 
         // when/then
@@ -254,7 +363,8 @@ class InProcessResolverTest {
         final Map<String, FeatureFlag> flagMap = new HashMap<>();
         flagMap.put("mismatchFlag", VARIANT_MISMATCH_FLAG);
 
-        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap), providerState -> {
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap),
+                (providerState, changedFlagsKeys) -> {
         });
 
         // when/then
@@ -269,7 +379,8 @@ class InProcessResolverTest {
         final Map<String, FeatureFlag> flagMap = new HashMap<>();
         flagMap.put("stringFlag", BOOLEAN_FLAG);
 
-        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap), providerState -> {
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap),
+                (providerState, changedFlagsKeys) -> {
         });
 
         // when/then
@@ -284,7 +395,8 @@ class InProcessResolverTest {
         final Map<String, FeatureFlag> flagMap = new HashMap<>();
         flagMap.put("shorthand", FLAG_WIH_SHORTHAND_TARGETING);
 
-        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap), providerState -> {
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap),
+                (providerState, changedFlagsKeys) -> {
         });
 
         ProviderEvaluation<Boolean> providerEvaluation = inProcessResolver.booleanEvaluation("shorthand", false,
@@ -296,13 +408,39 @@ class InProcessResolverTest {
         assertEquals(Reason.TARGETING_MATCH.toString(), providerEvaluation.getReason());
     }
 
+    @Test
+    public void evaluateAllSharesContext() throws Exception {
+        // given
+        final Map<String, FeatureFlag> flagMap = new HashMap<>();
+        flagMap.put("booleanFlag", BOOLEAN_FLAG);
+        flagMap.put("stringFlag", FLAG_WIH_IF_IN_TARGET);
+
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap),
+                (providerState, changedFlagsKeys) -> {
+        });
+
+        // when
+        Map<String, ProviderEvaluation<Value>> evaluations = inProcessResolver.evaluateAll(
+                Arrays.asList("booleanFlag", "stringFlag", "missingFlag"),
+                new MutableContext().add("email", "abc@faas.com"));
+
+        // then
+        assertEquals(3, evaluations.size());
+        assertEquals(new Value(true), evaluations.get("booleanFlag").getValue());
+        assertEquals(Reason.STATIC.toString(), evaluations.get("booleanFlag").getReason());
+        assertEquals(new Value("binetAlg"), evaluations.get("stringFlag").getValue());
+        assertEquals(Reason.TARGETING_MATCH.toString(), evaluations.get("stringFlag").getReason());
+        assertEquals(ErrorCode.FLAG_NOT_FOUND, evaluations.get("missingFlag").getErrorCode());
+    }
+
     @Test
     public void targetingMatchedEvaluationFlag() throws Exception {
         // given
         final Map<String, FeatureFlag> flagMap = new HashMap<>();
         flagMap.put("stringFlag", FLAG_WIH_IF_IN_TARGET);
 
-        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap), providerState -> {
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap),
+                (providerState, changedFlagsKeys) -> {
         });
 
         // when
@@ -321,7 +459,8 @@ class InProcessResolverTest {
         final Map<String, FeatureFlag> flagMap = new HashMap<>();
         flagMap.put("stringFlag", FLAG_WIH_IF_IN_TARGET);
 
-        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap), providerState -> {
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap),
+                (providerState, changedFlagsKeys) -> {
         });
 
         // when
@@ -340,7 +479,8 @@ class InProcessResolverTest {
         final Map<String, FeatureFlag> flagMap = new HashMap<>();
         flagMap.put("stringFlag", FLAG_WITH_TARGETING_KEY);
 
-        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap), providerState -> {
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap),
+                (providerState, changedFlagsKeys) -> {
         });
 
         // when
@@ -359,7 +499,8 @@ class InProcessResolverTest {
         final Map<String, FeatureFlag> flagMap = new HashMap<>();
         flagMap.put("targetingErrorFlag", FLAG_WIH_INVALID_TARGET);
 
-        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap), providerState -> {
+        InProcessResolver inProcessResolver = getInProcessResolverWth(new MockStorage(flagMap),
+                (providerState, changedFlagsKeys) -> {
         });
 
         // when/then
@@ -392,13 +533,13 @@ class InProcessResolverTest {
     private InProcessResolver getInProcessResolverWth(final FlagdOptions options, final MockStorage storage)
             throws NoSuchFieldException, IllegalAccessException {
 
-        final InProcessResolver resolver = new InProcessResolver(options, providerState -> {});
+        final InProcessResolver resolver = new InProcessResolver(options, (providerState, changedFlagsKeys) -> {});
         return injectFlagStore(resolver, storage);
     }
 
 
     private InProcessResolver getInProcessResolverWth(final MockStorage storage,
-                                                      final Consumer<ProviderState> stateConsumer)
+                                                      final BiConsumer<ProviderState, List<String>> stateConsumer)
             throws NoSuchFieldException, IllegalAccessException {
 
         final InProcessResolver resolver = new InProcessResolver(
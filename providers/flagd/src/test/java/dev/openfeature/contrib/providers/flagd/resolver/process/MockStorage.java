@@ -2,7 +2,7 @@ package dev.openfeature.contrib.providers.flagd.resolver.process;
 
 import dev.openfeature.contrib.providers.flagd.resolver.process.model.FeatureFlag;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.Storage;
-import dev.openfeature.contrib.providers.flagd.resolver.process.storage.StorageState;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.StorageStateChange;
 
 import javax.annotation.Nullable;
 import java.util.Map;
@@ -11,9 +11,9 @@ import java.util.concurrent.BlockingQueue;
 class MockStorage implements Storage {
 
     private final Map<String, FeatureFlag> mockFlags;
-    private final BlockingQueue<StorageState> mockQueue;
+    private final BlockingQueue<StorageStateChange> mockQueue;
 
-    MockStorage(Map<String, FeatureFlag> mockFlags, BlockingQueue<StorageState> mockQueue) {
+    MockStorage(Map<String, FeatureFlag> mockFlags, BlockingQueue<StorageStateChange> mockQueue) {
         this.mockFlags = mockFlags;
         this.mockQueue = mockQueue;
     }
@@ -36,7 +36,7 @@ class MockStorage implements Storage {
     }
 
     @Nullable
-    public BlockingQueue<StorageState> getStateQueue() {
+    public BlockingQueue<StorageStateChange> getStateQueue() {
         return mockQueue;
     }
 }
@@ -13,6 +13,8 @@ import static dev.openfeature.contrib.providers.flagd.resolver.process.TestUtils
 import static dev.openfeature.contrib.providers.flagd.resolver.process.TestUtils.getFlagsFromResource;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class FlagParserTest {
@@ -64,9 +66,55 @@ class FlagParserTest {
 
         assertEquals("{\"if\":[{\"in\":[\"@faas.com\",{\"var\":[\"email\"]}]},\"binet\",null]}",
                 stringFlag.getTargeting());
+        assertNotNull(stringFlag.getTargetingRule());
     }
 
 
+    @Test
+    public void unchangedFlagsAreReused() throws IOException {
+        final String configuration = getFlagsFromResource(VALID_LONG);
+        Map<String, FeatureFlag> previous = FlagParser.parseString(configuration, true);
+
+        Map<String, FeatureFlag> flagMap = FlagParser.parseString(
+                configuration.replace("\"defaultVariant\": \"key1\"", "\"defaultVariant\": \"key2\""), true,
+                previous);
+
+        assertSame(previous.get("myBoolFlag"), flagMap.get("myBoolFlag"));
+        assertSame(previous.get("fibAlgo"), flagMap.get("fibAlgo"));
+        assertNotSame(previous.get("myStringFlag"), flagMap.get("myStringFlag"));
+        assertEquals("key2", flagMap.get("myStringFlag").getDefaultVariant());
+
+        // both halves of the hash are padded, hence hashes are fixed width
+        for (FeatureFlag flag : flagMap.values()) {
+            assertEquals(32, flag.getContentHash().length());
+        }
+    }
+
+    @Test
+    public void nestedEvaluatorReferencesAreResolved() throws IOException {
+        final String configuration = "{\"flags\":{\"flag\":{\"state\":\"ENABLED\","
+                + "\"variants\":{\"a\":\"a\",\"b\":\"b\"},\"defaultVariant\":\"a\","
+                + "\"targeting\":{\"if\":[{\"$ref\":\"outer\"},\"b\",null]}}},"
+                + "\"$evaluators\":{\"outer\":{\"and\":[{\"$ref\":\"inner\"},true]},"
+                + "\"inner\":{\"in\":[\"@faas.com\",{\"var\":\"email\"}]}}}";
+
+        Map<String, FeatureFlag> flagMap = FlagParser.parseString(configuration, true);
+
+        assertEquals("{\"if\":[{\"and\":[{\"in\":[\"@faas.com\",{\"var\":\"email\"}]},true]},\"b\",null]}",
+                flagMap.get("flag").getTargeting());
+    }
+
+    @Test
+    public void cyclicEvaluatorReferencesThrowError() {
+        final String configuration = "{\"flags\":{\"flag\":{\"state\":\"ENABLED\","
+                + "\"variants\":{\"a\":\"a\"},\"defaultVariant\":\"a\","
+                + "\"targeting\":{\"$ref\":\"first\"}}},"
+                + "\"$evaluators\":{\"first\":{\"!\":{\"$ref\":\"second\"}},"
+                + "\"second\":{\"!\":{\"$ref\":\"first\"}}}}";
+
+        assertThrows(IllegalArgumentException.class, () -> FlagParser.parseString(configuration, false));
+    }
+
     @Test
     public void invalidFlagThrowsError() {
         assertThrows(IllegalArgumentException.class, () -> {
@@ -1,18 +1,35 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.storage;
 
+import dev.openfeature.contrib.providers.flagd.resolver.process.model.FeatureFlag;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayload;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayloadType;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
 
 import static dev.openfeature.contrib.providers.flagd.resolver.process.TestUtils.INVALID_FLAG;
 import static dev.openfeature.contrib.providers.flagd.resolver.process.TestUtils.VALID_LONG;
 import static dev.openfeature.contrib.providers.flagd.resolver.process.TestUtils.VALID_SIMPLE;
 import static dev.openfeature.contrib.providers.flagd.resolver.process.TestUtils.getFlagsFromResource;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 class FlagStoreTest {
@@ -25,7 +42,7 @@ class FlagStoreTest {
         FlagStore store = new FlagStore(new MockConnector(payload), true);
 
         store.init();
-        final BlockingQueue<StorageState> states = store.getStateQueue();
+        final BlockingQueue<StorageStateChange> states = store.getStateQueue();
 
         // OK for simple flag
         assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
@@ -33,7 +50,7 @@ class FlagStoreTest {
         });
 
         assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
-            assertEquals(StorageState.OK,  states.take());
+            assertEquals(StorageState.OK,  states.take().getStorageState());
         });
 
         // STALE for invalid flag
@@ -42,7 +59,7 @@ class FlagStoreTest {
         });
 
         assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
-            assertEquals(StorageState.STALE,  states.take());
+            assertEquals(StorageState.STALE,  states.take().getStorageState());
         });
 
         // OK again for next payload
@@ -51,7 +68,7 @@ class FlagStoreTest {
         });
 
         assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
-            assertEquals(StorageState.OK,  states.take());
+            assertEquals(StorageState.OK,  states.take().getStorageState());
         });
 
         // ERROR is propagated correctly
@@ -60,15 +77,262 @@ class FlagStoreTest {
         });
 
         assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
-            assertEquals(StorageState.ERROR,  states.take());
+            assertEquals(StorageState.ERROR,  states.take().getStorageState());
         });
 
         // Shutdown handling
         store.shutdown();
 
         assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
-            assertEquals(StorageState.ERROR,  states.take());
+            assertEquals(StorageState.ERROR,  states.take().getStorageState());
         });
     }
 
+    @Test
+    public void flagSnapshotReplacedOnUpdate() throws Exception {
+        final int maxDelay = 500;
+
+        final BlockingQueue<StreamPayload> payload = new LinkedBlockingQueue<>();
+        FlagStore store = new FlagStore(new MockConnector(payload), true);
+
+        store.init();
+        final BlockingQueue<StorageStateChange> states = store.getStateQueue();
+
+        // full configuration
+        payload.offer(new StreamPayload(StreamPayloadType.DATA, getFlagsFromResource(VALID_LONG)));
+        assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
+            assertEquals(StorageState.OK,  states.take().getStorageState());
+        });
+
+        assertNotNull(store.getFlag("myBoolFlag"));
+        assertNotNull(store.getFlag("fibAlgo"));
+
+        // reduced configuration replaces the whole snapshot
+        payload.offer(new StreamPayload(StreamPayloadType.DATA, getFlagsFromResource(VALID_SIMPLE)));
+        assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
+            assertEquals(StorageState.OK,  states.take().getStorageState());
+        });
+
+        assertNotNull(store.getFlag("myBoolFlag"));
+        assertNull(store.getFlag("fibAlgo"));
+
+        store.shutdown();
+    }
+
+    @Test
+    public void changedFlagsAreReported() throws Exception {
+        final int maxDelay = 500;
+        final String longConfiguration = getFlagsFromResource(VALID_LONG);
+
+        final BlockingQueue<StreamPayload> payload = new LinkedBlockingQueue<>();
+        FlagStore store = new FlagStore(new MockConnector(payload), true);
+
+        store.init();
+        final BlockingQueue<StorageStateChange> states = store.getStateQueue();
+
+        // initial payload - all flags are new
+        payload.offer(new StreamPayload(StreamPayloadType.DATA, longConfiguration));
+        assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
+            StorageStateChange change = states.take();
+            assertEquals(StorageState.OK, change.getStorageState());
+            assertEquals(7, change.getChangedFlagsKeys().size());
+        });
+
+        final FeatureFlag boolFlag = store.getFlag("myBoolFlag");
+
+        // single flag change
+        payload.offer(new StreamPayload(StreamPayloadType.DATA,
+                longConfiguration.replace("\"defaultVariant\": \"key1\"", "\"defaultVariant\": \"key2\"")));
+        assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
+            StorageStateChange change = states.take();
+            assertEquals(StorageState.OK, change.getStorageState());
+            assertEquals(Collections.singletonList("myStringFlag"), change.getChangedFlagsKeys());
+        });
+
+        assertEquals("key2", store.getFlag("myStringFlag").getDefaultVariant());
+        assertSame(boolFlag, store.getFlag("myBoolFlag"));
+
+        // evaluator change affects only the flags referring it
+        payload.offer(new StreamPayload(StreamPayloadType.DATA,
+                longConfiguration.replace("@faas.com", "@faas.dev")
+                        .replace("\"defaultVariant\": \"key1\"", "\"defaultVariant\": \"key2\"")));
+        assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
+            StorageStateChange change = states.take();
+            assertEquals(StorageState.OK, change.getStorageState());
+            assertEquals(Collections.singletonList("fibAlgo"), change.getChangedFlagsKeys());
+        });
+
+        // removed flags are reported
+        payload.offer(new StreamPayload(StreamPayloadType.DATA, getFlagsFromResource(VALID_SIMPLE)));
+        assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
+            StorageStateChange change = states.take();
+            assertEquals(StorageState.OK, change.getStorageState());
+            assertEquals(6, change.getChangedFlagsKeys().size());
+            assertFalse(change.getChangedFlagsKeys().contains("myBoolFlag"));
+        });
+
+        store.shutdown();
+    }
+
+    @Test
+    public void sourcesAreMergedByPrecedence() throws Exception {
+        final int maxDelay = 500;
+        final String lowFlags = "{\"flags\":{"
+                + "\"shared\":{\"state\":\"ENABLED\",\"variants\":{\"on\":true,\"off\":false},\"defaultVariant\":\"off\"},"
+                + "\"low\":{\"state\":\"ENABLED\",\"variants\":{\"on\":true,\"off\":false},\"defaultVariant\":\"off\"}}}";
+        final String highFlags = "{\"flags\":{"
+                + "\"shared\":{\"state\":\"ENABLED\",\"variants\":{\"on\":true,\"off\":false},\"defaultVariant\":\"on\"}}}";
+
+        final BlockingQueue<StreamPayload> payload = new LinkedBlockingQueue<>();
+        FlagStore store = new FlagStore(new MockConnector(payload), true);
+
+        store.init();
+        final BlockingQueue<StorageStateChange> states = store.getStateQueue();
+
+        payload.offer(new StreamPayload(StreamPayloadType.DATA, lowFlags, 0));
+        assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
+            assertEquals(StorageState.OK,  states.take().getStorageState());
+        });
+
+        payload.offer(new StreamPayload(StreamPayloadType.DATA, highFlags, 1));
+        assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
+            assertEquals(StorageState.OK,  states.take().getStorageState());
+        });
+
+        // the later source takes precedence
+        assertEquals("on", store.getFlag("shared").getDefaultVariant());
+        assertEquals("off", store.getFlag("low").getDefaultVariant());
+        final FeatureFlag shared = store.getFlag("shared");
+
+        // a change of the other source keeps the flags of the later source
+        payload.offer(new StreamPayload(StreamPayloadType.DATA, lowFlags.replace("low", "renamed"), 0));
+        assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
+            StorageStateChange change = states.take();
+            assertEquals(StorageState.OK, change.getStorageState());
+            assertEquals(2, change.getChangedFlagsKeys().size());
+            assertFalse(change.getChangedFlagsKeys().contains("shared"));
+        });
+
+        assertSame(shared, store.getFlag("shared"));
+        assertNull(store.getFlag("low"));
+        assertNotNull(store.getFlag("renamed"));
+
+        store.shutdown();
+    }
+
+    @Test
+    public void snapshotIsLoadedOnInitialization(@TempDir Path dir) throws Exception {
+        final int maxDelay = 500;
+        final Path snapshot = dir.resolve("flags.snapshot");
+
+        // given a store persisting its configuration
+        final BlockingQueue<StreamPayload> payload = new LinkedBlockingQueue<>();
+        final FlagStore store = new FlagStore(new MockConnector(payload), true, snapshot.toString());
+        store.init();
+
+        payload.offer(new StreamPayload(StreamPayloadType.DATA, getFlagsFromResource(VALID_LONG)));
+        assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
+            assertEquals(StorageState.OK,  store.getStateQueue().take().getStorageState());
+            while (!Files.exists(snapshot)) {
+                Thread.sleep(10);
+            }
+        });
+        store.shutdown();
+
+        // when a store starts with a silent connector
+        final FlagStore warmStore = new FlagStore(new MockConnector(new LinkedBlockingQueue<>()), true,
+                snapshot.toString());
+        warmStore.init();
+
+        // then flags of the snapshot are available
+        assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
+            StorageStateChange change = warmStore.getStateQueue().take();
+            assertEquals(StorageState.OK, change.getStorageState());
+            assertEquals(7, change.getChangedFlagsKeys().size());
+        });
+        assertNotNull(warmStore.getFlag("myBoolFlag"));
+
+        warmStore.shutdown();
+    }
+
+    @Test
+    public void snapshotIsWrittenByTheStoreExecutor(@TempDir Path dir) throws Exception {
+        final int maxDelay = 500;
+        final Path snapshot = dir.resolve("flags.snapshot");
+
+        // given a store running its tasks with a given executor
+        final AtomicInteger tasks = new AtomicInteger();
+        final Executor executor = task -> {
+            tasks.incrementAndGet();
+            task.run();
+        };
+        final BlockingQueue<StreamPayload> payload = new LinkedBlockingQueue<>();
+        final FlagStore store = new FlagStore(new MockConnector(payload), true, snapshot.toString(), executor);
+        store.init();
+
+        // when a configuration is received
+        payload.offer(new StreamPayload(StreamPayloadType.DATA, getFlagsFromResource(VALID_LONG)));
+
+        // then the snapshot is written by a task of the executor
+        assertTimeoutPreemptively(Duration.ofMillis(maxDelay), ()-> {
+            assertEquals(StorageState.OK,  store.getStateQueue().take().getStorageState());
+            while (!Files.exists(snapshot)) {
+                Thread.sleep(10);
+            }
+        });
+        assertEquals(1, tasks.get());
+
+        store.shutdown();
+    }
+
+    @Test
+    public void invalidSnapshotIsIgnored(@TempDir Path dir) throws Exception {
+        final Path snapshot = dir.resolve("flags.snapshot");
+        Files.write(snapshot, "not a snapshot".getBytes(StandardCharsets.UTF_8));
+
+        final FlagStore store = new FlagStore(new MockConnector(new LinkedBlockingQueue<>()), true,
+                snapshot.toString());
+        store.init();
+
+        assertNull(store.getStateQueue().poll());
+        assertNull(store.getFlag("myBoolFlag"));
+
+        store.shutdown();
+    }
+
+    @Test
+    public void snapshotOfOtherSourcesIsIgnored(@TempDir Path dir) throws Exception {
+        final Path snapshot = dir.resolve("flags.snapshot");
+        FlagSnapshot.write(snapshot.toString(), Collections.singletonList("file:other.json"),
+                Collections.singletonMap(0, getFlagsFromResource(VALID_LONG)));
+
+        final FlagStore store = new FlagStore(new MockConnector(new LinkedBlockingQueue<>()), true,
+                snapshot.toString());
+        store.init();
+
+        assertNull(store.getStateQueue().poll());
+        assertNull(store.getFlag("myBoolFlag"));
+
+        store.shutdown();
+    }
+
+    @Test
+    public void snapshotWithInvalidLengthIsRejected(@TempDir Path dir) throws Exception {
+        final Path snapshot = dir.resolve("flags.snapshot");
+        final List<String> sources = Collections.singletonList("file:flags.json");
+        final byte[] source = sources.get(0).getBytes(StandardCharsets.UTF_8);
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(Files.newOutputStream(snapshot)))) {
+            out.writeInt(FlagSnapshot.MAGIC);
+            out.writeInt(FlagSnapshot.VERSION);
+            out.writeInt(1);
+            out.writeInt(source.length);
+            out.write(source);
+            out.writeInt(1);
+            out.writeInt(0);
+            // length of a configuration which is not in the snapshot
+            out.writeInt(Integer.MAX_VALUE);
+        }
+
+        assertThrows(IOException.class, () -> FlagSnapshot.read(snapshot.toString(), sources));
+    }
 }
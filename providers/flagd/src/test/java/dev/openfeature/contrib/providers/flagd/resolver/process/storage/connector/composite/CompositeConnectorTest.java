@@ -0,0 +1,171 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.composite;
+
+import dev.openfeature.contrib.providers.flagd.resolver.common.SignallingQueue;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.Connector;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayload;
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayloadType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompositeConnectorTest {
+
+    @Test
+    void initialPayloadsAreHeldUntilAllSourcesDelivered() throws Exception {
+        // given
+        final QueueConnector first = new QueueConnector();
+        final QueueConnector second = new QueueConnector();
+        final CompositeConnector connector = new CompositeConnector(Arrays.asList(first, second));
+
+        // when
+        connector.init();
+        first.queue.put(new StreamPayload(StreamPayloadType.DATA, "first"));
+
+        // then
+        final BlockingQueue<StreamPayload> stream = connector.getStream();
+        assertNull(stream.poll(200, TimeUnit.MILLISECONDS));
+
+        // when
+        second.queue.put(new StreamPayload(StreamPayloadType.DATA, "second"));
+
+        // then payloads are tagged with their source, in order of precedence
+        StreamPayload payload = stream.poll(1, TimeUnit.SECONDS);
+        assertNotNull(payload);
+        assertEquals("first", payload.getData());
+        assertEquals(0, payload.getSource());
+
+        payload = stream.poll(1, TimeUnit.SECONDS);
+        assertNotNull(payload);
+        assertEquals("second", payload.getData());
+        assertEquals(1, payload.getSource());
+
+        // when a single source changes
+        second.queue.put(new StreamPayload(StreamPayloadType.DATA, "second-updated"));
+
+        // then only its payload is forwarded
+        payload = stream.poll(1, TimeUnit.SECONDS);
+        assertNotNull(payload);
+        assertEquals("second-updated", payload.getData());
+        assertEquals(1, payload.getSource());
+
+        connector.shutdown();
+    }
+
+    @Test
+    void errorsAreForwardedImmediately() throws Exception {
+        // given
+        final QueueConnector first = new QueueConnector();
+        final CompositeConnector connector =
+                new CompositeConnector(Arrays.asList(first, new QueueConnector()));
+
+        // when
+        connector.init();
+        first.queue.put(new StreamPayload(StreamPayloadType.ERROR, "unavailable"));
+
+        // then
+        final StreamPayload payload = connector.getStream().poll(1, TimeUnit.SECONDS);
+        assertNotNull(payload);
+        assertEquals(StreamPayloadType.ERROR, payload.getType());
+
+        connector.shutdown();
+    }
+
+    @Test
+    void shutdownForwardsTheLastPayloads() throws Exception {
+        // given sources whose payloads are not forwarded yet
+        final QueueConnector first = new QueueConnector(new SignallingQueue<>());
+        final QueueConnector second = new QueueConnector(new SignallingQueue<>());
+        final CompositeConnector connector = new CompositeConnector(Arrays.asList(first, second), task -> {
+            // never forwards
+        });
+        connector.init();
+        first.queue.put(new StreamPayload(StreamPayloadType.DATA, "first"));
+        second.queue.put(new StreamPayload(StreamPayloadType.DATA, "second"));
+        assertNull(connector.getStream().poll());
+
+        // when
+        connector.shutdown();
+
+        // then
+        final BlockingQueue<StreamPayload> stream = connector.getStream();
+        assertEquals("first", stream.poll().getData());
+        assertEquals("second", stream.poll().getData());
+    }
+
+    @Test
+    void queueKeepsTheLatestPayloadBySource() {
+        // given
+        final SourceQueue queue = new SourceQueue(2);
+
+        // when payloads of sources interleave
+        for (int i = 0; i < 10; i++) {
+            assertTrue(queue.offer(new StreamPayload(StreamPayloadType.DATA, "first-" + i, 0)));
+            assertTrue(queue.offer(new StreamPayload(StreamPayloadType.DATA, "second-" + i, 1)));
+        }
+        assertTrue(queue.offer(new StreamPayload(StreamPayloadType.ERROR, "unavailable", 0)));
+
+        // then
+        assertEquals(3, queue.size());
+        assertEquals("first-9", queue.poll().getData());
+        assertEquals("second-9", queue.poll().getData());
+        assertEquals("unavailable", queue.poll().getData());
+    }
+
+    @Test
+    void fullSourceQueueDropsOldestPayload() {
+        // given a queue sized for a single source
+        final SourceQueue queue = new SourceQueue(1);
+        final AtomicInteger drops = new AtomicInteger();
+        queue.setDropListener(drops::incrementAndGet);
+
+        // when payloads of unexpected sources fill it
+        assertTrue(queue.offer(new StreamPayload(StreamPayloadType.DATA, "first", 0)));
+        assertTrue(queue.offer(new StreamPayload(StreamPayloadType.DATA, "second", 1)));
+        assertTrue(queue.offer(new StreamPayload(StreamPayloadType.DATA, "third", 2)));
+
+        // then
+        assertEquals(1, drops.get());
+        assertEquals("second", queue.poll().getData());
+        assertEquals("third", queue.poll().getData());
+    }
+
+    @Test
+    void atLeastOneSourceIsRequired() {
+        assertThrows(IllegalArgumentException.class, () -> new CompositeConnector(Collections.emptyList()));
+    }
+
+    private static final class QueueConnector implements Connector {
+        private final BlockingQueue<StreamPayload> queue;
+
+        QueueConnector() {
+            this(new LinkedBlockingQueue<>());
+        }
+
+        QueueConnector(final BlockingQueue<StreamPayload> queue) {
+            this.queue = queue;
+        }
+
+        public void init() {
+            // no-op
+        }
+
+        public BlockingQueue<StreamPayload> getStream() {
+            return queue;
+        }
+
+        public void shutdown() {
+            // no-op
+        }
+    }
+}
@@ -4,20 +4,24 @@ import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connecto
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayloadType;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import static dev.openfeature.contrib.providers.flagd.resolver.process.TestUtils.UPDATABLE_FILE;
 import static dev.openfeature.contrib.providers.flagd.resolver.process.TestUtils.VALID_LONG;
 import static dev.openfeature.contrib.providers.flagd.resolver.process.TestUtils.getResourcePath;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 class FileConnectorTest {
@@ -101,4 +105,62 @@ class FileConnectorTest {
         assertEquals(updatedFlags, payload[0].getData());
     }
 
+    @Test
+    void readLargeFilesThroughMappedBuffer(@TempDir Path dir) throws IOException {
+        // given
+        final StringBuilder content = new StringBuilder("{\"flags\":{},\"padding\":\"");
+        while (content.length() < 2 * 1024 * 1024) {
+            content.append("0123456789abcdef");
+        }
+        content.append("\"}");
+
+        final Path flags = dir.resolve("flags.json");
+        Files.write(flags, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        final FileConnector connector = new FileConnector(flags.toString());
+
+        // when
+        connector.init();
+
+        // then
+        final StreamPayload[] payload = new StreamPayload[1];
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            payload[0] = connector.getStream().take();
+        });
+
+        assertEquals(content.toString(), payload[0].getData());
+    }
+
+    @Test
+    void watchForFileUpdatesAndSkipUnchangedContent(@TempDir Path dir) throws Exception {
+        final String initial = "{\"flags\":{\"myBoolFlag\":{\"state\":\"ENABLED\",\"variants\":{\"on\":true,\"off\":false},\"defaultVariant\":\"on\"}}}";
+        final String updatedFlags = "{\"flags\":{\"myBoolFlag\":{\"state\":\"ENABLED\",\"variants\":{\"on\":true,\"off\":false},\"defaultVariant\":\"off\"}}}";
+
+        // given
+        final Path flags = dir.resolve("flags.json");
+        Files.write(flags, initial.getBytes(StandardCharsets.UTF_8));
+
+        final FileConnector connector = new FileConnector(flags.toString(), true);
+
+        try {
+            // when
+            connector.init();
+
+            // then
+            final BlockingQueue<StreamPayload> stream = connector.getStream();
+            assertEquals(initial, stream.poll(2, TimeUnit.SECONDS).getData());
+
+            // rewriting the same content is not emitted
+            Files.write(flags, initial.getBytes(StandardCharsets.UTF_8));
+            assertNull(stream.poll(500, TimeUnit.MILLISECONDS));
+
+            // changed content is
+            Files.write(flags, updatedFlags.getBytes(StandardCharsets.UTF_8));
+            final StreamPayload updated = stream.poll(10, TimeUnit.SECONDS);
+            assertNotNull(updated);
+            assertEquals(updatedFlags, updated.getData());
+        } finally {
+            connector.shutdown();
+        }
+    }
 }
@@ -0,0 +1,67 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.file;
+
+import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayload;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class FileWatcherTest {
+
+    @Test
+    void connectorsShareTheWatcherThreadWhileWatching(@TempDir Path dir) throws Exception {
+        final Path first = dir.resolve("first.json");
+        final Path second = dir.resolve("second.json");
+        Files.write(first, "{\"flags\":{}}".getBytes(StandardCharsets.UTF_8));
+        Files.write(second, "{\"flags\":{}}".getBytes(StandardCharsets.UTF_8));
+
+        final FileConnector firstConnector = new FileConnector(first.toString(), true);
+        final FileConnector secondConnector = new FileConnector(second.toString(), true);
+
+        try {
+            firstConnector.init();
+            secondConnector.init();
+            assertNotNull(firstConnector.getStream().poll(2, TimeUnit.SECONDS));
+            assertNotNull(secondConnector.getStream().poll(2, TimeUnit.SECONDS));
+            // the initial content is offered before watching
+            assertEquals(1, awaitWatcherThreads(1));
+
+            // each connector only reads its own file
+            final String updated = "{\"flags\":{},\"$evaluators\":{}}";
+            Files.write(second, updated.getBytes(StandardCharsets.UTF_8));
+            final StreamPayload payload = secondConnector.getStream().poll(10, TimeUnit.SECONDS);
+            assertNotNull(payload);
+            assertEquals(updated, payload.getData());
+            assertThat(firstConnector.getStream()).isEmpty();
+        } finally {
+            firstConnector.shutdown();
+            secondConnector.shutdown();
+        }
+
+        // the watcher thread stops once no file is watched
+        assertEquals(0, awaitWatcherThreads(0));
+    }
+
+    private static long awaitWatcherThreads(final long expected) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        long threads = watcherThreads();
+        while (threads != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            threads = watcherThreads();
+        }
+        return threads;
+    }
+
+    private static long watcherThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> "flagd-file-watcher".equals(thread.getName()) && thread.isAlive())
+                .count();
+    }
+}
@@ -9,8 +9,10 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.lang.reflect.Field;
+import java.net.InetSocketAddress;
 import java.time.Duration;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
@@ -19,9 +21,13 @@ import org.mockito.Mockito;
 import dev.openfeature.contrib.providers.flagd.FlagdOptions;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayload;
 import dev.openfeature.contrib.providers.flagd.resolver.process.storage.connector.StreamPayloadType;
+import dev.openfeature.flagd.grpc.sync.FlagSyncServiceGrpc;
 import dev.openfeature.flagd.grpc.sync.FlagSyncServiceGrpc.FlagSyncServiceStub;
 import dev.openfeature.flagd.grpc.sync.Sync.SyncFlagsRequest;
 import dev.openfeature.flagd.grpc.sync.Sync.SyncFlagsResponse;
+import io.grpc.Server;
+import io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
 
 class GrpcStreamConnectorTest {
 
@@ -96,11 +102,13 @@ class GrpcStreamConnectorTest {
         // accepted data
         grpcStreamHandler.onNext(
                 SyncFlagsResponse.newBuilder()
+                        .setFlagConfiguration("{\"flags\":{}}")
                         .build());
 
         assertTimeoutPreemptively(MAX_WAIT_MS, () -> {
             StreamPayload payload = streamPayloads.take();
             assertEquals(StreamPayloadType.DATA, payload.getType());
+            assertEquals("{\"flags\":{}}", payload.getData());
         });
     }
 
@@ -149,6 +157,85 @@ class GrpcStreamConnectorTest {
         assertNull(connector.getStream().poll(100, TimeUnit.MILLISECONDS));
     }
 
+    @Test
+    public void unchangedConfigurationsAreSkipped() throws Throwable {
+        // given a stand-in sync server, resending its configuration
+        final BlockingQueue<String> configurations = new LinkedBlockingQueue<>();
+        final Server server = NettyServerBuilder.forAddress(new InetSocketAddress("localhost", 0))
+                .addService(new FlagSyncServiceGrpc.FlagSyncServiceImplBase() {
+                    @Override
+                    public void syncFlags(SyncFlagsRequest request, StreamObserver<SyncFlagsResponse> observer) {
+                        try {
+                            while (true) {
+                                observer.onNext(SyncFlagsResponse.newBuilder()
+                                        .setFlagConfiguration(configurations.take())
+                                        .build());
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                })
+                .build()
+                .start();
+
+        final GrpcStreamConnector connector = new GrpcStreamConnector(FlagdOptions.builder()
+                .host("localhost")
+                .port(server.getPort())
+                .build());
+
+        try {
+            // when
+            connector.init();
+            configurations.put("{\"flags\":{\"a\":{}}}");
+            configurations.put("{\"flags\":{\"a\":{}}}");
+            configurations.put("{\"flags\":{\"a\":{},\"b\":{}}}");
+
+            // then only changes are delivered
+            final BlockingQueue<StreamPayload> stream = connector.getStream();
+            assertEquals("{\"flags\":{\"a\":{}}}", stream.poll(5, TimeUnit.SECONDS).getData());
+            assertEquals("{\"flags\":{\"a\":{},\"b\":{}}}", stream.poll(5, TimeUnit.SECONDS).getData());
+            assertNull(stream.poll(200, TimeUnit.MILLISECONDS));
+        } finally {
+            connector.shutdown();
+            server.shutdownNow();
+        }
+    }
+
+    @Test
+    public void unchangedConfigurationIsDeliveredAfterError() throws Throwable {
+        // given
+        final GrpcStreamConnector connector = new GrpcStreamConnector(FlagdOptions.builder().build());
+        final FlagSyncServiceStub stubMock = mockStubAndReturn(connector);
+
+        final GrpcStreamHandler[] injectedHandler = new GrpcStreamHandler[1];
+
+        Mockito.doAnswer(invocation -> {
+            injectedHandler[0] = invocation.getArgument(1, GrpcStreamHandler.class);
+            return null;
+        }).when(stubMock).syncFlags(any(), any());
+
+        connector.init();
+        verify(stubMock, Mockito.timeout(MAX_WAIT_MS.toMillis()).times(1)).syncFlags(any(), any());
+        final GrpcStreamHandler grpcStreamHandler = injectedHandler[0];
+        final BlockingQueue<StreamPayload> streamPayloads = connector.getStream();
+        final SyncFlagsResponse response = SyncFlagsResponse.newBuilder()
+                .setFlagConfiguration("{\"flags\":{}}")
+                .build();
+
+        // when
+        grpcStreamHandler.onNext(response);
+        grpcStreamHandler.onError(new Exception("Connection lost"));
+        grpcStreamHandler.onNext(response);
+
+        // then the storage recovers from the error
+        assertEquals(StreamPayloadType.DATA, streamPayloads.poll(1, TimeUnit.SECONDS).getType());
+        assertEquals(StreamPayloadType.ERROR, streamPayloads.poll(1, TimeUnit.SECONDS).getType());
+        assertEquals(StreamPayloadType.DATA, streamPayloads.poll(1, TimeUnit.SECONDS).getType());
+
+        connector.shutdown();
+    }
+
     private static FlagSyncServiceStub mockStubAndReturn(final GrpcStreamConnector connector)
             throws Throwable {
         final Field serviceStubField = GrpcStreamConnector.class.getDeclaredField("serviceStub");
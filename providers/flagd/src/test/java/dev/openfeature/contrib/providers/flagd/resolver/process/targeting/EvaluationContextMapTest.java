@@ -0,0 +1,69 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.targeting;
+
+import static dev.openfeature.contrib.providers.flagd.resolver.process.targeting.Operator.FLAGD_PROPS_KEY;
+import static dev.openfeature.contrib.providers.flagd.resolver.process.targeting.Operator.FLAG_KEY;
+import static dev.openfeature.contrib.providers.flagd.resolver.process.targeting.Operator.TARGET_KEY;
+import static dev.openfeature.contrib.providers.flagd.resolver.process.targeting.Operator.TIME_STAMP;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.MutableStructure;
+import dev.openfeature.sdk.Value;
+
+class EvaluationContextMapTest {
+
+    @Test
+    void readThroughAttributes() {
+        final Map<String, Value> attributes = new HashMap<>();
+        attributes.put("email", new Value("user@openfeature.dev"));
+        attributes.put("age", new Value(42));
+        attributes.put("user", new Value(new MutableStructure().add("tier", "gold")));
+        attributes.put("groups", new Value(Arrays.asList(new Value("a"), new Value("b"))));
+
+        final EvaluationContextMap data =
+                new EvaluationContextMap("flag", new ImmutableContext("targeting-key", attributes));
+
+        assertEquals("user@openfeature.dev", data.get("email"));
+        assertEquals(42, data.get("age"));
+        assertEquals("gold", ((Map<?, ?>) data.get("user")).get("tier"));
+        assertEquals(Arrays.asList("a", "b"), data.get("groups"));
+        assertNull(data.get("unknown"));
+        assertFalse(data.containsKey("unknown"));
+        assertEquals("targeting-key", data.get(TARGET_KEY));
+    }
+
+    @Test
+    void flagdProperties() {
+        final EvaluationContextMap data = new EvaluationContextMap("flag", new ImmutableContext());
+
+        final Map<?, ?> flagdProperties = (Map<?, ?>) data.get(FLAGD_PROPS_KEY);
+
+        assertEquals("flag", flagdProperties.get(FLAG_KEY));
+        assertNotNull(flagdProperties.get(TIME_STAMP));
+        assertSame(flagdProperties, data.get(FLAGD_PROPS_KEY));
+    }
+
+    @Test
+    void missingOperationSeesAllAttributes() throws TargetingRuleException {
+        final Map<String, Value> attributes = new HashMap<>();
+        attributes.put("email", new Value("user@openfeature.dev"));
+
+        final Object missing = new Operator().apply("flag", "{\"missing\": [\"email\", \"age\"]}",
+                new ImmutableContext(attributes));
+
+        assertTrue(missing instanceof List);
+        assertEquals(Arrays.asList("age"), missing);
+    }
+}
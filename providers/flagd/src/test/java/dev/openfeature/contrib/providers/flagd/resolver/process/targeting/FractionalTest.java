@@ -5,14 +5,18 @@ import static dev.openfeature.contrib.providers.flagd.resolver.process.targeting
 import static dev.openfeature.contrib.providers.flagd.resolver.process.targeting.Operator.TARGET_KEY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.codec.digest.MurmurHash3;
 import org.junit.jupiter.api.Test;
 
+import dev.openfeature.sdk.ImmutableContext;
 import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
 
 class FractionalTest {
@@ -266,4 +270,43 @@ class FractionalTest {
         assertNull(evaluate);
     }
 
-}
\ No newline at end of file
+    @Test
+    void bucketMatchesUtf8MurmurHash() {
+        final String[][] values = {
+                {"", ""},
+                {"flagA", "foo@foo.com"},
+                {"headerColor", "user-\u00e9\u4e2d"},
+                {"emoji\ud83d", "\ude00split"},
+                {"unpaired\ud83d", "surrogate"},
+        };
+
+        for (String[] value : values) {
+            final byte[] bytes = (value[0] + value[1]).getBytes(StandardCharsets.UTF_8);
+            final int hash = MurmurHash3.hash32x86(bytes, 0, bytes.length, 0);
+            final int expected = (int) ((Math.abs(hash) * 1.0f / Integer.MAX_VALUE) * 100);
+
+            assertEquals(expected, Fractional.bucket(value[0], value[1]));
+        }
+    }
+
+    @Test
+    void compiledDistribution() throws TargetingRuleException {
+        final TargetingRule rule = TargetingRule.compile(
+                "{\"fractional\": [{\"var\": \"email\"}, [\"red\", 25], [\"blue\", 75]]}");
+        final Operator operator = new Operator();
+
+        for (int i = 0; i < 20; i++) {
+            final String email = "user" + i + "@openfeature.dev";
+            final Map<String, dev.openfeature.sdk.Value> attributes = new HashMap<>();
+            attributes.put("email", new dev.openfeature.sdk.Value(email));
+
+            final Object variant = operator.apply("flag", rule, new ImmutableContext(attributes));
+
+            final int bucket = Fractional.bucket(email, "");
+            assertEquals(bucket < 25 ? "red" : "blue", variant);
+        }
+
+        assertNull(operator.apply("flag", rule, new ImmutableContext()));
+        assertTrue(rule.getNode() instanceof io.github.jamsesso.jsonlogic.ast.JsonLogicOperation);
+    }
+}
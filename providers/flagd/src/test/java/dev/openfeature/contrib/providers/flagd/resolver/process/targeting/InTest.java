@@ -0,0 +1,48 @@
+package dev.openfeature.contrib.providers.flagd.resolver.process.targeting;
+
+import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.Value;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InTest {
+
+    @Test
+    void compiledList() throws TargetingRuleException {
+        final StringBuilder list = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            list.append(i == 0 ? "" : ",").append("\"user-").append(i).append('"');
+        }
+        final TargetingRule rule = TargetingRule.compile(
+                "{\"in\": [{\"var\": \"userId\"}, [" + list + ", 42, true]]}");
+        final Operator operator = new Operator();
+
+        assertEquals(true, operator.apply("flag", rule, context("userId", new Value("user-9999"))));
+        assertEquals(false, operator.apply("flag", rule, context("userId", new Value("user-10000"))));
+        assertEquals(true, operator.apply("flag", rule, context("userId", new Value(42.0))));
+        assertEquals(true, operator.apply("flag", rule, context("userId", new Value(true))));
+        assertEquals(false, operator.apply("flag", rule, new ImmutableContext()));
+    }
+
+    @Test
+    void nonLiteralListsAndSubstrings() throws TargetingRuleException {
+        final Operator operator = new Operator();
+
+        assertEquals(true, operator.apply("flag",
+                TargetingRule.compile("{\"in\": [\"flagd\", [{\"var\": \"tool\"}, \"other\"]]}"),
+                context("tool", new Value("flagd"))));
+        assertEquals(true, operator.apply("flag",
+                TargetingRule.compile("{\"in\": [\"feature\", {\"var\": \"tool\"}]}"),
+                context("tool", new Value("openfeature"))));
+    }
+
+    private static ImmutableContext context(final String key, final Value value) {
+        final Map<String, Value> attributes = new HashMap<>();
+        attributes.put(key, value);
+        return new ImmutableContext(attributes);
+    }
+}
@@ -2,6 +2,8 @@ package dev.openfeature.contrib.providers.flagd.resolver.process.targeting;
 
 import static dev.openfeature.contrib.providers.flagd.resolver.process.targeting.Operator.TARGET_KEY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.HashMap;
@@ -57,6 +59,29 @@ class OperatorTest {
         assertTrue(timestamp >= thresholdPast && timestamp <= thresholdFuture);
     }
 
+    @Test
+    void compiledRuleEvaluation() throws TargetingRuleException {
+        // given
+        final TargetingRule targetingRule =
+                TargetingRule.compile("{\"if\":[{\"in\":[\"@faas.com\",{\"var\":[\"email\"]}]},\"binet\",null]}");
+
+        Map<String, Value> ctxData = new HashMap<>();
+        ctxData.put("email", new Value("rachel@faas.com"));
+
+        // when - compiled rule is reused for multiple evaluations
+        Object matched = OPERATOR.apply("some-key", targetingRule, new ImmutableContext(ctxData));
+        Object unmatched = OPERATOR.apply("some-key", targetingRule, new ImmutableContext());
+
+        // then
+        assertEquals("binet", matched);
+        assertNull(unmatched);
+    }
+
+    @Test
+    void invalidRuleCompilation() {
+        assertThrows(TargetingRuleException.class, () -> TargetingRule.compile("{if this, then that}"));
+    }
+
     @Test
     void testFlagPropertiesConstructor() {
         // Given
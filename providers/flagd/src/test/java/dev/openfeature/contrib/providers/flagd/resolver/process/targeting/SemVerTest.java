@@ -1,15 +1,22 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.targeting;
 
+import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.Value;
 import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -65,4 +72,44 @@ class SemVerTest {
         assertNull(semVer.evaluate(args, new Object()));
     }
 
-}
\ No newline at end of file
+    @Test
+    void compiledOperands() throws TargetingRuleException {
+        final TargetingRule rule = TargetingRule.compile("{\"sem_ver\": [{\"var\": \"version\"}, \">=\", \"3.2.0\"]}");
+        final Operator operator = new Operator();
+
+        assertEquals(true, operator.apply("flag", rule, context("3.2.0")));
+        assertEquals(true, operator.apply("flag", rule, context("v4.0.1")));
+        assertEquals(false, operator.apply("flag", rule, context("3.1.9")));
+        assertNull(operator.apply("flag", rule, context("3.1")));
+        assertNull(operator.apply("flag", rule, new ImmutableContext()));
+    }
+
+    @Test
+    void invalidLiteralOperandsAreReported() throws TargetingRuleException {
+        final Operator operator = new Operator();
+
+        assertNull(operator.apply("flag",
+                TargetingRule.compile("{\"sem_ver\": [{\"var\": \"version\"}, \">=\", \"3.2\"]}"),
+                context("3.2.0")));
+        assertNull(operator.apply("flag",
+                TargetingRule.compile("{\"sem_ver\": [{\"var\": \"version\"}, \"*\", \"3.2.0\"]}"),
+                context("3.2.0")));
+    }
+
+    @Test
+    void parsedVersionsAreBounded() throws JsonLogicEvaluationException {
+        final SemVer semVer = new SemVer();
+
+        for (int i = 0; i < SemVer.PARSED_VERSIONS_SIZE * 2; i++) {
+            assertFalse((Boolean) semVer.evaluate(Arrays.asList("1.0." + i, "<", "0.1.0"), new Object()));
+        }
+
+        assertTrue(semVer.parsedVersionsSize() <= SemVer.PARSED_VERSIONS_SIZE);
+    }
+
+    private static ImmutableContext context(final String version) {
+        final Map<String, Value> attributes = new HashMap<>();
+        attributes.put("version", new Value(version));
+        return new ImmutableContext(attributes);
+    }
+}
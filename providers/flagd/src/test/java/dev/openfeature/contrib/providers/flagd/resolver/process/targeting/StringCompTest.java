@@ -1,9 +1,14 @@
 package dev.openfeature.contrib.providers.flagd.resolver.process.targeting;
 
+import dev.openfeature.sdk.ImmutableContext;
+import dev.openfeature.sdk.Value;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicOperation;
 import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
@@ -79,4 +84,49 @@ class StringCompTest {
         assertThat(result).isNull();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void trieMatching() {
+        final StringComp.Trie trie = new StringComp.Trie();
+        trie.add("abc");
+        trie.add("abd");
+        trie.add("x");
+
+        assertThat(trie.matchesPrefixOf("abcdef")).isTrue();
+        assertThat(trie.matchesPrefixOf("abd")).isTrue();
+        assertThat(trie.matchesPrefixOf("xyz")).isTrue();
+        assertThat(trie.matchesPrefixOf("ab")).isFalse();
+        assertThat(trie.matchesPrefixOf("")).isFalse();
+        assertThat(trie.matchesSuffixOf("zzcba")).isTrue();
+        assertThat(trie.matchesSuffixOf("zzabc")).isFalse();
+    }
+
+    @Test
+    public void compiledComparisonsWithSeveralSuffixes() throws TargetingRuleException {
+        final TargetingRule rule = TargetingRule.compile("{\"or\": ["
+                + "{\"ends_with\": [{\"var\": \"email\"}, \"@openfeature.dev\"]},"
+                + "{\"ends_with\": [{\"var\": \"email\"}, \"@flagd.dev\"]}]}");
+        final Operator operator = new Operator();
+
+        assertThat(((JsonLogicOperation) rule.getNode()).getOperator()).isEqualTo("ends_with");
+        assertThat(operator.apply("flag", rule, context("user@flagd.dev"))).isEqualTo(true);
+        assertThat(operator.apply("flag", rule, context("user@openfeature.dev"))).isEqualTo(true);
+        assertThat(operator.apply("flag", rule, context("user@example.com"))).isEqualTo(false);
+        assertThat(operator.apply("flag", rule, new ImmutableContext())).isNull();
+    }
+
+    @Test
+    public void comparisonsOfDistinctVariablesAreKept() throws TargetingRuleException {
+        final TargetingRule rule = TargetingRule.compile("{\"or\": ["
+                + "{\"starts_with\": [{\"var\": \"email\"}, \"admin\"]},"
+                + "{\"starts_with\": [{\"var\": \"name\"}, \"admin\"]}]}");
+
+        assertThat(((JsonLogicOperation) rule.getNode()).getOperator()).isEqualTo("or");
+        assertThat(new Operator().apply("flag", rule, context("admin@flagd.dev"))).isEqualTo(true);
+    }
+
+    private static ImmutableContext context(final String email) {
+        final Map<String, Value> attributes = new HashMap<>();
+        attributes.put("email", new Value(email));
+        return new ImmutableContext(attributes);
+    }
+}